@@ -0,0 +1,258 @@
+package org.example.salesincentivesystem.loadtest;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds N orgs x M sales users x K deals per user straight over JDBC, with one
+ * org admin per org, a realistic status mix over the last 12 months, and the
+ * matching user_incentive_rollup rows (so the app does not need to backfill
+ * them). The schema must already exist: start the app once with the loadtest
+ * profile (or point --jdbc-url at a PostgreSQL database the app has created).
+ *
+ * Writes a manifest with the seeded user ids that {@link LoadRunner} reads.
+ */
+public class DataGenerator {
+
+    static final String EMAIL_DOMAIN = "loadtest.example";
+
+    private static final String[] PRIORITIES = { "LOW", "MEDIUM", "HIGH" };
+    private static final String[] DEAL_TYPES = { "NEW", "RENEWAL", "UPSELL", "CROSS_SELL" };
+    private static final String[] REGIONS = { "North", "South", "East", "West" };
+    private static final String[] INDUSTRIES = { "Retail", "Finance", "Healthcare", "Manufacturing", "Technology" };
+    private static final int MONTHS = 12;
+    private static final int BATCH = 1000;
+
+    public static void main(String[] args) throws Exception {
+        String jdbcUrl = "jdbc:h2:file:./build/loadtest/salesdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;AUTO_SERVER=TRUE";
+        String user = "sa";
+        String password = "";
+        int orgs = 5;
+        int usersPerOrg = 20;
+        int dealsPerUser = 100;
+        long seed = 42;
+        Path manifest = Path.of("build/loadtest/manifest.properties");
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--jdbc-url" -> jdbcUrl = args[++i];
+                case "--user" -> user = args[++i];
+                case "--password" -> password = args[++i];
+                case "--orgs" -> orgs = Integer.parseInt(args[++i]);
+                case "--users" -> usersPerOrg = Integer.parseInt(args[++i]);
+                case "--deals" -> dealsPerUser = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--manifest" -> manifest = Path.of(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        long start = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, user, password)) {
+            connection.setAutoCommit(false);
+            checkSchema(connection);
+
+            SplittableRandom random = new SplittableRandom(seed);
+            Properties ids = new Properties();
+            ids.setProperty("orgs", String.valueOf(orgs));
+            long deals = 0;
+            for (int o = 1; o <= orgs; o++) {
+                String orgName = "LoadTest Org " + o;
+                long adminId = insertUser(connection, "admin@org" + o + "." + EMAIL_DOMAIN, "Admin " + o, "ADMIN",
+                        orgName);
+                List<Long> salesIds = new ArrayList<>();
+                for (int u = 1; u <= usersPerOrg; u++) {
+                    salesIds.add(insertUser(connection, "sales" + u + "@org" + o + "." + EMAIL_DOMAIN,
+                            "Sales " + o + "-" + u, "SALES", orgName));
+                }
+                deals += insertDeals(connection, random, orgName, adminId, salesIds, dealsPerUser);
+                connection.commit();
+
+                ids.setProperty("org." + o + ".name", orgName);
+                ids.setProperty("org." + o + ".admin", String.valueOf(adminId));
+                ids.setProperty("org." + o + ".sales", join(salesIds));
+                System.out.printf("Seeded %s: 1 admin, %d sales users, %d deals so far%n", orgName, salesIds.size(),
+                        deals);
+            }
+            writeManifest(manifest, ids);
+            System.out.printf("Done: %d orgs, %d users, %d deals in %.1fs. Manifest: %s%n", orgs,
+                    orgs * (usersPerOrg + 1), deals, (System.nanoTime() - start) / 1e9, manifest.toAbsolutePath());
+            System.out.println("Restart the app before running the load test so caches and leaderboards start cold.");
+        }
+    }
+
+    private static void checkSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(
+                        "SELECT COUNT(*) FROM app_users WHERE email LIKE '%@%" + EMAIL_DOMAIN + "'")) {
+            rs.next();
+            if (rs.getLong(1) > 0) {
+                throw new IllegalStateException("Database already contains load-test users; "
+                        + "delete the database file (or drop the schema) and start the app once to recreate it");
+            }
+        } catch (SQLException e) {
+            if (e.getMessage() != null && e.getMessage().toLowerCase().contains("app_users")) {
+                throw new IllegalStateException("Schema not found: start the app once with "
+                        + "SPRING_PROFILES_ACTIVE=loadtest so Hibernate creates the tables, then stop it and seed", e);
+            }
+            throw e;
+        }
+    }
+
+    private static long insertUser(Connection connection, String email, String name, String role, String orgName)
+            throws SQLException {
+        String sql = "INSERT INTO app_users (email, password, role, name, account_status, organization_name, "
+                + "onboarding_completed, notifications_enabled, legal_accepted, first_target_created, "
+                + "first_deal_created, first_rule_configured, first_user_invited) "
+                + "VALUES (?, ?, ?, ?, 'ACTIVE', ?, TRUE, TRUE, TRUE, TRUE, TRUE, TRUE, TRUE)";
+        try (PreparedStatement ps = connection.prepareStatement(sql, new String[] { "id" })) {
+            ps.setString(1, email);
+            ps.setString(2, "loadtest");
+            ps.setString(3, role);
+            ps.setString(4, name);
+            ps.setString(5, orgName);
+            ps.executeUpdate();
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+
+    // Deals plus their per-user, per-month rollup rows; returns the number of deals
+    private static long insertDeals(Connection connection, SplittableRandom random, String orgName, long adminId,
+            List<Long> salesIds, int dealsPerUser) throws SQLException {
+        String dealSql = "INSERT INTO deal (user_id, deal_name, organization_name, client_name, deal_type, status, "
+                + "priority, amount, incentive, rate, currency, date, expected_close_date, actual_close_date, "
+                + "approved_by, approved_at, payout_status, payout_date, created_by, created_at, updated_at, "
+                + "region, industry, legacy_deal) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE)";
+        String rollupSql = "INSERT INTO user_incentive_rollup (user_id, rollup_month, deal_count, approved_count, "
+                + "rejected_count, incentive_sum, amount_sum, approved_amount_sum, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        YearMonth thisMonth = YearMonth.now();
+        long count = 0;
+        try (PreparedStatement deals = connection.prepareStatement(dealSql);
+                PreparedStatement rollups = connection.prepareStatement(rollupSql)) {
+            int pending = 0;
+            for (long userId : salesIds) {
+                Map<String, double[]> totals = new HashMap<>(); // month -> deals, approved, rejected, incentive, amount, approvedAmount
+                for (int d = 0; d < dealsPerUser; d++) {
+                    YearMonth month = thisMonth.minusMonths(random.nextInt(MONTHS));
+                    LocalDate date = month.atDay(1 + random.nextInt(month.lengthOfMonth()));
+                    if (date.isAfter(LocalDate.now())) {
+                        date = LocalDate.now();
+                    }
+                    LocalDateTime createdAt = date.atTime(9 + random.nextInt(9), random.nextInt(60));
+                    // Log-uniform between 10k and 5M, with the same fallback rates as deal creation
+                    double amount = Math.round(10_000 * Math.pow(500, random.nextDouble()));
+                    double rate = amount <= 50_000 ? 5.0 : 10.0;
+                    double incentive = amount * rate / 100.0;
+                    int roll = random.nextInt(100);
+                    String status = roll < 60 ? "Approved" : roll < 75 ? "Rejected" : roll < 90 ? "Pending" : "ASSIGNED";
+                    boolean approved = "Approved".equals(status);
+                    boolean paid = approved && random.nextInt(100) < 60;
+
+                    deals.setLong(1, userId);
+                    deals.setString(2, "LT Deal " + userId + "-" + d);
+                    deals.setString(3, orgName);
+                    deals.setString(4, "Client " + random.nextInt(500));
+                    deals.setString(5, DEAL_TYPES[random.nextInt(DEAL_TYPES.length)]);
+                    deals.setString(6, status);
+                    deals.setString(7, PRIORITIES[random.nextInt(PRIORITIES.length)]);
+                    deals.setDouble(8, amount);
+                    deals.setDouble(9, incentive);
+                    deals.setDouble(10, rate);
+                    deals.setString(11, "₹");
+                    deals.setObject(12, date);
+                    deals.setObject(13, date.plusDays(30));
+                    deals.setObject(14, approved ? date.plusDays(random.nextInt(30)) : null);
+                    deals.setObject(15, approved ? adminId : null);
+                    deals.setTimestamp(16, approved ? Timestamp.valueOf(createdAt.plusDays(1)) : null);
+                    deals.setString(17, paid ? "PAID" : "PENDING");
+                    deals.setObject(18, paid ? date.plusDays(35) : null);
+                    deals.setLong(19, adminId);
+                    deals.setTimestamp(20, Timestamp.valueOf(createdAt));
+                    deals.setTimestamp(21, Timestamp.valueOf(approved ? createdAt.plusDays(1) : createdAt));
+                    deals.setString(22, REGIONS[random.nextInt(REGIONS.length)]);
+                    deals.setString(23, INDUSTRIES[random.nextInt(INDUSTRIES.length)]);
+                    deals.addBatch();
+                    count++;
+                    if (++pending == BATCH) {
+                        deals.executeBatch();
+                        pending = 0;
+                    }
+
+                    double[] t = totals.computeIfAbsent(month.toString(), k -> new double[6]);
+                    t[0]++;
+                    t[4] += amount;
+                    if (approved) {
+                        t[1]++;
+                        t[3] += incentive;
+                        t[5] += amount;
+                    } else if ("Rejected".equals(status)) {
+                        t[2]++;
+                    }
+                }
+
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                for (Map.Entry<String, double[]> entry : totals.entrySet()) {
+                    double[] t = entry.getValue();
+                    rollups.setLong(1, userId);
+                    rollups.setString(2, entry.getKey());
+                    rollups.setLong(3, (long) t[0]);
+                    rollups.setLong(4, (long) t[1]);
+                    rollups.setLong(5, (long) t[2]);
+                    rollups.setDouble(6, t[3]);
+                    rollups.setDouble(7, t[4]);
+                    rollups.setDouble(8, t[5]);
+                    rollups.setTimestamp(9, now);
+                    rollups.addBatch();
+                }
+                rollups.executeBatch();
+            }
+            if (pending > 0) {
+                deals.executeBatch();
+            }
+        }
+        return count;
+    }
+
+    private static void writeManifest(Path manifest, Properties ids) throws IOException {
+        if (manifest.getParent() != null) {
+            Files.createDirectories(manifest.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(manifest, StandardCharsets.UTF_8)) {
+            ids.store(writer, "Seeded by DataGenerator; read by LoadRunner");
+        }
+    }
+
+    private static String join(List<Long> ids) {
+        StringBuilder sb = new StringBuilder();
+        for (Long id : ids) {
+            sb.append(sb.length() > 0 ? "," : "").append(id);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,394 @@
+package org.example.salesincentivesystem.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Closed-loop load test against a running app seeded by {@link DataGenerator}.
+ * {@code --concurrency} virtual-thread workers each pick a random org and user
+ * per request and replay a weighted mix of the calls the UI makes most: sales
+ * dashboard, admin dashboard, leaderboard, payout summary, deal creation and
+ * approval of the deals created during the run. Prints throughput and
+ * p50/p95/p99/max latency per endpoint and overall.
+ *
+ * <pre>
+ * ./gradlew :loadtest:run --args="--base-url http://localhost:8080 --duration 60 --concurrency 100"
+ * </pre>
+ *
+ * To compare threading modes, run it against the app started with
+ * VIRTUAL_THREADS=false and {@code --save} the summary, then restart the app
+ * with VIRTUAL_THREADS=true (same data) and run again with {@code --baseline}
+ * pointing at that file. The second run prints req/s and p99 of both side by side:
+ *
+ * <pre>
+ * ./gradlew :loadtest:run --args="--duration 60 --concurrency 400 --save build/loadtest/platform.properties"
+ * ./gradlew :loadtest:run --args="--duration 60 --concurrency 400 --baseline build/loadtest/platform.properties"
+ * </pre>
+ */
+public class LoadRunner {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    // Endpoint name -> weight in the mix; "approve" falls back to "createDeal" when nothing is waiting
+    private static final Map<String, Integer> DEFAULT_MIX = new LinkedHashMap<>();
+
+    static {
+        DEFAULT_MIX.put("salesDashboard", 30);
+        DEFAULT_MIX.put("leaderboard", 25);
+        DEFAULT_MIX.put("payoutSummary", 15);
+        DEFAULT_MIX.put("adminDashboard", 10);
+        DEFAULT_MIX.put("createDeal", 10);
+        DEFAULT_MIX.put("approve", 10);
+    }
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final List<Org> orgs;
+    private final String[] mix; // One slot per weight unit
+    private final ConcurrentLinkedQueue<long[]> awaitingApproval = new ConcurrentLinkedQueue<>(); // {dealId, adminId}
+
+    LoadRunner(HttpClient client, String baseUrl, List<Org> orgs, Map<String, Integer> weights) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.orgs = orgs;
+        List<String> slots = new ArrayList<>();
+        weights.forEach((name, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(name);
+            }
+        });
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("Empty request mix");
+        }
+        this.mix = slots.toArray(new String[0]);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = "http://localhost:8080";
+        Path manifest = Path.of("build/loadtest/manifest.properties");
+        int concurrency = 50;
+        int durationSeconds = 60;
+        int warmupSeconds = 10;
+        Map<String, Integer> weights = new LinkedHashMap<>(DEFAULT_MIX);
+        Path save = null;
+        Path baseline = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--base-url" -> baseUrl = args[++i];
+                case "--manifest" -> manifest = Path.of(args[++i]);
+                case "--concurrency" -> concurrency = Integer.parseInt(args[++i]);
+                case "--duration" -> durationSeconds = Integer.parseInt(args[++i]);
+                case "--warmup" -> warmupSeconds = Integer.parseInt(args[++i]);
+                // e.g. --mix leaderboard=1,salesDashboard=1 to run only those
+                case "--mix" -> weights = parseMix(args[++i]);
+                // Summary file of this run, and of an earlier run to compare against
+                case "--save" -> save = Path.of(args[++i]);
+                case "--baseline" -> baseline = Path.of(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        LoadRunner runner = new LoadRunner(client, baseUrl, readManifest(manifest), weights);
+
+        System.out.printf("Warmup: %ds, concurrency %d%n", warmupSeconds, concurrency);
+        runner.run(concurrency, warmupSeconds);
+
+        System.out.printf("Measuring: %ds, concurrency %d, mix %s%n", durationSeconds, concurrency, weights);
+        Map<String, Stats> stats = runner.run(concurrency, durationSeconds);
+        print(stats, durationSeconds);
+
+        Map<String, double[]> summary = summarize(stats, durationSeconds);
+        if (save != null) {
+            save(summary, save);
+            System.out.println("Summary saved to " + save.toAbsolutePath());
+        }
+        if (baseline != null) {
+            compare(readSummary(baseline), summary);
+        }
+    }
+
+    Map<String, Stats> run(int concurrency, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Map<String, Stats>> perWorker = new ArrayList<>();
+        AtomicLong seeds = new AtomicLong(System.nanoTime());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                Map<String, Stats> stats = new LinkedHashMap<>();
+                perWorker.add(stats);
+                executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seeds.incrementAndGet());
+                    while (System.nanoTime() < deadline) {
+                        String name = mix[random.nextInt(mix.length)];
+                        long sent = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = execute(name, random);
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        stats.computeIfAbsent(name, n -> new Stats()).record(System.nanoTime() - sent, ok);
+                    }
+                    return null;
+                });
+            }
+        }
+
+        Map<String, Stats> merged = new LinkedHashMap<>();
+        for (Map<String, Stats> stats : perWorker) {
+            stats.forEach((name, s) -> merged.computeIfAbsent(name, n -> new Stats()).merge(s));
+        }
+        return merged;
+    }
+
+    private boolean execute(String name, SplittableRandom random) throws IOException, InterruptedException {
+        Org org = orgs.get(random.nextInt(orgs.size()));
+        long salesId = org.sales[random.nextInt(org.sales.length)];
+        switch (name) {
+            case "salesDashboard":
+                return get("/performance/summary?userId=" + salesId + "&requestorId=" + salesId);
+            case "leaderboard":
+                return get("/api/leaderboard?period=THIS_MONTH&requestorId=" + salesId);
+            case "payoutSummary":
+                return get("/payouts/summary?requestorId=" + org.admin);
+            case "adminDashboard":
+                return get("/api/deals?requestorId=" + org.admin);
+            case "approve":
+                long[] waiting = awaitingApproval.poll();
+                if (waiting != null) {
+                    return send("PATCH", "/api/deals/" + waiting[0] + "/status?requestorId=" + waiting[1],
+                            "{\"status\":\"Approved\",\"comment\":\"load test\"}") != null;
+                }
+                // Nothing created yet to approve: create one instead
+            case "createDeal":
+                String body = "{\"dealName\":\"LT Live " + random.nextInt(1_000_000) + "\","
+                        + "\"amount\":" + (10_000 + random.nextInt(2_000_000)) + ","
+                        + "\"priority\":\"MEDIUM\",\"dealType\":\"NEW\","
+                        + "\"expectedCloseDate\":\"" + LocalDate.now().plusDays(30) + "\","
+                        + "\"assignedUserId\":" + salesId + ",\"createdBy\":" + org.admin + "}";
+                String created = send("POST", "/admin/deals?requestorId=" + org.admin, body);
+                if (created == null) {
+                    return false;
+                }
+                Matcher id = ID.matcher(created);
+                if (id.find()) {
+                    awaitingApproval.add(new long[] { Long.parseLong(id.group(1)), org.admin });
+                }
+                return true;
+            default:
+                throw new IllegalArgumentException("Unknown endpoint " + name);
+        }
+    }
+
+    private boolean get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        return response.statusCode() < 400;
+    }
+
+    // Returns the response body, or null on an error status
+    private String send(String method, String path, String json) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        return response.statusCode() < 400 ? response.body() : null;
+    }
+
+    private static void print(Map<String, Stats> stats, int seconds) {
+        Stats total = new Stats();
+        System.out.printf("%-16s %8s %7s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s",
+                "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            entry.getValue().print(entry.getKey(), seconds);
+            total.merge(entry.getValue());
+        }
+        total.print("TOTAL", seconds);
+    }
+
+    // Endpoint (and TOTAL) -> {req/s, p50, p95, p99, errors}
+    private static Map<String, double[]> summarize(Map<String, Stats> stats, int seconds) {
+        Map<String, double[]> summary = new LinkedHashMap<>();
+        Stats total = new Stats();
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            if (entry.getValue().count > 0) {
+                summary.put(entry.getKey(), entry.getValue().summary(seconds));
+            }
+            total.merge(entry.getValue());
+        }
+        if (total.count > 0) {
+            summary.put("TOTAL", total.summary(seconds));
+        }
+        return summary;
+    }
+
+    private static void save(Map<String, double[]> summary, Path file) throws IOException {
+        Properties values = new Properties();
+        summary.forEach((name, row) -> values.setProperty(name, Arrays.stream(row)
+                .mapToObj(Double::toString)
+                .collect(Collectors.joining(","))));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            values.store(writer, "LoadRunner summary: endpoint=req/s,p50 ms,p95 ms,p99 ms,errors");
+        }
+    }
+
+    private static Map<String, double[]> readSummary(Path file) throws IOException {
+        Properties values = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            values.load(reader);
+        }
+        Map<String, double[]> summary = new LinkedHashMap<>();
+        for (String name : values.stringPropertyNames()) {
+            summary.put(name, Arrays.stream(values.getProperty(name).split(","))
+                    .mapToDouble(Double::parseDouble)
+                    .toArray());
+        }
+        return summary;
+    }
+
+    private static void compare(Map<String, double[]> baseline, Map<String, double[]> current) {
+        System.out.printf("%n%-16s %11s %11s %8s %11s %11s %8s%n", "vs baseline", "base req/s", "req/s",
+                "change", "base p99", "p99", "change");
+        for (Map.Entry<String, double[]> entry : current.entrySet()) {
+            double[] base = baseline.get(entry.getKey());
+            if (base == null) {
+                continue;
+            }
+            double[] now = entry.getValue();
+            System.out.printf("%-16s %11.1f %11.1f %7.1f%% %11.1f %11.1f %7.1f%%%n", entry.getKey(),
+                    base[0], now[0], change(base[0], now[0]), base[3], now[3], change(base[3], now[3]));
+        }
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100 / before;
+    }
+
+    private static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.split("=");
+            if (!DEFAULT_MIX.containsKey(kv[0].trim())) {
+                throw new IllegalArgumentException("Unknown endpoint " + kv[0] + "; one of " + DEFAULT_MIX.keySet());
+            }
+            weights.put(kv[0].trim(), kv.length > 1 ? Integer.parseInt(kv[1].trim()) : 1);
+        }
+        return weights;
+    }
+
+    private static List<Org> readManifest(Path manifest) throws IOException {
+        if (!Files.exists(manifest)) {
+            throw new IllegalStateException("No manifest at " + manifest.toAbsolutePath()
+                    + "; run ./gradlew :loadtest:seed first");
+        }
+        Properties ids = new Properties();
+        try (Reader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+            ids.load(reader);
+        }
+        List<Org> orgs = new ArrayList<>();
+        int count = Integer.parseInt(ids.getProperty("orgs"));
+        for (int o = 1; o <= count; o++) {
+            long[] sales = Arrays.stream(ids.getProperty("org." + o + ".sales").split(","))
+                    .mapToLong(Long::parseLong)
+                    .toArray();
+            orgs.add(new Org(Long.parseLong(ids.getProperty("org." + o + ".admin")), sales));
+        }
+        return orgs;
+    }
+
+    private static final class Org {
+        final long admin;
+        final long[] sales;
+
+        Org(long admin, long[] sales) {
+            this.admin = admin;
+            this.sales = sales;
+        }
+    }
+
+    // Latencies of one endpoint; each worker owns its own, merged at the end
+    static final class Stats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        void record(long nanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void merge(Stats other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        void print(String name, int seconds) {
+            if (count == 0) {
+                return;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("%-16s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", name, count, errors,
+                    count / (double) seconds, percentile(sorted, 0.50), percentile(sorted, 0.95),
+                    percentile(sorted, 0.99), sorted[count - 1] / 1e6);
+        }
+
+        double[] summary(int seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new double[] { count / (double) seconds, percentile(sorted, 0.50), percentile(sorted, 0.95),
+                    percentile(sorted, 0.99), errors };
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+    }
+}
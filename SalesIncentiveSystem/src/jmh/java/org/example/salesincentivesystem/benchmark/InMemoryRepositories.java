@@ -0,0 +1,37 @@
+package org.example.salesincentivesystem.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Spring Data repositories answered from memory, so a benchmark measures the
+ * service code and not JDBC. Only the listed methods are implemented; anything
+ * else a service calls fails loudly instead of silently returning null.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer != null) {
+                        return answer.apply(args);
+                    }
+                    switch (method.getName()) {
+                        case "toString":
+                            return "InMemory" + type.getSimpleName();
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(
+                                    type.getSimpleName() + "." + method.getName() + " is not stubbed");
+                    }
+                }));
+    }
+}
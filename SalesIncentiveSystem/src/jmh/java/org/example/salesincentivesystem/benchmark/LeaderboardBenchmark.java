@@ -0,0 +1,59 @@
+package org.example.salesincentivesystem.benchmark;
+
+import org.example.salesincentivesystem.dto.LeaderboardEntry;
+import org.example.salesincentivesystem.repository.UserIncentiveRollupRepository;
+import org.example.salesincentivesystem.service.LeaderboardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LeaderboardService.getLeaderboard for one org: served from warm boards (the
+ * steady state) and built from scratch from rollup rows (first request after
+ * startup or a rollup rebuild).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LeaderboardBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int deals;
+
+    private UserIncentiveRollupRepository rollupRepository;
+    private LeaderboardService warmService;
+    private final String orgName = SyntheticData.ORGS[0];
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = SyntheticData.generate(deals);
+        rollupRepository = InMemoryRepositories.stub(UserIncentiveRollupRepository.class, Map.of(
+                "findLeaderboardRows", args -> data.leaderboardRows((String) args[0])));
+        warmService = new LeaderboardService(rollupRepository);
+        warmService.getLeaderboard("ALL_TIME", orgName);
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> allTimeWarm() {
+        return warmService.getLeaderboard("ALL_TIME", orgName);
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> thisMonthWarm() {
+        return warmService.getLeaderboard("THIS_MONTH", orgName);
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> allTimeColdLoad() {
+        return new LeaderboardService(rollupRepository).getLeaderboard("ALL_TIME", orgName);
+    }
+}
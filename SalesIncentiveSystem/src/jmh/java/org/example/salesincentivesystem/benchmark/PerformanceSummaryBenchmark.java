@@ -0,0 +1,69 @@
+package org.example.salesincentivesystem.benchmark;
+
+import org.example.salesincentivesystem.dto.PerformanceSummary;
+import org.example.salesincentivesystem.repository.SalesProfileRepository;
+import org.example.salesincentivesystem.repository.UserIncentiveRollupRepository;
+import org.example.salesincentivesystem.repository.UserRepository;
+import org.example.salesincentivesystem.service.LeaderboardService;
+import org.example.salesincentivesystem.service.PerformanceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PerformanceService.getPerformanceSummary across the users of the dataset,
+ * with warm leaderboard boards for the rank lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PerformanceSummaryBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int deals;
+
+    private PerformanceService service;
+    private int userCount;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = SyntheticData.generate(deals);
+        userCount = data.users.size();
+
+        UserIncentiveRollupRepository rollupRepository = InMemoryRepositories.stub(
+                UserIncentiveRollupRepository.class, Map.of(
+                        "findByUserId", args -> data.rollupsFor((Long) args[0]),
+                        "findLeaderboardRows", args -> data.leaderboardRows((String) args[0])));
+        UserRepository userRepository = InMemoryRepositories.stub(UserRepository.class, Map.of(
+                "findById", args -> Optional.of(data.userById((Long) args[0]))));
+        SalesProfileRepository salesProfileRepository = InMemoryRepositories.stub(SalesProfileRepository.class,
+                Map.of("findByUserId", args -> Optional.empty()));
+
+        LeaderboardService leaderboardService = new LeaderboardService(rollupRepository);
+        for (String org : SyntheticData.ORGS) {
+            leaderboardService.getLeaderboard("ALL_TIME", org);
+        }
+        service = new PerformanceService(rollupRepository, userRepository, salesProfileRepository,
+                leaderboardService);
+    }
+
+    @Benchmark
+    public PerformanceSummary performanceSummary(Cursor cursor) {
+        cursor.next = (cursor.next + 1) % userCount;
+        return service.getPerformanceSummary(cursor.next + 1L);
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.salesincentivesystem.benchmark;
+
+import org.example.salesincentivesystem.controller.SimulationController;
+import org.example.salesincentivesystem.repository.DealRepository;
+import org.example.salesincentivesystem.repository.UserRepository;
+import org.example.salesincentivesystem.service.PolicySimulationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The /api/simulation/preview path (SimulationController.previewPolicy):
+ * snapshot of approved deals plus scoring one policy, and the scoring step on
+ * its own against a prepared snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PolicySimulationBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int deals;
+
+    private SimulationController controller;
+    private PolicySimulationService simulationService;
+    private PolicySimulationService.DealSnapshot snapshot;
+    private SimulationController.SimulationRequest request;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = SyntheticData.generate(deals);
+        List<Object[]> approved = data.approvedAmountAndIncentive(null);
+        DealRepository dealRepository = InMemoryRepositories.stub(DealRepository.class, Map.of(
+                "findApprovedAmountAndIncentive", args -> approved));
+        UserRepository userRepository = InMemoryRepositories.stub(UserRepository.class, Map.of());
+
+        simulationService = new PolicySimulationService(dealRepository);
+        controller = new SimulationController(simulationService, userRepository);
+        snapshot = simulationService.snapshot(null);
+
+        request = new SimulationController.SimulationRequest();
+        request.setThreshold(100_000.0);
+        request.setLowRate(4.0);
+        request.setHighRate(12.0);
+    }
+
+    @Benchmark
+    public SimulationController.SimulationResult previewPolicy() {
+        return controller.previewPolicy(request);
+    }
+
+    @Benchmark
+    public double[] evaluateSnapshot() {
+        return simulationService.evaluate(snapshot, 100_000.0, 4.0, 12.0);
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.salesincentivesystem.benchmark;
+
+import org.example.salesincentivesystem.entity.Deal;
+import org.example.salesincentivesystem.entity.RuleConfig;
+import org.example.salesincentivesystem.repository.NotificationRepository;
+import org.example.salesincentivesystem.repository.RuleConfigRepository;
+import org.example.salesincentivesystem.repository.UserRepository;
+import org.example.salesincentivesystem.service.RuleEvaluatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RuleEvaluatorService.evaluate, one deal per operation, cycling through the
+ * dataset. Each org has a handful of amount rules plus two global ones; only
+ * large deals trip them, so most evaluations create no notifications.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RuleEvaluatorBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int deals;
+
+    private RuleEvaluatorService service;
+    private Deal[] dealArray;
+    private final LongAdder notificationsSaved = new LongAdder();
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = SyntheticData.generate(deals);
+        dealArray = data.deals();
+
+        List<RuleConfig> rules = new ArrayList<>();
+        for (String org : SyntheticData.ORGS) {
+            rules.add(rule(org, "GT", 2_000_000));
+            rules.add(rule(org, "GT", 4_000_000));
+            rules.add(rule(org, "LT", 10_500));
+        }
+        rules.add(rule(null, "GT", 4_500_000));
+        rules.add(rule(null, "LT", 10_100));
+
+        RuleConfigRepository ruleRepository = InMemoryRepositories.stub(RuleConfigRepository.class, Map.of(
+                "findByActiveTrue", args -> rules));
+        UserRepository userRepository = InMemoryRepositories.stub(UserRepository.class, Map.of(
+                "findByRole", args -> "ADMIN".equals(args[0]) ? data.admins : List.of()));
+        NotificationRepository notificationRepository = InMemoryRepositories.stub(NotificationRepository.class,
+                Map.of("saveAll", args -> {
+                    notificationsSaved.add(((Collection<?>) args[0]).size());
+                    return args[0];
+                }));
+
+        service = new RuleEvaluatorService(ruleRepository, notificationRepository, userRepository);
+    }
+
+    @Benchmark
+    public void evaluate(Cursor cursor) {
+        Deal deal = dealArray[cursor.next];
+        cursor.next = (cursor.next + 1) % dealArray.length;
+        service.evaluate(deal);
+    }
+
+    private static RuleConfig rule(String org, String operator, double threshold) {
+        RuleConfig rule = new RuleConfig();
+        rule.setName(operator + " " + threshold);
+        rule.setMetric("DEAL_AMOUNT");
+        rule.setOperator(operator);
+        rule.setThreshold(threshold);
+        rule.setAction("NOTIFY");
+        rule.setActive(true);
+        rule.setOrganizationName(org);
+        return rule;
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.salesincentivesystem.benchmark;
+
+import org.example.salesincentivesystem.entity.Deal;
+import org.example.salesincentivesystem.entity.User;
+import org.example.salesincentivesystem.entity.UserIncentiveRollup;
+import org.example.salesincentivesystem.repository.UserIncentiveRollupRepository.LeaderboardRow;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic dataset: {@code dealCount} deals spread over
+ * {@link #ORGS}, one sales user per {@link #DEALS_PER_USER} deals and the last
+ * {@link #MONTHS} months, with the status mix and amount range seen in
+ * production. Deals are kept as columns; rollups, leaderboard rows and the
+ * simulation snapshot are derived from them the way the services would read
+ * them from the database.
+ */
+final class SyntheticData {
+
+    static final String[] ORGS = { "Acme Corp", "Globex", "Initech", "Umbrella" };
+    static final int DEALS_PER_USER = 50;
+    static final int MONTHS = 24;
+
+    final List<User> users = new ArrayList<>();
+    final List<User> admins = new ArrayList<>();
+
+    private final int dealCount;
+    private final int[] owner; // Index into users
+    private final double[] amount;
+    private final double[] incentive;
+    private final byte[] status; // 0 = Pending, 1 = Approved, 2 = Rejected
+    private final String[] monthKeys;
+    private final byte[] month; // Index into monthKeys
+
+    private final Map<Long, List<UserIncentiveRollup>> rollupsByUser = new HashMap<>();
+
+    private SyntheticData(int dealCount, long seed) {
+        this.dealCount = dealCount;
+        this.owner = new int[dealCount];
+        this.amount = new double[dealCount];
+        this.incentive = new double[dealCount];
+        this.status = new byte[dealCount];
+        this.month = new byte[dealCount];
+        this.monthKeys = new String[MONTHS];
+        YearMonth thisMonth = YearMonth.from(LocalDate.now());
+        for (int m = 0; m < MONTHS; m++) {
+            monthKeys[m] = thisMonth.minusMonths(m).toString();
+        }
+
+        int userCount = Math.max(ORGS.length, dealCount / DEALS_PER_USER);
+        for (int u = 0; u < userCount; u++) {
+            users.add(user(u + 1L, "Sales User " + (u + 1), "SALES", ORGS[u % ORGS.length]));
+        }
+        for (int o = 0; o < ORGS.length; o++) {
+            admins.add(user(userCount + o + 1L, "Admin " + ORGS[o], "ADMIN", ORGS[o]));
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < dealCount; i++) {
+            owner[i] = random.nextInt(userCount);
+            // Log-uniform between 10k and 5M
+            amount[i] = Math.round(10_000 * Math.pow(500, random.nextDouble()));
+            double rate = amount[i] > 100_000 ? 10.0 : 5.0;
+            incentive[i] = amount[i] * rate / 100.0;
+            int roll = random.nextInt(100);
+            status[i] = (byte) (roll < 70 ? 1 : roll < 85 ? 2 : 0);
+            month[i] = (byte) random.nextInt(MONTHS);
+        }
+        buildRollups();
+    }
+
+    static SyntheticData generate(int dealCount) {
+        return new SyntheticData(dealCount, 42L);
+    }
+
+    int dealCount() {
+        return dealCount;
+    }
+
+    List<UserIncentiveRollup> rollupsFor(Long userId) {
+        return rollupsByUser.getOrDefault(userId, List.of());
+    }
+
+    User userById(Long id) {
+        int index = (int) (id - 1);
+        if (index < users.size()) {
+            return users.get(index);
+        }
+        return admins.get(index - users.size());
+    }
+
+    /**
+     * What UserIncentiveRollupRepository.findLeaderboardRows returns: dated
+     * rollup buckets with approved deals, for one org or all (null).
+     */
+    List<LeaderboardRow> leaderboardRows(String orgName) {
+        List<LeaderboardRow> rows = new ArrayList<>();
+        for (User user : users) {
+            if (orgName != null && !orgName.equals(user.getOrganizationName())) {
+                continue;
+            }
+            for (UserIncentiveRollup r : rollupsFor(user.getId())) {
+                if (r.getApprovedCount() > 0) {
+                    rows.add(new Row(user, r));
+                }
+            }
+        }
+        return rows;
+    }
+
+    // What DealRepository.findApprovedAmountAndIncentive returns: {amount, incentive} per approved deal
+    List<Object[]> approvedAmountAndIncentive(String orgName) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < dealCount; i++) {
+            if (status[i] == 1 && (orgName == null || orgName.equals(users.get(owner[i]).getOrganizationName()))) {
+                rows.add(new Object[] { amount[i], incentive[i] });
+            }
+        }
+        return rows;
+    }
+
+    // Materializes deal entities (with their owner attached) for the rule evaluator
+    Deal[] deals() {
+        Deal[] deals = new Deal[dealCount];
+        for (int i = 0; i < dealCount; i++) {
+            Deal deal = new Deal();
+            deal.setUser(users.get(owner[i]));
+            deal.setAmount(amount[i]);
+            deal.setIncentive(incentive[i]);
+            deal.setStatus(status[i] == 1 ? "Approved" : status[i] == 2 ? "Rejected" : "Pending");
+            deal.setDate(YearMonth.parse(monthKeys[month[i]]).atDay(1));
+            deals[i] = deal;
+        }
+        return deals;
+    }
+
+    private void buildRollups() {
+        Map<Long, UserIncentiveRollup> byKey = new HashMap<>();
+        for (int i = 0; i < dealCount; i++) {
+            long userId = owner[i] + 1L;
+            UserIncentiveRollup row = byKey.computeIfAbsent(userId * MONTHS + month[i], key -> {
+                UserIncentiveRollup created = new UserIncentiveRollup(userId, monthKeys[(int) (key % MONTHS)]);
+                rollupsByUser.computeIfAbsent(userId, id -> new ArrayList<>()).add(created);
+                return created;
+            });
+            row.setDealCount(row.getDealCount() + 1);
+            row.setAmountSum(row.getAmountSum() + amount[i]);
+            if (status[i] == 1) {
+                row.setApprovedCount(row.getApprovedCount() + 1);
+                row.setIncentiveSum(row.getIncentiveSum() + incentive[i]);
+                row.setApprovedAmountSum(row.getApprovedAmountSum() + amount[i]);
+            } else if (status[i] == 2) {
+                row.setRejectedCount(row.getRejectedCount() + 1);
+            }
+        }
+    }
+
+    private static User user(Long id, String name, String role, String orgName) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail("user" + id + "@bench.example");
+        user.setRole(role);
+        user.setOrganizationName(orgName);
+        return user;
+    }
+
+    private static final class Row implements LeaderboardRow {
+        private final User user;
+        private final UserIncentiveRollup rollup;
+
+        Row(User user, UserIncentiveRollup rollup) {
+            this.user = user;
+            this.rollup = rollup;
+        }
+
+        @Override
+        public Long getUserId() {
+            return user.getId();
+        }
+
+        @Override
+        public String getName() {
+            return user.getName();
+        }
+
+        @Override
+        public String getOrganizationName() {
+            return user.getOrganizationName();
+        }
+
+        @Override
+        public String getMonth() {
+            return rollup.getMonth();
+        }
+
+        @Override
+        public Double getIncentiveSum() {
+            return rollup.getIncentiveSum();
+        }
+
+        @Override
+        public Double getApprovedAmountSum() {
+            return rollup.getApprovedAmountSum();
+        }
+
+        @Override
+        public Long getApprovedCount() {
+            return rollup.getApprovedCount();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.salesincentivesystem.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the {@link org.example.salesincentivesystem.dto.Requestor} named by
+ * the requestorId request parameter, or null when the parameter is missing or
+ * the user does not exist.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentRequestor {
+}
@@ -1,5 +1,6 @@
 package org.example.salesincentivesystem.config;
 
+import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
@@ -20,6 +21,15 @@ public class DatabaseConfig {
     @Value("${spring.datasource.password}")
     private String password;
 
+    @Value("${db.pool.max-size:10}")
+    private int maxPoolSize;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${db.connection-wait-ms:30000}")
+    private long connectionWaitMillis;
+
     @Bean
     @Primary
     public DataSource dataSource() {
@@ -63,10 +73,20 @@ public class DatabaseConfig {
         System.out.println("Initializing DataSource with normalized URL: " + normalizedUrl);
         System.out.println("Using username extracted/provided: " + finalUsername);
 
-        return DataSourceBuilder.create()
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
                 .url(normalizedUrl)
                 .username(finalUsername)
                 .password(finalPassword)
                 .build();
+        pool.setMaximumPoolSize(maxPoolSize);
+        pool.setConnectionTimeout(connectionWaitMillis);
+
+        if (virtualThreads) {
+            // One virtual thread per request: bound how many wait on the pool at once
+            System.out.println("Virtual threads enabled: limiting JDBC to " + maxPoolSize + " concurrent connections");
+            return new ConnectionLimitingDataSource(pool, maxPoolSize, connectionWaitMillis);
+        }
+        return pool;
     }
 }
@@ -0,0 +1,388 @@
+package org.example.salesincentivesystem.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.example.salesincentivesystem.dto.Requestor;
+import org.example.salesincentivesystem.repository.UserRepository;
+import org.example.salesincentivesystem.service.RequestorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-endpoint request metrics, tagged by route pattern, method, status and the
+ * caller's org tier:
+ * <ul>
+ * <li>{@code app.endpoint.requests} - latency timer (with histogram buckets for p95/p99)</li>
+ * <li>{@code app.endpoint.sql.statements} - JDBC statements Hibernate prepared</li>
+ * <li>{@code app.endpoint.entities.loaded} - entities Hibernate loaded or fetched</li>
+ * <li>{@code app.endpoint.response.size} - response body bytes</li>
+ * <li>{@code app.endpoint.tier.lookup.failures} - requests tagged tier=unknown because
+ * the requestor or org size could not be read</li>
+ * </ul>
+ * SQL and entity counts come from {@link RequestStatistics} and only cover work
+ * done on the request thread; {@link QueryDiagnostics} checks the same counts
+ * against its budgets when enabled. Streaming responses are recorded when the async
+ * request completes. In FAIL mode the body is held back until the check passes,
+ * so a violation reaches the client as an error rather than after a 200.
+ */
+@Component
+public class EndpointMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(EndpointMetricsFilter.class);
+
+    private static final String UNMAPPED = "UNMAPPED";
+
+    private final MeterRegistry registry;
+    private final RequestorService requestorService;
+    private final UserRepository userRepository;
+    private final QueryDiagnostics queryDiagnostics;
+    private final int mediumUsers;
+    private final int largeUsers;
+    private final long tierTtlMillis;
+    private final Map<String, CachedTier> tiers = new ConcurrentHashMap<>();
+    private final Counter tierLookupFailures;
+
+    public EndpointMetricsFilter(MeterRegistry registry, RequestorService requestorService,
+            UserRepository userRepository, QueryDiagnostics queryDiagnostics,
+            @Value("${metrics.org-tier.medium-users:50}") int mediumUsers,
+            @Value("${metrics.org-tier.large-users:500}") int largeUsers,
+            @Value("${metrics.org-tier.ttl-ms:600000}") long tierTtlMillis) {
+        this.registry = registry;
+        this.requestorService = requestorService;
+        this.userRepository = userRepository;
+        this.queryDiagnostics = queryDiagnostics;
+        this.mediumUsers = mediumUsers;
+        this.largeUsers = largeUsers;
+        this.tierTtlMillis = tierTtlMillis;
+        this.tierLookupFailures = Counter.builder("app.endpoint.tier.lookup.failures")
+                .description("Org tier lookups that failed; the request is tagged tier=unknown")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        RequestStatistics.Counts counts = RequestStatistics.begin();
+        CountingResponse counting = new CountingResponse(response, queryDiagnostics.isFailOnViolation());
+        try {
+            chain.doFilter(request, counting);
+        } finally {
+            RequestStatistics.end();
+            // Resolved after the snapshot so the lookup is not charged to the endpoint
+            String tier = orgTier(request);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, counting, tier, counts, start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, counting, tier, counts, start);
+            }
+        }
+        // Only once the request succeeded, so FAIL mode never masks the original error;
+        // on a violation the held body is dropped and the container answers with a 500
+        queryDiagnostics.check(request.getMethod(), endpoint(request), counts);
+        counting.release();
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNMAPPED;
+    }
+
+    private void record(HttpServletRequest request, CountingResponse response, String tier,
+            RequestStatistics.Counts counts, long start) {
+        Tags tags = Tags.of(
+                "endpoint", endpoint(request),
+                "method", request.getMethod(),
+                "status", String.valueOf(response.getStatus()),
+                "tier", tier);
+
+        Timer.builder("app.endpoint.requests")
+                .description("Request latency per endpoint")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("app.endpoint.sql.statements")
+                .description("JDBC statements prepared per request")
+                .tags(tags)
+                .register(registry)
+                .record(counts.getStatements());
+        DistributionSummary.builder("app.endpoint.entities.loaded")
+                .description("Entities loaded per request")
+                .tags(tags)
+                .register(registry)
+                .record(counts.getEntitiesLoaded());
+        DistributionSummary.builder("app.endpoint.response.size")
+                .description("Response body size per request")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(registry)
+                .record(response.getBytesWritten());
+    }
+
+    // anonymous / global / none, or small / medium / large by org head count
+    private String orgTier(HttpServletRequest request) {
+        String raw = request.getParameter("requestorId");
+        if (raw == null || raw.isBlank()) {
+            return "anonymous";
+        }
+        Requestor requestor;
+        try {
+            requestor = requestorService.find(Long.valueOf(raw.trim())).orElse(null);
+        } catch (NumberFormatException e) {
+            return "anonymous";
+        } catch (RuntimeException e) {
+            return tierLookupFailed(e);
+        }
+        if (requestor == null) {
+            return "anonymous";
+        }
+        if (requestor.isAdminTypeGlobal()) {
+            return "global";
+        }
+        String org = requestor.getOrganizationName();
+        if (org == null || org.isBlank()) {
+            return "none";
+        }
+
+        long now = System.currentTimeMillis();
+        CachedTier cached = tiers.get(org);
+        if (cached != null && now - cached.loadedAt < tierTtlMillis) {
+            return cached.tier;
+        }
+        long users;
+        try {
+            users = userRepository.countByOrganizationName(org);
+        } catch (RuntimeException e) {
+            return tierLookupFailed(e);
+        }
+        String tier = users >= largeUsers ? "large" : users >= mediumUsers ? "medium" : "small";
+        tiers.put(org, new CachedTier(tier, now));
+        return tier;
+    }
+
+    // Metrics must never fail the request; the lookup is retried on the next one
+    private String tierLookupFailed(RuntimeException e) {
+        tierLookupFailures.increment();
+        log.warn("Metrics tier lookup failed: {}", e.getMessage());
+        return "unknown";
+    }
+
+    private static final class CachedTier {
+        private final String tier;
+        private final long loadedAt;
+
+        CachedTier(String tier, long loadedAt) {
+            this.tier = tier;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * Counts the bytes written to the body through either the output stream or
+     * the writer. When holding, writes from the filter's thread are buffered
+     * and nothing is flushed until {@link #release()}; writes from other threads
+     * (streaming bodies) always go straight through.
+     */
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private final Thread holdingThread;
+        private volatile boolean released;
+        private final ByteArrayOutputStream heldBytes = new ByteArrayOutputStream();
+        private final StringBuilder heldText = new StringBuilder();
+        private long bytesWritten;
+        private ServletOutputStream outputStream;
+        private ServletOutputStream delegateStream;
+        private PrintWriter writer;
+        private PrintWriter delegateWriter;
+
+        CountingResponse(HttpServletResponse response, boolean hold) {
+            super(response);
+            this.holdingThread = hold ? Thread.currentThread() : null;
+        }
+
+        long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        private boolean holding() {
+            return !released && holdingThread == Thread.currentThread();
+        }
+
+        // Writes out whatever was held and stops holding
+        void release() throws IOException {
+            released = true;
+            if (heldBytes.size() > 0) {
+                delegateStream.write(heldBytes.toByteArray());
+                heldBytes.reset();
+            }
+            if (heldText.length() > 0) {
+                delegateWriter.write(heldText.toString());
+                heldText.setLength(0);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (!holding()) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            heldBytes.reset();
+            heldText.setLength(0);
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            heldBytes.reset();
+            heldText.setLength(0);
+            super.reset();
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                delegateStream = delegate;
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        if (holding()) {
+                            heldBytes.write(b);
+                        } else {
+                            delegate.write(b);
+                        }
+                        bytesWritten++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        if (holding()) {
+                            heldBytes.write(b, off, len);
+                        } else {
+                            delegate.write(b, off, len);
+                        }
+                        bytesWritten += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        if (!holding()) {
+                            delegate.flush();
+                        }
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        if (!holding()) {
+                            delegate.close();
+                        }
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        delegate.setWriteListener(listener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                PrintWriter delegate = super.getWriter();
+                delegateWriter = delegate;
+                String encoding = getCharacterEncoding();
+                Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+                // Writes straight through, so nothing is left buffered here when the container closes the response
+                writer = new PrintWriter(new Writer() {
+                    @Override
+                    public void write(char[] cbuf, int off, int len) {
+                        if (holding()) {
+                            heldText.append(cbuf, off, len);
+                        } else {
+                            delegate.write(cbuf, off, len);
+                        }
+                        bytesWritten += new String(cbuf, off, len).getBytes(charset).length;
+                    }
+
+                    @Override
+                    public void flush() {
+                        if (!holding()) {
+                            delegate.flush();
+                        }
+                    }
+
+                    @Override
+                    public void close() {
+                        if (!holding()) {
+                            delegate.close();
+                        }
+                    }
+                });
+            }
+            return writer;
+        }
+
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.salesincentivesystem.config;
+
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class MetricsConfig {
+
+    // Per-request statement/entity counts on top of hibernate.generate_statistics
+    @Bean
+    public HibernatePropertiesCustomizer requestStatisticsCustomizer() {
+        return properties -> properties.put("hibernate.stats.factory", (StatisticsFactory) RequestStatistics::new);
+    }
+
+    // Full-scan half of QueryDiagnostics; not installed unless diagnostics are on
+    @Bean
+    @ConditionalOnProperty(name = "diagnostics.queries.enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer unfilteredQueryInspectorCustomizer(
+            @Value("${diagnostics.queries.watched-tables:deal,app_users,notifications,audit_logs}") List<String> tables) {
+        return properties -> properties.put("hibernate.session_factory.statement_inspector",
+                new UnfilteredQueryInspector(tables));
+    }
+}
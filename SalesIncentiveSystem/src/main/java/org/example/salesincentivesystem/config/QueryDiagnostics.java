@@ -0,0 +1,86 @@
+package org.example.salesincentivesystem.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * N+1 and full-scan detector, off unless diagnostics.queries.enabled=true.
+ * Checks each request's {@link RequestStatistics} counts against the statement
+ * and entity budgets and for unfiltered queries on the watched tables (see
+ * {@link UnfilteredQueryInspector}). In WARN mode violations are logged and
+ * counted under app.query.violations; in FAIL mode (for tests and CI) the
+ * request fails with an IllegalStateException naming the endpoint.
+ */
+@Component
+public class QueryDiagnostics {
+
+    private final boolean enabled;
+    private final boolean failOnViolation;
+    private final long maxStatements;
+    private final long maxEntities;
+    private final MeterRegistry registry;
+
+    public QueryDiagnostics(MeterRegistry registry,
+            @Value("${diagnostics.queries.enabled:false}") boolean enabled,
+            @Value("${diagnostics.queries.mode:WARN}") String mode,
+            @Value("${diagnostics.queries.max-statements:30}") long maxStatements,
+            @Value("${diagnostics.queries.max-entities:1000}") long maxEntities) {
+        this.registry = registry;
+        this.enabled = enabled;
+        this.failOnViolation = "FAIL".equalsIgnoreCase(mode.trim());
+        this.maxStatements = maxStatements;
+        this.maxEntities = maxEntities;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // check() may still fail a request that has otherwise completed
+    public boolean isFailOnViolation() {
+        return enabled && failOnViolation;
+    }
+
+    public void check(String method, String endpoint, RequestStatistics.Counts counts) {
+        if (!enabled) {
+            return;
+        }
+        List<String> violations = new ArrayList<>();
+        if (counts.getStatements() > maxStatements) {
+            violations.add(counts.getStatements() + " statements (max " + maxStatements + ", likely N+1)");
+            count("statements", method, endpoint);
+        }
+        if (counts.getEntitiesLoaded() > maxEntities) {
+            violations.add(counts.getEntitiesLoaded() + " entities loaded (max " + maxEntities + ")");
+            count("entities", method, endpoint);
+        }
+        if (counts.getUnfilteredCount() > 0) {
+            violations.add(counts.getUnfilteredCount() + " queries without WHERE: " + counts.getUnfiltered());
+            count("unfiltered", method, endpoint);
+        }
+        if (violations.isEmpty()) {
+            return;
+        }
+
+        String message = "Query diagnostics for " + method + " " + endpoint + ": " + String.join("; ", violations);
+        if (failOnViolation) {
+            throw new IllegalStateException(message);
+        }
+        System.err.println("WARNING: " + message);
+    }
+
+    private void count(String kind, String method, String endpoint) {
+        Counter.builder("app.query.violations")
+                .description("Requests over the query diagnostics budgets")
+                .tag("kind", kind)
+                .tag("method", method)
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.salesincentivesystem.config;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hibernate statistics that, besides the usual factory-wide totals, count the
+ * JDBC statements Hibernate prepares and the entities it loads on the current
+ * thread between {@link #begin()} and {@link #end()}. EndpointMetricsFilter
+ * brackets each request with them to get per-request numbers.
+ */
+public class RequestStatistics extends StatisticsImpl {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    public RequestStatistics(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    public static Counts begin() {
+        Counts counts = new Counts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    // Null outside a request (schedulers, startup)
+    public static Counts current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public void prepareStatement() {
+        super.prepareStatement();
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entitiesLoaded++;
+        }
+    }
+
+    @Override
+    public void fetchEntity(String entityName) {
+        super.fetchEntity(entityName);
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entitiesLoaded++;
+        }
+    }
+
+    public static final class Counts {
+        private static final int MAX_UNFILTERED = 10;
+
+        private long statements;
+        private long entitiesLoaded;
+        private long unfilteredCount;
+        private List<String> unfiltered;
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getEntitiesLoaded() {
+            return entitiesLoaded;
+        }
+
+        // Set by UnfilteredQueryInspector; keeps the first few statements
+        void recordUnfiltered(String sql) {
+            unfilteredCount++;
+            if (unfiltered == null) {
+                unfiltered = new ArrayList<>();
+            }
+            if (unfiltered.size() < MAX_UNFILTERED) {
+                unfiltered.add(sql);
+            }
+        }
+
+        public long getUnfilteredCount() {
+            return unfilteredCount;
+        }
+
+        public List<String> getUnfiltered() {
+            return unfiltered != null ? unfiltered : Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.salesincentivesystem.config;
+
+import org.example.salesincentivesystem.dto.Requestor;
+import org.example.salesincentivesystem.service.RequestorService;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@link CurrentRequestor} parameters through {@link RequestorService}.
+ */
+@Component
+public class RequestorArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final RequestorService requestorService;
+
+    public RequestorArgumentResolver(RequestorService requestorService) {
+        this.requestorService = requestorService;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentRequestor.class)
+                && Requestor.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        String raw = webRequest.getParameter("requestorId");
+        if (raw == null || raw.isBlank()) {
+            return null;
+        }
+        try {
+            return requestorService.find(Long.valueOf(raw.trim())).orElse(null);
+        } catch (NumberFormatException e) {
+            return null; // The @RequestParam Long binding reports the bad value
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.salesincentivesystem.config;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Checks at startup that the indexes hot finders rely on exist (created by
+ * db/migration/V4__hot_finder_indexes.sql, so only missing where migrations do
+ * not run, such as the H2 loadtest profile) and reports any that are missing in
+ * the log and under the "schemaIndexes" health component. Missing indexes do
+ * not fail startup or the health status.
+ */
+@Component("schemaIndexes")
+public class SchemaIndexCheck implements HealthIndicator {
+
+    // table -> leading columns some index must start with
+    private static final String[][] EXPECTED = {
+            { "deal", "user_id", "date" },
+            { "deal", "updated_at", "id" },
+            { "app_users", "organization_name", "role" },
+            { "app_users", "role" },
+            { "app_users", "email" },
+            { "notifications", "user_id", "timestamp" },
+            { "policies", "organization_name", "type", "is_active" },
+            { "invitations", "token" },
+            { "invitations", "email" },
+            { "rule_config", "organization_name" },
+            { "audit_logs", "user_id", "action" },
+            { "audit_logs", "organization_name", "timestamp", "id" },
+            { "sales_profiles", "user_id" },
+            { "user_preferences", "user_id" },
+            { "sales_performance", "user_id" },
+            { "organizations", "admin_user_id" },
+    };
+
+    private final DataSource dataSource;
+
+    private volatile List<String> missing = Collections.emptyList();
+    private volatile String error;
+
+    public SchemaIndexCheck(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData meta = connection.getMetaData();
+            List<String> notFound = new ArrayList<>();
+            for (String[] expected : EXPECTED) {
+                if (!hasIndexStartingWith(meta, connection.getSchema(), expected)) {
+                    notFound.add(expected[0] + "(" + String.join(", ", List.of(expected).subList(1, expected.length))
+                            + ")");
+                }
+            }
+            missing = Collections.unmodifiableList(notFound);
+            error = null;
+            if (!notFound.isEmpty()) {
+                System.err.println("WARNING: Missing database indexes " + notFound
+                        + " - check flyway_schema_history or apply db/migration");
+            }
+        } catch (Exception e) {
+            error = e.getMessage();
+            System.err.println("Index check failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.up().withDetail("missingIndexes", missing);
+        if (error != null) {
+            builder.withDetail("error", error);
+        }
+        return builder.build();
+    }
+
+    private boolean hasIndexStartingWith(DatabaseMetaData meta, String schema, String[] expected) throws Exception {
+        // index name -> columns by ordinal position
+        Map<String, TreeMap<Integer, String>> indexes = new TreeMap<>();
+        try (ResultSet rs = meta.getIndexInfo(null, schema, expected[0], false, true)) {
+            while (rs.next()) {
+                String name = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (name == null || column == null) {
+                    continue; // Table statistics row
+                }
+                indexes.computeIfAbsent(name, k -> new TreeMap<>())
+                        .put((int) rs.getShort("ORDINAL_POSITION"), column.replace("\"", "").toLowerCase());
+            }
+        }
+
+        for (TreeMap<Integer, String> columns : indexes.values()) {
+            List<String> ordered = new ArrayList<>(columns.values());
+            if (ordered.size() < expected.length - 1) {
+                continue;
+            }
+            boolean matches = true;
+            for (int i = 1; i < expected.length && matches; i++) {
+                matches = expected[i].equals(ordered.get(i - 1));
+            }
+            if (matches) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
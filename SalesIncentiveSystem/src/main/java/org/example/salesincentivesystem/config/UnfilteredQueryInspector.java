@@ -0,0 +1,46 @@
+package org.example.salesincentivesystem.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Collection;
+import java.util.regex.Pattern;
+
+/**
+ * Flags SELECT/UPDATE/DELETE statements that read or write one of the watched
+ * tables without any WHERE clause, on the current request's
+ * {@link RequestStatistics} counts. The check is textual: a WHERE anywhere in
+ * the statement (a subquery included) lets it pass. SQL is returned unchanged.
+ */
+public class UnfilteredQueryInspector implements StatementInspector {
+
+    private static final Pattern DML = Pattern.compile("^\\s*(select|update|delete)\\b");
+    private static final Pattern WHERE = Pattern.compile("\\bwhere\\b");
+
+    private final Pattern watchedTable;
+
+    public UnfilteredQueryInspector(Collection<String> tables) {
+        StringBuilder names = new StringBuilder();
+        for (String table : tables) {
+            if (!table.isBlank()) {
+                names.append(names.length() > 0 ? "|" : "").append(Pattern.quote(table.trim().toLowerCase()));
+            }
+        }
+        if (names.length() == 0) {
+            throw new IllegalArgumentException("No tables to watch");
+        }
+        this.watchedTable = Pattern.compile("\\b(from|join|update)\\s+\"?(" + names + ")\"?(\\s|,|$)");
+    }
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatistics.Counts counts = RequestStatistics.current();
+        if (counts == null || sql == null) {
+            return sql;
+        }
+        String lower = sql.toLowerCase();
+        if (DML.matcher(lower).find() && watchedTable.matcher(lower).find() && !WHERE.matcher(lower).find()) {
+            counts.recordUnfiltered(sql);
+        }
+        return sql;
+    }
+}
@@ -4,35 +4,60 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
+import org.example.salesincentivesystem.config.CurrentRequestor;
+import org.example.salesincentivesystem.dto.CursorPage;
+import org.example.salesincentivesystem.dto.DealListItem;
+import org.example.salesincentivesystem.dto.Requestor;
 import org.example.salesincentivesystem.entity.Deal;
 import org.example.salesincentivesystem.entity.User;
 import org.example.salesincentivesystem.repository.DealRepository;
+import org.example.salesincentivesystem.repository.DealSpecifications;
 import org.example.salesincentivesystem.repository.UserRepository;
 import org.example.salesincentivesystem.repository.NotificationRepository;
 import org.example.salesincentivesystem.service.AuditLogService;
+import org.example.salesincentivesystem.service.DealAssignmentService;
+import org.example.salesincentivesystem.service.DealExportService;
+import org.example.salesincentivesystem.service.IncentiveRollupService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/admin/deals")
 public class AdminDealController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final DealRepository dealRepository;
     private final UserRepository userRepository;
     private final NotificationRepository notificationRepository;
     private final org.example.salesincentivesystem.repository.PolicyRepository policyRepository;
     private final AuditLogService auditLogService;
+    private final IncentiveRollupService incentiveRollupService;
+    private final DealAssignmentService dealAssignmentService;
+    private final DealExportService dealExportService;
 
     public AdminDealController(
             DealRepository dealRepository,
             UserRepository userRepository,
             NotificationRepository notificationRepository,
             org.example.salesincentivesystem.repository.PolicyRepository policyRepository,
-            AuditLogService auditLogService) {
+            AuditLogService auditLogService,
+            IncentiveRollupService incentiveRollupService,
+            DealAssignmentService dealAssignmentService,
+            DealExportService dealExportService) {
         this.dealRepository = dealRepository;
         this.userRepository = userRepository;
         this.notificationRepository = notificationRepository;
         this.policyRepository = policyRepository;
         this.auditLogService = auditLogService;
+        this.incentiveRollupService = incentiveRollupService;
+        this.dealAssignmentService = dealAssignmentService;
+        this.dealExportService = dealExportService;
     }
 
     /**
@@ -42,17 +67,13 @@ public class AdminDealController {
     @PostMapping
     public org.springframework.http.ResponseEntity<?> createDeal(
             @RequestBody Map<String, Object> payload,
-            @RequestParam(required = false) Long requestorId) {
+            @RequestParam(required = false) Long requestorId,
+            @CurrentRequestor Requestor requestor) {
         try {
             Deal deal = new Deal();
 
             // Extract requestor to get organization context
-            String requestorOrg = null;
-            if (requestorId != null) {
-                requestorOrg = userRepository.findById(requestorId)
-                        .map(User::getOrganizationName)
-                        .orElse(null);
-            }
+            String requestorOrg = requestor != null ? requestor.getOrganizationName() : null;
 
             // Extract and validate all required fields
             String dealName = (String) payload.get("dealName");
@@ -176,45 +197,8 @@ public class AdminDealController {
             deal.setUpdatedAt(LocalDateTime.now());
             deal.setStatus("ASSIGNED");
 
-            Deal savedDeal = dealRepository.save(deal);
-
-            // AUTO-TRACK ONBOARDING: Mark firstDealCreated for the admin who created this
-            // deal
-            if (payload.containsKey("createdBy")) {
-                try {
-                    Long adminId = Long.parseLong(payload.get("createdBy").toString());
-                    userRepository.findById(adminId).ifPresent(admin -> {
-                        if (Boolean.FALSE.equals(admin.getFirstDealCreated())) {
-                            admin.setFirstDealCreated(true);
-                            userRepository.save(admin);
-                        }
-                    });
-                } catch (Exception ignored) {
-                    // Silently fail if onboarding tracking fails
-                }
-            }
-
-            // Notify
-            try {
-                org.example.salesincentivesystem.entity.Notification notification = new org.example.salesincentivesystem.entity.Notification();
-                notification.setUser(salesExec);
-                notification.setTitle("New Deal Assigned: " + savedDeal.getDealName());
-                notification.setMessage("You have been assigned a new deal for " + savedDeal.getOrganizationName()
-                        + " worth ₹" + savedDeal.getAmount());
-                notification.setType("INFO");
-                notification.setTimestamp(LocalDateTime.now());
-                notificationRepository.save(notification);
-            } catch (Exception ignored) {
-            }
-
-            // Audit
-            try {
-                auditLogService.logAction(
-                        null, "ADMIN", "CREATE_DEAL_ASSIGNED", "DEAL", savedDeal.getId(),
-                        String.format("Created and assigned deal '%s' to %s", savedDeal.getDealName(),
-                                salesExec.getName()));
-            } catch (Exception ignored) {
-            }
+            // Onboarding flag, notification and audit are dispatched from the outbox
+            Deal savedDeal = dealAssignmentService.createAssignedDeal(deal);
 
             return org.springframework.http.ResponseEntity.ok(savedDeal);
 
@@ -233,14 +217,14 @@ public class AdminDealController {
     public Deal updateDeal(
             @PathVariable Long id,
             @RequestBody Map<String, Object> payload,
-            @RequestParam(required = false) Long requestorId) {
+            @RequestParam(required = false) Long requestorId,
+            @CurrentRequestor Requestor requestor) {
 
         Deal deal = dealRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Deal not found"));
 
         // Security Check: Org Match
         if (requestorId != null) {
-            User requestor = userRepository.findById(requestorId).orElse(null);
             if (requestor != null) {
                 boolean isGlobalAdmin = requestor.isAdminTypeGlobal();
                 boolean isSameOrg = requestor.getOrganizationName() != null &&
@@ -291,7 +275,7 @@ public class AdminDealController {
 
         deal.setUpdatedAt(LocalDateTime.now());
 
-        Deal updatedDeal = dealRepository.save(deal);
+        Deal updatedDeal = incentiveRollupService.saveDeal(deal);
 
         // Audit log
         auditLogService.logAction(
@@ -309,48 +293,141 @@ public class AdminDealController {
      * Admin gets all deals with optional filters
      */
     @GetMapping
-    public List<Deal> getAllDeals(
+    public List<DealListItem> getAllDeals(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) Long requestorId,
+            @CurrentRequestor Requestor requestor) {
+
+        Specification<Deal> scope = resolveDealScope(userId, requestorId, requestor);
+        if (scope == null) {
+            return java.util.Collections.emptyList();
+        }
+
+        // Filters are applied in SQL (case-insensitive for status and priority)
+        return dealRepository.findListItems(scope.and(filters(status, userId, priority)), Sort.unsorted(), 0);
+    }
+
+    /**
+     * Keyset-paginated variant of {@link #getAllDeals}, newest first.
+     * Pass the returned nextCursor back as {@code cursor} to fetch the next page;
+     * a cursor that does not decode is a 400.
+     */
+    @GetMapping("/page")
+    public org.springframework.http.ResponseEntity<?> getDealsPage(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Long requestorId,
+            @CurrentRequestor Requestor requestor) {
+
+        CursorPage.Cursor after;
+        try {
+            after = CursorPage.decodeCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            return org.springframework.http.ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        Specification<Deal> scope = resolveDealScope(userId, requestorId, requestor);
+        if (scope == null) {
+            return org.springframework.http.ResponseEntity.ok(new CursorPage<>(java.util.Collections.emptyList(), null));
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Specification<Deal> spec = scope.and(filters(status, userId, priority));
+
+        if (after != null) {
+            spec = spec.and(DealSpecifications.updatedBefore(after.getTimestamp(), after.getId()));
+        }
+
+        Sort order = Sort.by(Sort.Direction.DESC, "updatedAt").and(Sort.by(Sort.Direction.DESC, "id"));
+        // Fetch one extra row to know whether another page exists, without a COUNT query
+        List<DealListItem> rows = dealRepository.findListItems(spec, order, pageSize + 1);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            DealListItem last = rows.get(pageSize - 1);
+            nextCursor = CursorPage.encodeCursor(last.getUpdatedAt(), last.getId());
+        }
+        return org.springframework.http.ResponseEntity.ok(new CursorPage<>(rows, nextCursor));
+    }
+
+    /**
+     * Streams every deal visible to the requestor as CSV (default) or NDJSON
+     * ({@code format=ndjson}), with the same filters as {@link #getAllDeals}.
+     * Rows are written as they are read, so org-wide exports use constant memory.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDeals(
             @RequestParam(required = false) String status,
             @RequestParam(required = false) Long userId,
             @RequestParam(required = false) String priority,
-            @RequestParam(required = false) Long requestorId) {
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Long requestorId,
+            @CurrentRequestor Requestor requestor) {
+
+        DealExportService.Format exportFormat;
+        try {
+            exportFormat = DealExportService.Format.from(format);
+        } catch (IllegalArgumentException e) {
+            byte[] message = e.getMessage().getBytes(java.nio.charset.StandardCharsets.UTF_8);
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(out -> out.write(message));
+        }
+        DealExportService.Filter filter = new DealExportService.Filter();
+        // Same visibility rules as resolveDealScope
+        boolean isGlobalAdmin = requestorId != null && requestor != null && requestor.isAdminTypeGlobal();
+        String requestorOrg = requestorId != null && requestor != null ? requestor.getOrganizationName() : null;
+        if (!isGlobalAdmin) {
+            if (requestorOrg != null) {
+                filter.assigneeOrganization = requestorOrg;
+            } else if (userId == null || !userId.equals(requestorId)) {
+                return ResponseEntity.status(org.springframework.http.HttpStatus.FORBIDDEN).build();
+            }
+        }
+        filter.userId = userId;
+        filter.status = status;
+        filter.priority = priority;
+
+        StreamingResponseBody body = out -> dealExportService.export(filter, exportFormat, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"deals-" + java.time.LocalDate.now() + "." + exportFormat.getExtension() + "\"")
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
+    }
 
+    /**
+     * Returns the base visibility filter for the requestor, or null if they may
+     * not see any deals.
+     */
+    private Specification<Deal> resolveDealScope(Long userId, Long requestorId, Requestor requestor) {
         String requestorOrg = null;
         boolean isGlobalAdmin = false;
 
-        if (requestorId != null) {
-            User requestor = userRepository.findById(requestorId).orElse(null);
-            if (requestor != null) {
-                requestorOrg = requestor.getOrganizationName();
-                isGlobalAdmin = requestor.isAdminTypeGlobal();
-            }
+        if (requestorId != null && requestor != null) {
+            requestorOrg = requestor.getOrganizationName();
+            isGlobalAdmin = requestor.isAdminTypeGlobal();
         }
 
-        List<Deal> deals;
         if (isGlobalAdmin) {
-            deals = dealRepository.findAll();
+            return Specification.where(null);
         } else if (requestorOrg != null) {
-            deals = dealRepository.findByUser_OrganizationName(requestorOrg);
+            return DealSpecifications.inOrganization(requestorOrg);
         } else if (userId != null && userId.equals(requestorId)) {
             // Case: Salesman or Admin with no org yet, but requesting their OWN deals
-            deals = dealRepository.findByUser_Id(requestorId);
-        } else {
-            // Fallback: If request is specifically for a user's deals, and requestor is
-            // that user, allow it.
-            if (userId != null && userId.equals(requestorId)) {
-                deals = dealRepository.findByUser_Id(requestorId);
-            } else {
-                return java.util.Collections.emptyList();
-            }
+            return DealSpecifications.assignedTo(requestorId);
         }
+        return null;
+    }
 
-        // Apply filters (case-insensitive for status and priority)
-        return deals.stream()
-                .filter(d -> status == null || (d.getStatus() != null && status.equalsIgnoreCase(d.getStatus())))
-                .filter(d -> userId == null || (d.getUser() != null && userId.equals(d.getUser().getId())))
-                .filter(d -> priority == null
-                        || (d.getPriority() != null && priority.equalsIgnoreCase(d.getPriority())))
-                .collect(java.util.stream.Collectors.toList());
+    private Specification<Deal> filters(String status, Long userId, String priority) {
+        return DealSpecifications.hasStatus(status)
+                .and(DealSpecifications.assignedTo(userId))
+                .and(DealSpecifications.hasPriority(priority));
     }
 
     /**
@@ -360,14 +437,14 @@ public class AdminDealController {
     public Deal reassignDeal(
             @PathVariable Long id,
             @RequestBody Map<String, Object> payload,
-            @RequestParam(required = false) Long requestorId) {
+            @RequestParam(required = false) Long requestorId,
+            @CurrentRequestor Requestor requestor) {
 
         Deal deal = dealRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Deal not found"));
 
         // Security Check
         if (requestorId != null) {
-            User requestor = userRepository.findById(requestorId).orElse(null);
             if (requestor != null) {
                 boolean isGlobalAdmin = requestor.isAdminTypeGlobal();
                 boolean isSameOrg = requestor.getOrganizationName() != null &&
@@ -388,7 +465,6 @@ public class AdminDealController {
 
         // Verify destination org if not global admin
         if (requestorId != null) {
-            User requestor = userRepository.findById(requestorId).orElse(null);
             if (requestor != null && !requestor.isAdminTypeGlobal()) {
                 if (requestor.getOrganizationName() == null
                         || !requestor.getOrganizationName().equals(newSalesExec.getOrganizationName())) {
@@ -401,7 +477,7 @@ public class AdminDealController {
         deal.setUser(newSalesExec);
         deal.setUpdatedAt(LocalDateTime.now());
 
-        Deal savedDeal = dealRepository.save(deal);
+        Deal savedDeal = incentiveRollupService.saveDeal(deal, oldUser != null ? oldUser.getId() : null);
 
         // Notify new assignee
         org.example.salesincentivesystem.entity.Notification notification = new org.example.salesincentivesystem.entity.Notification();
@@ -431,14 +507,14 @@ public class AdminDealController {
     @GetMapping("/{id}")
     public Deal getDealById(
             @PathVariable Long id,
-            @RequestParam(required = false) Long requestorId) {
+            @RequestParam(required = false) Long requestorId,
+            @CurrentRequestor Requestor requestor) {
 
         Deal deal = dealRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Deal not found"));
 
         // Security Check
         if (requestorId != null) {
-            User requestor = userRepository.findById(requestorId).orElse(null);
             if (requestor != null) {
                 boolean isGlobalAdmin = requestor.isAdminTypeGlobal();
                 boolean isSameOrg = requestor.getOrganizationName() != null &&
@@ -1,5 +1,8 @@
 package org.example.salesincentivesystem.controller;
 
+import org.example.salesincentivesystem.config.CurrentRequestor;
+import org.example.salesincentivesystem.dto.CursorPage;
+import org.example.salesincentivesystem.dto.Requestor;
 import org.example.salesincentivesystem.service.AuditLogService;
 import org.springframework.web.bind.annotation.*;
 
@@ -10,37 +13,22 @@ import java.util.List;
 public class AuditLogController {
 
     private final AuditLogService auditLogService;
-    private final org.example.salesincentivesystem.repository.UserRepository userRepository;
 
-    public AuditLogController(AuditLogService auditLogService,
-            org.example.salesincentivesystem.repository.UserRepository userRepository) {
+    public AuditLogController(AuditLogService auditLogService) {
         this.auditLogService = auditLogService;
-        this.userRepository = userRepository;
     }
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     @GetMapping
     public List<org.example.salesincentivesystem.entity.AuditLog> getAllLogs(
-            @RequestParam(required = false) Long requestorId) {
-        String orgName = null;
-        if (requestorId != null) {
-            orgName = userRepository.findById(requestorId)
-                    .map(org.example.salesincentivesystem.entity.User::getOrganizationName)
-                    .orElse(null);
-
-            // SECURITY: If not global admin, must filter by org
-            boolean isGlobalAdmin = userRepository.findById(requestorId)
-                    .map(org.example.salesincentivesystem.entity.User::isAdminTypeGlobal)
-                    .orElse(false);
-
-            if (!isGlobalAdmin && orgName == null) {
-                return java.util.Collections.emptyList();
-            }
-
-            if (!isGlobalAdmin) {
-                return auditLogService.getAllLogs(orgName);
-            }
+            @RequestParam(required = false) Long requestorId,
+            @CurrentRequestor Requestor requestor) {
+        String[] scope = resolveOrgScope(requestorId, requestor);
+        if (scope == null) {
+            return java.util.Collections.emptyList();
         }
-        return auditLogService.getAllLogs(null);
+        return auditLogService.getAllLogs(scope[0]);
     }
 
     @GetMapping("/search")
@@ -49,25 +37,58 @@ public class AuditLogController {
             @RequestParam(required = false) String email,
             @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime startDate,
             @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime endDate,
-            @RequestParam(required = false) Long requestorId) {
-
-        String orgName = null;
-        if (requestorId != null) {
-            orgName = userRepository.findById(requestorId)
-                    .map(org.example.salesincentivesystem.entity.User::getOrganizationName)
-                    .orElse(null);
+            @RequestParam(required = false) Long requestorId,
+            @CurrentRequestor Requestor requestor) {
+        String[] scope = resolveOrgScope(requestorId, requestor);
+        if (scope == null) {
+            return java.util.Collections.emptyList();
+        }
+        return auditLogService.searchLogs(scope[0], action, email, startDate, endDate);
+    }
 
-            boolean isGlobalAdmin = userRepository.findById(requestorId)
-                    .map(org.example.salesincentivesystem.entity.User::isAdminTypeGlobal)
-                    .orElse(false);
+    /**
+     * Keyset-paginated variant of {@link #searchLogs}, newest first.
+     * Pass the returned nextCursor back as {@code cursor} to fetch the next page.
+     */
+    @GetMapping("/search/page")
+    public org.springframework.http.ResponseEntity<?> searchLogsPage(
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime startDate,
+            @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Long requestorId,
+            @CurrentRequestor Requestor requestor) {
+        CursorPage.Cursor after;
+        try {
+            after = CursorPage.decodeCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            return org.springframework.http.ResponseEntity.badRequest().body(e.getMessage());
+        }
 
-            if (!isGlobalAdmin) {
-                if (orgName == null)
-                    return java.util.Collections.emptyList();
-                return auditLogService.searchLogs(orgName, action, email, startDate, endDate);
-            }
+        String[] scope = resolveOrgScope(requestorId, requestor);
+        if (scope == null) {
+            return org.springframework.http.ResponseEntity.ok(new CursorPage<>(java.util.Collections.emptyList(), null));
         }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return org.springframework.http.ResponseEntity.ok(
+                auditLogService.searchLogsPage(scope[0], action, email, startDate, endDate, after, pageSize));
+    }
 
-        return auditLogService.searchLogs(null, action, email, startDate, endDate);
+    /**
+     * Returns {orgName} to filter by ({null} = all orgs, for global admins and
+     * callers without a requestorId), or null if the requestor may see nothing.
+     */
+    private String[] resolveOrgScope(Long requestorId, Requestor requestor) {
+        if (requestorId == null) {
+            return new String[] { null };
+        }
+        if (requestor != null && requestor.isAdminTypeGlobal()) {
+            return new String[] { null };
+        }
+        // SECURITY: If not global admin, must filter by org
+        String orgName = requestor != null ? requestor.getOrganizationName() : null;
+        return orgName != null ? new String[] { orgName } : null;
     }
 }
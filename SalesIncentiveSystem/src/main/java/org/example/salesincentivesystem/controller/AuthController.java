@@ -14,30 +14,33 @@ import java.util.Optional;
 public class AuthController {
 
         private final UserRepository userRepository;
-        private final org.example.salesincentivesystem.repository.AuditLogRepository auditLogRepository;
+        private final org.example.salesincentivesystem.service.AuditLogService auditLogService;
         private final org.example.salesincentivesystem.repository.SalesProfileRepository salesProfileRepository;
         private final org.example.salesincentivesystem.repository.UserPreferenceRepository userPreferenceRepository;
         private final org.example.salesincentivesystem.repository.SalesPerformanceRepository salesPerformanceRepository;
         private final org.example.salesincentivesystem.service.EmailService emailService;
         private final org.example.salesincentivesystem.service.InvitationService invitationService;
         private final org.example.salesincentivesystem.repository.DealRepository dealRepository;
+        private final org.example.salesincentivesystem.service.IncentiveRollupService incentiveRollupService;
 
         public AuthController(UserRepository userRepository,
-                        org.example.salesincentivesystem.repository.AuditLogRepository auditLogRepository,
+                        org.example.salesincentivesystem.service.AuditLogService auditLogService,
                         org.example.salesincentivesystem.repository.SalesProfileRepository salesProfileRepository,
                         org.example.salesincentivesystem.repository.UserPreferenceRepository userPreferenceRepository,
                         org.example.salesincentivesystem.repository.SalesPerformanceRepository salesPerformanceRepository,
                         org.example.salesincentivesystem.service.EmailService emailService,
                         org.example.salesincentivesystem.service.InvitationService invitationService,
-                        org.example.salesincentivesystem.repository.DealRepository dealRepository) {
+                        org.example.salesincentivesystem.repository.DealRepository dealRepository,
+                        org.example.salesincentivesystem.service.IncentiveRollupService incentiveRollupService) {
                 this.userRepository = userRepository;
-                this.auditLogRepository = auditLogRepository;
+                this.auditLogService = auditLogService;
                 this.salesProfileRepository = salesProfileRepository;
                 this.userPreferenceRepository = userPreferenceRepository;
                 this.salesPerformanceRepository = salesPerformanceRepository;
                 this.emailService = emailService;
                 this.invitationService = invitationService;
                 this.dealRepository = dealRepository;
+                this.incentiveRollupService = incentiveRollupService;
         }
 
         @PostMapping("/login")
@@ -54,7 +57,7 @@ public class AuthController {
 
                         // Check Account Status
                         if ("LOCKED".equals(user.getAccountStatus()) || "DISABLED".equals(user.getAccountStatus())) {
-                                auditLogRepository.save(new org.example.salesincentivesystem.entity.AuditLog(
+                                auditLogService.record(new org.example.salesincentivesystem.entity.AuditLog(
                                                 user.getId(), email,
                                                 "LOGIN_FAIL_" + user.getAccountStatus(), ipAddress));
                                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -62,7 +65,7 @@ public class AuthController {
                         }
 
                         if (user.getPassword().equals(password)) {
-                                auditLogRepository.save(new org.example.salesincentivesystem.entity.AuditLog(
+                                auditLogService.record(new org.example.salesincentivesystem.entity.AuditLog(
                                                 user.getId(), email,
                                                 "LOGIN_SUCCESS", ipAddress));
 
@@ -112,7 +115,7 @@ public class AuthController {
 
                                 return ResponseEntity.ok(response);
                         } else {
-                                auditLogRepository.save(new org.example.salesincentivesystem.entity.AuditLog(
+                                auditLogService.record(new org.example.salesincentivesystem.entity.AuditLog(
                                                 user.getId(), email,
                                                 "LOGIN_FAIL_BAD_CREDENTIALS", ipAddress));
                                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid email or password");
@@ -167,7 +170,7 @@ public class AuthController {
                         perf.setPerformanceRating(0.0);
                         salesPerformanceRepository.save(perf);
 
-                        auditLogRepository.save(
+                        auditLogService.record(
                                         new org.example.salesincentivesystem.entity.AuditLog(savedUser.getId(), email,
                                                         "REGISTER_SUCCESS", ipAddress));
 
@@ -253,7 +256,7 @@ public class AuthController {
                         perf.setPerformanceRating(0.0);
                         salesPerformanceRepository.save(perf);
 
-                        auditLogRepository.save(new org.example.salesincentivesystem.entity.AuditLog(
+                        auditLogService.record(new org.example.salesincentivesystem.entity.AuditLog(
                                         savedUser.getId(), email, "INVITE_ACCEPTED", "127.0.0.1"));
 
                         // Auto-assign deal if specified in invitation
@@ -263,10 +266,12 @@ public class AuthController {
                                                         .findById(invite.getAssignedDealId());
                                         if (dealOpt.isPresent()) {
                                                 org.example.salesincentivesystem.entity.Deal deal = dealOpt.get();
+                                                Long previousUserId = deal.getUser() != null ? deal.getUser().getId()
+                                                                : null;
                                                 deal.setUser(savedUser);
                                                 deal.setStatus("ASSIGNED");
                                                 deal.setUpdatedAt(java.time.LocalDateTime.now());
-                                                dealRepository.save(deal);
+                                                incentiveRollupService.saveDeal(deal, previousUserId);
 
                                                 // Update Onboarding for the inviter (Admin)
                                                 if (invite.getInvitedBy() != null) {
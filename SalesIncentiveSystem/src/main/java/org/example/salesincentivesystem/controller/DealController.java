@@ -1,8 +1,11 @@
 package org.example.salesincentivesystem.controller;
 
+import org.example.salesincentivesystem.dto.DealListItem;
 import org.example.salesincentivesystem.entity.Deal;
 import org.example.salesincentivesystem.repository.DealRepository;
+import org.example.salesincentivesystem.repository.DealSpecifications;
 import org.example.salesincentivesystem.repository.UserRepository;
+import org.example.salesincentivesystem.service.IncentiveRollupService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,10 +18,13 @@ public class DealController {
 
     private final DealRepository dealRepository;
     private final UserRepository userRepository;
+    private final IncentiveRollupService incentiveRollupService;
 
-    public DealController(DealRepository dealRepository, UserRepository userRepository) {
+    public DealController(DealRepository dealRepository, UserRepository userRepository,
+            IncentiveRollupService incentiveRollupService) {
         this.dealRepository = dealRepository;
         this.userRepository = userRepository;
+        this.incentiveRollupService = incentiveRollupService;
     }
 
     // ✅ POST - Create a new deal
@@ -46,7 +52,7 @@ public class DealController {
                 });
             }
 
-            Deal savedDeal = dealRepository.save(deal);
+            Deal savedDeal = incentiveRollupService.saveDeal(deal);
             return ResponseEntity.ok(savedDeal);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -55,7 +61,7 @@ public class DealController {
 
     // ✅ GET - fetch deal history (Enhanced for Data Isolation)
     @GetMapping
-    public List<Deal> getAllDeals(
+    public List<DealListItem> getAllDeals(
             @RequestParam(required = false) Long userId,
             @RequestParam(required = false) Long requestorId) {
 
@@ -83,9 +89,7 @@ public class DealController {
                     && orgName.equals(targetUser.getOrganizationName());
 
             if (isSelf || isGlobalAdmin || isSameOrg) {
-                return dealRepository.findAll().stream()
-                        .filter(d -> d.getUser() != null && d.getUser().getId().equals(userId))
-                        .collect(java.util.stream.Collectors.toList());
+                return listDeals(DealSpecifications.assignedTo(userId));
             } else {
                 return java.util.Collections.emptyList();
             }
@@ -95,21 +99,23 @@ public class DealController {
 
         // 3a. Global Admin -> All Deals
         if ("ADMIN".equals(role) && requestor.isAdminTypeGlobal()) {
-            return dealRepository.findAll();
+            return listDeals(null);
         }
 
         // 3b. Org Admin OR Sales Rep -> Org Deals
         if (orgName != null) {
-            return dealRepository.findByUser_OrganizationName(orgName);
+            return listDeals(DealSpecifications.inOrganization(orgName));
         } else {
             // Fallback for users with no org: only their own deals
-            final Long finalRequestorId = requestorId;
-            return dealRepository.findAll().stream()
-                    .filter(d -> d.getUser() != null && d.getUser().getId().equals(finalRequestorId))
-                    .collect(java.util.stream.Collectors.toList());
+            return listDeals(DealSpecifications.assignedTo(requestorId));
         }
     }
 
+    // Lean rows for list views; single-deal endpoints still return the entity
+    private List<DealListItem> listDeals(org.springframework.data.jpa.domain.Specification<Deal> spec) {
+        return dealRepository.findListItems(spec, org.springframework.data.domain.Sort.unsorted(), 0);
+    }
+
     // ✅ PATCH - update status (Approve/Reject)
     @PatchMapping("/{id}/status")
     public ResponseEntity<Deal> updateDealStatus(
@@ -158,7 +164,7 @@ public class DealController {
                 }
             }
 
-            return ResponseEntity.ok(dealRepository.save(deal));
+            return ResponseEntity.ok(incentiveRollupService.saveDeal(deal));
         }).orElse(ResponseEntity.notFound().build());
     }
 }
@@ -18,7 +18,7 @@ public class EmailTestController {
     public String sendTestEmail(@RequestParam String to) {
         try {
             emailService.sendWelcomeEmail(to, "Test User");
-            return "Test email sent successfully via SendGrid to: " + to;
+            return "Test email queued for: " + to;
         } catch (Exception e) {
             e.printStackTrace();
             return "Failed to send email: " + e.getMessage();
@@ -5,6 +5,7 @@ import org.example.salesincentivesystem.service.LeaderboardService;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/leaderboard")
@@ -22,27 +23,59 @@ public class LeaderboardController {
     @GetMapping
     public List<LeaderboardEntry> getLeaderboard(
             @RequestParam(defaultValue = "THIS_MONTH") String period,
+            @RequestParam(required = false) Integer limit,
             @RequestParam(required = false) Long requestorId) {
 
+        return inRequestorScope(requestorId, List.of(), orgName -> limit != null
+                ? leaderboardService.getTop(period, orgName, Math.max(0, limit))
+                : leaderboardService.getLeaderboard(period, orgName));
+    }
+
+    @GetMapping("/rank")
+    public Map<String, Object> getRank(
+            @RequestParam Long userId,
+            @RequestParam(defaultValue = "THIS_MONTH") String period,
+            @RequestParam(required = false) Long requestorId) {
+
+        return inRequestorScope(requestorId, Map.of(), orgName -> Map.of(
+                "userId", userId,
+                "period", period,
+                "rank", leaderboardService.getRank(userId, period, orgName),
+                "rankedCount", leaderboardService.getRankedCount(period, orgName)));
+    }
+
+    @GetMapping("/neighbours")
+    public List<LeaderboardEntry> getNeighbours(
+            @RequestParam Long userId,
+            @RequestParam(defaultValue = "THIS_MONTH") String period,
+            @RequestParam(defaultValue = "2") int radius,
+            @RequestParam(required = false) Long requestorId) {
+
+        return inRequestorScope(requestorId, List.of(),
+                orgName -> leaderboardService.getNeighbours(period, orgName, userId, Math.max(0, radius)));
+    }
+
+    /**
+     * Runs the query scoped to the requestor: global stats for Super Admins,
+     * their own org otherwise. Non-global users with no organization assigned
+     * (or unknown requestors) get the empty fallback.
+     */
+    private <T> T inRequestorScope(Long requestorId, T empty, java.util.function.Function<String, T> query) {
         if (requestorId == null) {
-            return java.util.List.of();
+            return empty;
         }
 
         return userRepository.findById(requestorId)
                 .map(user -> {
                     if (user.isAdminTypeGlobal()) {
-                        // Global stats for Super Admins
-                        return leaderboardService.getLeaderboard(period, null);
-                    } else {
-                        String orgName = user.getOrganizationName();
-                        if (orgName == null || orgName.trim().isEmpty()) {
-                            // Non-global users with no organization assigned should see an empty
-                            // leaderboard
-                            return java.util.List.<LeaderboardEntry>of();
-                        }
-                        return leaderboardService.getLeaderboard(period, orgName);
+                        return query.apply(null);
+                    }
+                    String orgName = user.getOrganizationName();
+                    if (orgName == null || orgName.trim().isEmpty()) {
+                        return empty;
                     }
+                    return query.apply(orgName);
                 })
-                .orElse(java.util.List.of());
+                .orElse(empty);
     }
 }
@@ -1,9 +1,13 @@
 package org.example.salesincentivesystem.controller;
 
+import org.example.salesincentivesystem.config.CurrentRequestor;
+import org.example.salesincentivesystem.dto.Requestor;
 import org.example.salesincentivesystem.entity.Notification;
 import org.example.salesincentivesystem.entity.User;
 import org.example.salesincentivesystem.repository.NotificationRepository;
 import org.example.salesincentivesystem.repository.UserRepository;
+import org.example.salesincentivesystem.service.NotificationBroadcastService;
+import org.example.salesincentivesystem.service.RequestorService;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -14,19 +18,22 @@ public class NotificationController {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
-    private final org.example.salesincentivesystem.service.AuditLogService auditLogService;
+    private final NotificationBroadcastService broadcastService;
+    private final RequestorService requestorService;
 
     public NotificationController(NotificationRepository notificationRepository, UserRepository userRepository,
-            org.example.salesincentivesystem.service.AuditLogService auditLogService) {
+            NotificationBroadcastService broadcastService, RequestorService requestorService) {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
-        this.auditLogService = auditLogService;
+        this.broadcastService = broadcastService;
+        this.requestorService = requestorService;
     }
 
     @GetMapping
     public List<Notification> getUserNotifications(
             @RequestParam(required = false) Long userId,
-            @RequestParam(required = false) Long requestorId) {
+            @RequestParam(required = false) Long requestorId,
+            @CurrentRequestor Requestor requestor) {
 
         // If userId is missing, default to requestorId (Self-service)
         Long effectiveUserId = userId != null ? userId : requestorId;
@@ -38,8 +45,7 @@ public class NotificationController {
         // Security Check: Self-only or Admin check
         if (requestorId != null && !requestorId.equals(effectiveUserId)) {
             // Check if requestor is admin of same org
-            User requestor = java.util.Optional.ofNullable(requestorId).flatMap(userRepository::findById).orElse(null);
-            User target = java.util.Optional.ofNullable(effectiveUserId).flatMap(userRepository::findById).orElse(null);
+            Requestor target = requestorService.find(effectiveUserId).orElse(null);
             if (requestor == null || target == null)
                 return java.util.Collections.emptyList();
 
@@ -60,7 +66,8 @@ public class NotificationController {
     @PostMapping
     public Notification createNotification(
             @RequestBody NotificationRequest request,
-            @RequestParam(required = false) Long requestorId) {
+            @RequestParam(required = false) Long requestorId,
+            @CurrentRequestor Requestor requestor) {
 
         if (request.userId == null) {
             throw new RuntimeException("userId is required");
@@ -71,7 +78,6 @@ public class NotificationController {
 
         // Permission Check: Global Admin OR same Org Admin
         if (requestorId != null) {
-            User requestor = userRepository.findById(requestorId).orElse(null);
             if (requestor == null)
                 throw new RuntimeException("Forbidden");
 
@@ -138,16 +144,20 @@ public class NotificationController {
         notificationRepository.saveAll(notifications);
     }
 
+    /**
+     * Sends to one user synchronously; group broadcasts (ALL or a role) run in the
+     * background and return a job to poll via {@link #getBroadcastJob}.
+     */
     @PostMapping("/broadcast")
-    public void broadcastNotification(
+    public NotificationBroadcastService.BroadcastJob broadcastNotification(
             @RequestBody BroadcastRequest request,
-            @RequestParam(required = false) Long requestorId) {
+            @RequestParam(required = false) Long requestorId,
+            @CurrentRequestor Requestor requestor) {
 
         String requestorOrg = null;
         boolean isGlobalAdmin = false;
 
         if (requestorId != null) {
-            User requestor = userRepository.findById(requestorId).orElse(null);
             if (requestor != null) {
                 requestorOrg = requestor.getOrganizationName();
                 isGlobalAdmin = requestor.isAdminTypeGlobal();
@@ -157,6 +167,9 @@ public class NotificationController {
         System.out.println(
                 "DEBUG: Broadcast initiated. RequestorOrg=" + requestorOrg + ", TargetRole=" + request.targetRole);
 
+        String notifType = request.type != null && !request.type.isEmpty() ? request.type : "ANNOUNCEMENT";
+        String finalTitle = request.title.startsWith("ADMIN: ") ? request.title : "ADMIN: " + request.title;
+
         if ("USER".equalsIgnoreCase(request.targetRole) && request.targetUserId != null) {
             // Target specific user
             User targetUser = userRepository.findById(request.targetUserId)
@@ -167,51 +180,36 @@ public class NotificationController {
                 throw new RuntimeException("Access Denied: Cross-org broadcast");
             }
 
-            String notifType = request.type != null && !request.type.isEmpty() ? request.type : "ANNOUNCEMENT";
-            String finalTitle = request.title.startsWith("ADMIN: ") ? request.title : "ADMIN: " + request.title;
-
             Notification n = new Notification(targetUser, notifType, finalTitle, request.message);
             notificationRepository.save(n);
-        } else {
-            // Target Group (ALL or Role)
-            List<User> targetUsers;
-            final String finalRequestorOrg = requestorOrg;
-            final boolean finalIsGlobalAdmin = isGlobalAdmin;
-
-            if ("ALL".equalsIgnoreCase(request.targetRole)) {
-                targetUsers = userRepository.findAll().stream()
-                        .filter(u -> finalIsGlobalAdmin
-                                || (finalRequestorOrg != null && finalRequestorOrg.equals(u.getOrganizationName())))
-                        .collect(java.util.stream.Collectors.toList());
-            } else {
-                String targetRoleNormalized = request.targetRole.toUpperCase();
-                targetUsers = userRepository.findAll().stream()
-                        .filter(u -> u.getRole() != null && targetRoleNormalized.equals(u.getRole().toUpperCase()))
-                        .filter(u -> finalIsGlobalAdmin
-                                || (finalRequestorOrg != null && finalRequestorOrg.equals(u.getOrganizationName())))
-                        .collect(java.util.stream.Collectors.toList());
-            }
+            return null;
+        }
 
-            System.out.println("DEBUG: Found " + targetUsers.size() + " target users for broadcast within org.");
-
-            String notifType = request.type != null && !request.type.isEmpty() ? request.type : "ANNOUNCEMENT";
-
-            targetUsers.forEach(u -> {
-                String finalTitle = request.title.startsWith("ADMIN: ") ? request.title : "ADMIN: " + request.title;
-                Notification n = new Notification(u, notifType, finalTitle, request.message);
-                notificationRepository.save(n);
-            });
-
-            // Audit Log for Bulk
-            auditLogService.logAction(
-                    requestorId,
-                    "ADMIN",
-                    "BROADCAST",
-                    "NOTIFICATION",
-                    0L,
-                    "Sent to Role: " + request.targetRole + " | Org: " + requestorOrg + " | Count: "
-                            + targetUsers.size());
+        // Target Group (ALL or Role): global admins reach every org, others only their own
+        if (!isGlobalAdmin && requestorOrg == null) {
+            throw new RuntimeException("Access Denied: Requestor has no organization");
+        }
+        return broadcastService.start(requestorId, isGlobalAdmin ? null : requestorOrg,
+                request.targetRole, notifType, finalTitle, request.message);
+    }
+
+    @GetMapping("/broadcast/{jobId}")
+    public org.springframework.http.ResponseEntity<NotificationBroadcastService.BroadcastJob> getBroadcastJob(
+            @PathVariable String jobId,
+            @RequestParam(required = false) Long requestorId,
+            @CurrentRequestor Requestor requestor) {
+        if (requestor == null) {
+            return org.springframework.http.ResponseEntity.status(403).build();
+        }
+        NotificationBroadcastService.BroadcastJob job = broadcastService.getJob(jobId);
+        // Global admins see every job, others only jobs for their own org
+        boolean visible = job != null && (requestor.isAdminTypeGlobal()
+                || (job.getOrganizationName() != null
+                        && job.getOrganizationName().equals(requestor.getOrganizationName())));
+        if (!visible) {
+            return org.springframework.http.ResponseEntity.notFound().build();
         }
+        return org.springframework.http.ResponseEntity.ok(job);
     }
 
     public static class BroadcastRequest {
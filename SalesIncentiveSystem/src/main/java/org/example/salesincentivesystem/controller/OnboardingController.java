@@ -15,20 +15,14 @@ public class OnboardingController {
 
     private final OnboardingService onboardingService;
     private final UserRepository userRepository;
-    private final org.example.salesincentivesystem.repository.SalesProfileRepository salesProfileRepository;
-    private final org.example.salesincentivesystem.repository.UserPreferenceRepository userPreferenceRepository;
-    private final org.example.salesincentivesystem.repository.SalesPerformanceRepository salesPerformanceRepository;
+    private final org.example.salesincentivesystem.service.ProfileAggregateLoader profileAggregateLoader;
 
     public OnboardingController(OnboardingService onboardingService,
             UserRepository userRepository,
-            org.example.salesincentivesystem.repository.SalesProfileRepository salesProfileRepository,
-            org.example.salesincentivesystem.repository.UserPreferenceRepository userPreferenceRepository,
-            org.example.salesincentivesystem.repository.SalesPerformanceRepository salesPerformanceRepository) {
+            org.example.salesincentivesystem.service.ProfileAggregateLoader profileAggregateLoader) {
         this.onboardingService = onboardingService;
         this.userRepository = userRepository;
-        this.salesProfileRepository = salesProfileRepository;
-        this.userPreferenceRepository = userPreferenceRepository;
-        this.salesPerformanceRepository = salesPerformanceRepository;
+        this.profileAggregateLoader = profileAggregateLoader;
     }
 
     private User getAuthenticatedUser(HttpServletRequest request) {
@@ -86,28 +80,16 @@ public class OnboardingController {
             user.setOnboardingCompleted(true);
             User updatedUser = userRepository.save(user);
 
-            // Fetch related data to return complete user state
-            org.example.salesincentivesystem.entity.SalesProfile profile = salesProfileRepository
-                    .findAll().stream()
-                    .filter(p -> p.getUser().getId().equals(updatedUser.getId()))
-                    .findFirst().orElse(null);
-
-            org.example.salesincentivesystem.entity.UserPreference pref = userPreferenceRepository
-                    .findAll().stream()
-                    .filter(p -> p.getUser().getId().equals(updatedUser.getId()))
-                    .findFirst().orElse(null);
-
-            org.example.salesincentivesystem.entity.SalesPerformance perf = salesPerformanceRepository
-                    .findAll().stream()
-                    .filter(p -> p.getUser().getId().equals(updatedUser.getId()))
-                    .findFirst().orElse(null);
+            // Fetch related data to return complete user state (single joined query)
+            org.example.salesincentivesystem.service.ProfileAggregateLoader.ProfileAggregate aggregate = profileAggregateLoader
+                    .load(updatedUser.getId());
 
             // Return complete user data structure matching login/register response
             Map<String, Object> response = new java.util.HashMap<>();
             response.put("user", updatedUser);
-            response.put("profile", profile);
-            response.put("preferences", pref);
-            response.put("performance", perf);
+            response.put("profile", aggregate != null ? aggregate.getSalesProfile() : null);
+            response.put("preferences", aggregate != null ? aggregate.getPreference() : null);
+            response.put("performance", aggregate != null ? aggregate.getPerformance() : null);
             response.put("onboardingCompleted", updatedUser.getOnboardingCompleted());
 
             return ResponseEntity.ok(response);
@@ -1,141 +1,194 @@
 package org.example.salesincentivesystem.controller;
 
+import org.example.salesincentivesystem.config.CurrentRequestor;
+import org.example.salesincentivesystem.dto.DealListItem;
+import org.example.salesincentivesystem.dto.Requestor;
 import org.example.salesincentivesystem.entity.Deal;
-import org.example.salesincentivesystem.entity.User;
 import org.example.salesincentivesystem.repository.DealRepository;
+import org.example.salesincentivesystem.repository.DealSpecifications;
+import org.example.salesincentivesystem.service.DealExportService;
+import org.example.salesincentivesystem.service.PayoutRunService;
+import org.example.salesincentivesystem.service.PayoutSummaryService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/payouts")
 public class PayoutController {
 
     private final DealRepository dealRepository;
-    private final org.example.salesincentivesystem.repository.UserRepository userRepository;
+    private final PayoutSummaryService payoutSummaryService;
+    private final PayoutRunService payoutRunService;
+    private final DealExportService dealExportService;
 
     public PayoutController(DealRepository dealRepository,
-            org.example.salesincentivesystem.repository.UserRepository userRepository) {
+            PayoutSummaryService payoutSummaryService,
+            PayoutRunService payoutRunService,
+            DealExportService dealExportService) {
         this.dealRepository = dealRepository;
-        this.userRepository = userRepository;
+        this.payoutSummaryService = payoutSummaryService;
+        this.payoutRunService = payoutRunService;
+        this.dealExportService = dealExportService;
     }
 
     // GET /payouts?status=PENDING
     @GetMapping
-    public List<Deal> getPayouts(
+    public List<DealListItem> getPayouts(
             @RequestParam(required = false, defaultValue = "PENDING") String status,
-            @RequestParam(required = false) Long requestorId) {
+            @RequestParam(required = false) Long requestorId,
+            @CurrentRequestor Requestor requestor) {
 
-        List<Deal> deals;
+        Specification<Deal> scope = null;
         if (requestorId != null) {
-            User requestor = userRepository.findById(requestorId).orElse(null);
             if (requestor == null)
                 return java.util.Collections.emptyList();
 
             boolean isGlobalAdmin = requestor.isAdminTypeGlobal();
-            if (isGlobalAdmin) {
-                deals = dealRepository.findAll();
-            } else if (requestor.getOrganizationName() != null) {
-                deals = dealRepository.findByUser_OrganizationName(requestor.getOrganizationName());
-            } else {
-                return java.util.Collections.emptyList();
+            if (!isGlobalAdmin) {
+                if (requestor.getOrganizationName() == null) {
+                    return java.util.Collections.emptyList();
+                }
+                scope = DealSpecifications.inOrganization(requestor.getOrganizationName());
+            }
+        }
+
+        // Only approved deals are payable
+        Specification<Deal> spec = DealSpecifications.hasStatus("Approved")
+                .and(DealSpecifications.hasPayoutStatus(status))
+                .and(scope);
+        return dealRepository.findListItems(spec, Sort.unsorted(), 0);
+    }
+
+    // GET /payouts/export?status=PENDING&format=csv - streamed version of getPayouts for finance
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPayouts(
+            @RequestParam(required = false, defaultValue = "PENDING") String status,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Long requestorId,
+            @CurrentRequestor Requestor requestor) {
+
+        DealExportService.Format exportFormat;
+        try {
+            exportFormat = DealExportService.Format.from(format);
+        } catch (IllegalArgumentException e) {
+            byte[] message = e.getMessage().getBytes(java.nio.charset.StandardCharsets.UTF_8);
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(out -> out.write(message));
+        }
+        DealExportService.Filter filter = new DealExportService.Filter();
+        filter.status = "Approved";
+        filter.payoutStatus = status;
+        // Same rule as exportDeals: a bulk export is never unscoped, so no requestor means no file
+        if (requestorId == null || requestor == null)
+            return ResponseEntity.status(org.springframework.http.HttpStatus.FORBIDDEN).build();
+        if (!requestor.isAdminTypeGlobal()) {
+            if (requestor.getOrganizationName() == null) {
+                return ResponseEntity.status(org.springframework.http.HttpStatus.FORBIDDEN).build();
             }
-        } else {
-            deals = dealRepository.findAll();
+            filter.assigneeOrganization = requestor.getOrganizationName();
         }
 
-        return deals.stream()
-                .filter(d -> "Approved".equalsIgnoreCase(d.getStatus())) // Only approved deals are payable
-                .filter(d -> {
-                    String pStatus = d.getPayoutStatus() == null ? "PENDING" : d.getPayoutStatus();
-                    return status.equalsIgnoreCase(pStatus);
-                })
-                .collect(Collectors.toList());
+        StreamingResponseBody body = out -> dealExportService.export(filter, exportFormat, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"payouts-" + status.replaceAll("[^A-Za-z]", "").toLowerCase() + "-"
+                        + java.time.LocalDate.now() + "." + exportFormat.getExtension() + "\"")
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
     }
 
     @PostMapping("/mark-paid")
-    public List<Deal> markAsPaid(
+    public ResponseEntity<?> markAsPaid(
             @RequestBody List<Long> dealIds,
-            @RequestParam(required = false) Long requestorId) {
+            @RequestParam(required = false) Long requestorId,
+            @CurrentRequestor Requestor requestor) {
 
         if (dealIds == null || dealIds.isEmpty()) {
-            return java.util.Collections.emptyList();
+            return ResponseEntity.ok(java.util.Collections.emptyList());
         }
-        List<Deal> deals = dealRepository.findAllById(dealIds);
-
-        // Security Check: Ensure all deals belong to the requestor's org
-        if (requestorId != null) {
-            User requestor = userRepository.findById(requestorId).orElse(null);
-            if (requestor == null)
-                throw new RuntimeException("Forbidden");
 
-            if (!requestor.isAdminTypeGlobal()) {
-                String orgName = requestor.getOrganizationName();
-                boolean allInOrg = deals.stream()
-                        .allMatch(d -> d.getUser() != null && orgName.equals(d.getUser().getOrganizationName()));
-                if (!allInOrg)
-                    throw new RuntimeException("Access denied: Cross-org payout action");
-            }
+        String orgName = resolvePayoutOrg(requestorId, requestor);
+        Specification<Deal> requested = DealSpecifications.idIn(dealIds);
+        if (orgName != null && dealRepository.count(requested.and(DealSpecifications.inOrganization(orgName)))
+                < dealRepository.count(requested)) {
+            return ResponseEntity.status(org.springframework.http.HttpStatus.FORBIDDEN)
+                    .body("Access denied: Cross-org payout action");
         }
+        payoutRunService.execute(java.util.UUID.randomUUID().toString(), dealIds, orgName, requestorId);
+        // Scoped again: a deal moved to another org meanwhile was not paid and is not returned
+        return ResponseEntity.ok(
+                dealRepository.findAll(requested.and(DealSpecifications.inOrganization(orgName))));
+    }
 
-        java.time.LocalDate today = java.time.LocalDate.now();
+    /**
+     * Idempotent payout run: retrying with the same idempotencyKey returns the
+     * original run summary without paying anything twice. Reusing the key for a
+     * different set of deals is a 409.
+     */
+    @PostMapping("/runs")
+    public org.springframework.http.ResponseEntity<?> createPayoutRun(
+            @RequestBody PayoutRunRequest request,
+            @RequestParam(required = false) Long requestorId,
+            @CurrentRequestor Requestor requestor) {
+        if (request.idempotencyKey == null || request.idempotencyKey.isBlank()) {
+            return org.springframework.http.ResponseEntity.badRequest().body("idempotencyKey is required");
+        }
+        if (request.dealIds == null || request.dealIds.isEmpty()) {
+            return org.springframework.http.ResponseEntity.badRequest().body("dealIds is required");
+        }
 
-        deals.forEach(d -> {
-            d.setPayoutStatus("PAID");
-            d.setPayoutDate(today);
-        });
+        String orgName = resolvePayoutOrg(requestorId, requestor);
+        try {
+            return org.springframework.http.ResponseEntity.ok(
+                    payoutRunService.execute(request.idempotencyKey, request.dealIds, orgName, requestorId));
+        } catch (PayoutRunService.IdempotencyKeyConflictException e) {
+            return org.springframework.http.ResponseEntity.status(409).body(e.getMessage());
+        }
+    }
 
-        return dealRepository.saveAll(deals);
+    // Org the requestor may pay out for; null means any org (global admin or no requestor)
+    private String resolvePayoutOrg(Long requestorId, Requestor requestor) {
+        if (requestorId == null) {
+            return null;
+        }
+        if (requestor == null)
+            throw new RuntimeException("Forbidden");
+        if (requestor.isAdminTypeGlobal()) {
+            return null;
+        }
+        if (requestor.getOrganizationName() == null)
+            throw new RuntimeException("Access denied: Cross-org payout action");
+        return requestor.getOrganizationName();
     }
 
     // GET /payouts/summary
     @GetMapping("/summary")
-    public Map<String, Object> getPayoutSummary(@RequestParam(required = false) Long requestorId) {
-        List<Deal> deals;
+    public Map<String, Object> getPayoutSummary(@RequestParam(required = false) Long requestorId,
+            @CurrentRequestor Requestor requestor) {
+        String orgName = null;
         if (requestorId != null) {
-            User requestor = userRepository.findById(requestorId).orElse(null);
             if (requestor == null)
                 return java.util.Collections.emptyMap();
 
-            if (requestor.isAdminTypeGlobal()) {
-                deals = dealRepository.findAll();
-            } else if (requestor.getOrganizationName() != null) {
-                deals = dealRepository.findByUser_OrganizationName(requestor.getOrganizationName());
-            } else {
-                return java.util.Collections.emptyMap();
+            if (!requestor.isAdminTypeGlobal()) {
+                if (requestor.getOrganizationName() == null) {
+                    return java.util.Collections.emptyMap();
+                }
+                orgName = requestor.getOrganizationName();
             }
-        } else {
-            deals = dealRepository.findAll();
         }
 
-        List<Deal> approved = deals.stream()
-                .filter(d -> "Approved".equalsIgnoreCase(d.getStatus()))
-                .collect(Collectors.toList());
-
-        double totalPending = approved.stream()
-                .filter(d -> {
-                    String s = d.getPayoutStatus() == null ? "PENDING" : d.getPayoutStatus();
-                    return "PENDING".equalsIgnoreCase(s);
-                })
-                .mapToDouble(Deal::getIncentive)
-                .sum();
-
-        double totalPaid = approved.stream()
-                .filter(d -> "PAID".equalsIgnoreCase(d.getPayoutStatus()))
-                .mapToDouble(Deal::getIncentive)
-                .sum();
-
-        long pendingCount = approved.stream()
-                .filter(d -> {
-                    String s = d.getPayoutStatus() == null ? "PENDING" : d.getPayoutStatus();
-                    return "PENDING".equalsIgnoreCase(s);
-                }).count();
-
-        return Map.of(
-                "totalPending", totalPending,
-                "totalPaid", totalPaid,
-                "pendingCount", pendingCount,
-                "paidCount", approved.stream().filter(d -> "PAID".equalsIgnoreCase(d.getPayoutStatus())).count());
+        // One GROUP BY query per org, cached until payouts or deals change
+        return payoutSummaryService.getSummary(orgName);
+    }
+
+    public static class PayoutRunRequest {
+        public String idempotencyKey;
+        public List<Long> dealIds;
     }
 }
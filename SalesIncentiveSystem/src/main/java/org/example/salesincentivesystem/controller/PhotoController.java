@@ -0,0 +1,53 @@
+package org.example.salesincentivesystem.controller;
+
+import org.example.salesincentivesystem.entity.ProfilePhoto;
+import org.example.salesincentivesystem.service.ProfilePhotoService;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/photos")
+public class PhotoController {
+
+    private final ProfilePhotoService profilePhotoService;
+
+    public PhotoController(ProfilePhotoService profilePhotoService) {
+        this.profilePhotoService = profilePhotoService;
+    }
+
+    // GET - photo bytes by hash. Content never changes for a hash, so clients may
+    // cache it forever; Range requests are answered with 206 by Spring MVC.
+    @GetMapping("/{hash}")
+    public ResponseEntity<Resource> getPhoto(@PathVariable String hash, WebRequest request) {
+        if (!ProfilePhotoService.isHash(hash)) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified("\"" + hash + "\"")) {
+            return null; // 304 already written
+        }
+
+        ProfilePhoto photo = profilePhotoService.find(hash).orElse(null);
+        if (photo == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // Type from the bytes, not the stored column: rows written before uploads
+        // were sniffed may claim anything, e.g. image/svg+xml
+        String contentType = ProfilePhotoService.sniffImageType(photo.getData());
+        if (contentType == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .eTag(hash)
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .header("X-Content-Type-Options", "nosniff")
+                .contentType(MediaType.parseMediaType(contentType))
+                .body(new ByteArrayResource(photo.getData()));
+    }
+}
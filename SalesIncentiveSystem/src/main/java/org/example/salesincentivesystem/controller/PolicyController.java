@@ -1,5 +1,7 @@
 package org.example.salesincentivesystem.controller;
 
+import org.example.salesincentivesystem.config.CurrentRequestor;
+import org.example.salesincentivesystem.dto.Requestor;
 import org.example.salesincentivesystem.entity.Policy;
 import org.example.salesincentivesystem.repository.PolicyRepository;
 import org.example.salesincentivesystem.repository.UserRepository;
@@ -24,14 +26,9 @@ public class PolicyController {
     @GetMapping
     public List<Policy> getActivePolicies(
             @RequestParam(required = false) String type,
-            @RequestParam(required = false) Long requestorId) {
+            @CurrentRequestor Requestor requestor) {
 
-        String orgName = null;
-        if (requestorId != null) {
-            orgName = userRepository.findById(requestorId)
-                    .map(org.example.salesincentivesystem.entity.User::getOrganizationName)
-                    .orElse(null);
-        }
+        String orgName = requestor != null ? requestor.getOrganizationName() : null;
 
         if (orgName != null) {
             if (type != null) {
@@ -52,14 +49,9 @@ public class PolicyController {
     @GetMapping("/admin")
     public List<Policy> getAllPolicies(
             @RequestParam(required = false) String type,
-            @RequestParam(required = false) Long requestorId) {
+            @CurrentRequestor Requestor requestor) {
 
-        String orgName = null;
-        if (requestorId != null) {
-            orgName = userRepository.findById(requestorId)
-                    .map(org.example.salesincentivesystem.entity.User::getOrganizationName)
-                    .orElse(null);
-        }
+        String orgName = requestor != null ? requestor.getOrganizationName() : null;
 
         if (orgName != null) {
             if (type != null) {
@@ -4,11 +4,11 @@ import org.example.salesincentivesystem.entity.User;
 import org.example.salesincentivesystem.repository.UserRepository;
 import org.example.salesincentivesystem.repository.SalesProfileRepository;
 import org.example.salesincentivesystem.repository.DealRepository;
+import org.example.salesincentivesystem.service.ProfileAggregateLoader;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/profile")
@@ -19,85 +19,74 @@ public class ProfileController {
     private final DealRepository dealRepository;
     private final org.example.salesincentivesystem.repository.UserPreferenceRepository userPreferenceRepository;
     private final org.example.salesincentivesystem.repository.SalesPerformanceRepository salesPerformanceRepository;
+    private final ProfileAggregateLoader profileAggregateLoader;
 
     public ProfileController(UserRepository userRepository,
             SalesProfileRepository salesProfileRepository,
             DealRepository dealRepository,
             org.example.salesincentivesystem.repository.UserPreferenceRepository userPreferenceRepository,
-            org.example.salesincentivesystem.repository.SalesPerformanceRepository salesPerformanceRepository) {
+            org.example.salesincentivesystem.repository.SalesPerformanceRepository salesPerformanceRepository,
+            ProfileAggregateLoader profileAggregateLoader) {
         this.userRepository = userRepository;
         this.salesProfileRepository = salesProfileRepository;
         this.dealRepository = dealRepository;
         this.userPreferenceRepository = userPreferenceRepository;
         this.salesPerformanceRepository = salesPerformanceRepository;
+        this.profileAggregateLoader = profileAggregateLoader;
     }
 
     @GetMapping("/me")
     public Map<String, Object> getMyProfile(@RequestParam Long userId) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        // User, profile, preference and performance in one query
+        ProfileAggregateLoader.ProfileAggregate aggregate = profileAggregateLoader.load(userId);
+        if (aggregate == null) {
+            throw new RuntimeException("User not found");
+        }
+        User user = aggregate.getUser();
         Map<String, Object> response = new HashMap<>();
 
         // 1. Basic User Info
         response.put("user", user);
 
         // 2. Sales Profile (Lazy Init)
-        org.example.salesincentivesystem.entity.SalesProfile profile = salesProfileRepository.findAll().stream()
-                .filter(p -> p.getUser().getId().equals(userId))
-                .findFirst()
-                .orElseGet(() -> {
-                    if ("SALES".equals(user.getRole())) {
-                        org.example.salesincentivesystem.entity.SalesProfile newProfile = new org.example.salesincentivesystem.entity.SalesProfile(
-                                user, "N/A", "General Sales", "EMP-" + user.getId(), java.time.LocalDate.now());
-                        return salesProfileRepository.save(newProfile);
-                    }
-                    return null;
-                });
+        org.example.salesincentivesystem.entity.SalesProfile profile = aggregate.getSalesProfile();
+        if (profile == null && "SALES".equals(user.getRole())) {
+            profile = salesProfileRepository.save(new org.example.salesincentivesystem.entity.SalesProfile(
+                    user, "N/A", "General Sales", "EMP-" + user.getId(), java.time.LocalDate.now()));
+        }
         response.put("salesProfile", profile);
 
         // 3. User Preferences (Lazy Init)
-        org.example.salesincentivesystem.entity.UserPreference pref = userPreferenceRepository.findAll().stream() // Ideally
-                                                                                                                  // findByUserId
-                .filter(p -> p.getUser().getId().equals(userId))
-                .findFirst()
-                .orElseGet(() -> {
-                    org.example.salesincentivesystem.entity.UserPreference newPref = new org.example.salesincentivesystem.entity.UserPreference(
-                            user, "LIGHT", "INR", "EN");
-                    return userPreferenceRepository.save(newPref);
-                });
         // We aren't returning preferences in main map yet, but good to ensure it exists
         // for other endpoints
+        if (aggregate.getPreference() == null) {
+            userPreferenceRepository.save(new org.example.salesincentivesystem.entity.UserPreference(
+                    user, "LIGHT", "INR", "EN"));
+        }
 
         // 4. Performance (Lazy Init)
         if ("SALES".equals(user.getRole())) {
-            salesPerformanceRepository.findAll().stream()
-                    .filter(p -> p.getUser().getId().equals(userId))
-                    .findFirst()
-                    .orElseGet(() -> {
-                        org.example.salesincentivesystem.entity.SalesPerformance newPerf = new org.example.salesincentivesystem.entity.SalesPerformance();
-                        newPerf.setUser(user);
-                        newPerf.setAchievements("Joined Team");
-                        newPerf.setCurrentMonthTarget(100000.0);
-                        newPerf.setPerformanceRating(0.0);
-                        return salesPerformanceRepository.save(newPerf);
-                    });
-
-            var deals = dealRepository.findAll().stream()
-                    .filter(d -> d.getUser() != null && d.getUser().getId().equals(userId))
-                    .collect(Collectors.toList());
+            if (aggregate.getPerformance() == null) {
+                org.example.salesincentivesystem.entity.SalesPerformance newPerf = new org.example.salesincentivesystem.entity.SalesPerformance();
+                newPerf.setUser(user);
+                newPerf.setAchievements("Joined Team");
+                newPerf.setCurrentMonthTarget(100000.0);
+                newPerf.setPerformanceRating(0.0);
+                salesPerformanceRepository.save(newPerf);
+            }
 
-            response.put("totalDeals", deals.size());
-            response.put("approvedDeals", deals.stream().filter(d -> "Approved".equals(d.getStatus())).count());
-            response.put("totalIncentive", deals.stream()
-                    .filter(d -> "Approved".equals(d.getStatus()))
-                    .mapToDouble(org.example.salesincentivesystem.entity.Deal::getIncentive)
-                    .sum());
+            // Deal stats from one aggregate query over this user's deals
+            DealRepository.RollupTotals totals = profileAggregateLoader.loadDealTotals(userId);
+            long totalDeals = totals.getDealCount() != null ? totals.getDealCount() : 0L;
+            response.put("totalDeals", (int) totalDeals);
+            response.put("approvedDeals", totals.getApprovedCount() != null ? totals.getApprovedCount() : 0L);
+            response.put("totalIncentive", totals.getIncentiveSum() != null ? totals.getIncentiveSum() : 0.0);
         }
 
         // 4. Admin Stats (if Admin)
         if ("ADMIN".equals(user.getRole())) {
             long totalUsers = userRepository.count();
-            long pendingDeals = dealRepository.findAll().stream().filter(d -> "Submitted".equals(d.getStatus()))
-                    .count();
+            long pendingDeals = dealRepository.countByStatus("Submitted");
 
             response.put("systemStats", Map.of(
                     "totalUsers", totalUsers,
@@ -1,7 +1,10 @@
 package org.example.salesincentivesystem.controller;
 
+import org.example.salesincentivesystem.config.CurrentRequestor;
+import org.example.salesincentivesystem.dto.Requestor;
 import org.example.salesincentivesystem.entity.RuleConfig;
 import org.example.salesincentivesystem.repository.RuleConfigRepository;
+import org.example.salesincentivesystem.service.RuleEvaluatorService;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -11,28 +14,24 @@ import java.util.List;
 public class RuleController {
 
     private final RuleConfigRepository ruleRepository;
-    private final org.example.salesincentivesystem.repository.UserRepository userRepository;
+    private final RuleEvaluatorService ruleEvaluatorService;
 
     public RuleController(RuleConfigRepository ruleRepository,
-            org.example.salesincentivesystem.repository.UserRepository userRepository) {
+            RuleEvaluatorService ruleEvaluatorService) {
         this.ruleRepository = ruleRepository;
-        this.userRepository = userRepository;
+        this.ruleEvaluatorService = ruleEvaluatorService;
     }
 
     @GetMapping
-    public List<RuleConfig> getAllRules(@RequestParam(required = false) Long requestorId) {
-        String orgName = null;
-        if (requestorId != null) {
-            orgName = userRepository.findById(requestorId)
-                    .map(org.example.salesincentivesystem.entity.User::getOrganizationName)
-                    .orElse(null);
-        }
+    public List<RuleConfig> getAllRules(@CurrentRequestor Requestor requestor) {
+        String orgName = requestor != null ? requestor.getOrganizationName() : null;
 
         if (orgName != null) {
             List<RuleConfig> rules = ruleRepository.findByOrganizationName(orgName);
             if (rules.isEmpty()) {
                 createDefaultRule("Big Deal Alert", "DEAL_AMOUNT", "GT", 100000, "NOTIFY_ADMIN", orgName);
                 createDefaultRule("High Discount Warning", "DISCOUNT_RATE", "GT", 15, "FLAG_RISK", orgName);
+                ruleEvaluatorService.invalidate();
                 return ruleRepository.findByOrganizationName(orgName);
             }
             return rules;
@@ -54,19 +53,18 @@ public class RuleController {
     }
 
     @PostMapping
-    public RuleConfig saveRule(@RequestBody RuleConfig rule, @RequestParam(required = false) Long requestorId) {
-        if (requestorId != null) {
-            userRepository.findById(requestorId).ifPresent(user -> {
-                if (user.getOrganizationName() != null) {
-                    rule.setOrganizationName(user.getOrganizationName());
-                }
-            });
+    public RuleConfig saveRule(@RequestBody RuleConfig rule, @CurrentRequestor Requestor requestor) {
+        if (requestor != null && requestor.getOrganizationName() != null) {
+            rule.setOrganizationName(requestor.getOrganizationName());
         }
-        return ruleRepository.save(rule);
+        RuleConfig saved = ruleRepository.save(rule);
+        ruleEvaluatorService.invalidate();
+        return saved;
     }
 
     @DeleteMapping("/{id}")
     public void deleteRule(@PathVariable Long id) {
         ruleRepository.deleteById(id);
+        ruleEvaluatorService.invalidate();
     }
 }
@@ -1,59 +1,79 @@
 package org.example.salesincentivesystem.controller;
 
-import org.example.salesincentivesystem.entity.Deal;
-import org.example.salesincentivesystem.repository.DealRepository;
+import org.example.salesincentivesystem.dto.SimulationBatchRequest;
+import org.example.salesincentivesystem.dto.SimulationBatchResult;
+import org.example.salesincentivesystem.entity.User;
+import org.example.salesincentivesystem.repository.UserRepository;
+import org.example.salesincentivesystem.service.PolicySimulationService;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/simulation")
 public class SimulationController {
 
-    private final DealRepository dealRepository;
+    private final PolicySimulationService simulationService;
+    private final UserRepository userRepository;
 
-    public SimulationController(DealRepository dealRepository) {
-        this.dealRepository = dealRepository;
+    public SimulationController(PolicySimulationService simulationService, UserRepository userRepository) {
+        this.simulationService = simulationService;
+        this.userRepository = userRepository;
     }
 
     @PostMapping("/preview")
     public SimulationResult previewPolicy(@RequestBody SimulationRequest request) {
-        List<Deal> allDeals = dealRepository.findAll();
+        PolicySimulationService.DealSnapshot snapshot = simulationService.snapshot(null);
 
-        double currentTotalPayout = allDeals.stream()
-                .filter(d -> "Approved".equalsIgnoreCase(d.getStatus()))
-                .mapToDouble(Deal::getIncentive)
-                .sum();
+        // Simulation Logic (Mirrors DealController logic but with dynamic params)
+        double[] totals = simulationService.evaluate(snapshot,
+                request.getThreshold(), request.getLowRate(), request.getHighRate());
 
-        double projectedTotalPayout = 0;
-        int impactedDeals = 0;
-
-        for (Deal deal : allDeals) {
-            if (!"Approved".equalsIgnoreCase(deal.getStatus()))
-                continue;
-
-            double originalIncentive = deal.getIncentive();
-            double newIncentive = 0;
+        double currentTotalPayout = snapshot.getCurrentPayout();
+        double projectedTotalPayout = totals[0];
+        return new SimulationResult(
+                currentTotalPayout,
+                projectedTotalPayout,
+                projectedTotalPayout - currentTotalPayout,
+                (int) totals[1]);
+    }
 
-            // Simulation Logic (Mirrors DealController logic but with dynamic params)
-            if (deal.getAmount() <= request.getThreshold()) {
-                newIncentive = deal.getAmount() * (request.getLowRate() / 100.0);
-            } else {
-                newIncentive = deal.getAmount() * (request.getHighRate() / 100.0);
-            }
+    /**
+     * Scores many policy scenarios (explicit list and/or threshold x rate grid)
+     * against one snapshot of the requestor's approved deals.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> simulateBatch(@RequestBody SimulationBatchRequest request,
+            @RequestParam(required = false) Long requestorId) {
+        User requestor = requestorId != null ? userRepository.findById(requestorId).orElse(null) : null;
+        if (requestor == null || (!requestor.isAdminTypeGlobal() && requestor.getOrganizationName() == null)) {
+            return ResponseEntity.status(403).body(Map.of("message", "Requestor has no organization to simulate"));
+        }
 
-            projectedTotalPayout += newIncentive;
+        // Org admins always simulate their own org; global admins may pick one (null = all)
+        String organizationName = requestor.isAdminTypeGlobal()
+                ? request.getOrganizationName()
+                : requestor.getOrganizationName();
 
-            if (Math.abs(newIncentive - originalIncentive) > 0.01) {
-                impactedDeals++;
-            }
+        // Rejected before expanding: three large lists would otherwise build billions of scenarios
+        long scenarioCount = request.scenarioCount();
+        if (scenarioCount == 0) {
+            return ResponseEntity.badRequest().body(Map.of("message", "No scenarios given"));
+        }
+        if (scenarioCount > PolicySimulationService.MAX_SCENARIOS) {
+            return ResponseEntity.badRequest().body(Map.of("message",
+                    "Too many scenarios (max " + PolicySimulationService.MAX_SCENARIOS + ")"));
+        }
+        List<SimulationBatchRequest.Scenario> scenarios = request.resolveScenarios();
+        if (!scenarios.stream().allMatch(SimulationBatchRequest.Scenario::isComplete)) {
+            return ResponseEntity.badRequest().body(Map.of("message",
+                    "Every scenario needs threshold, lowRate and highRate"));
         }
 
-        return new SimulationResult(
-                currentTotalPayout,
-                projectedTotalPayout,
-                projectedTotalPayout - currentTotalPayout,
-                impactedDeals);
+        SimulationBatchResult result = simulationService.simulate(organizationName, scenarios);
+        return ResponseEntity.ok(result);
     }
 
     // Inner DTOs
@@ -1,5 +1,6 @@
 package org.example.salesincentivesystem.controller;
 
+import org.example.salesincentivesystem.dto.UserListItem;
 import org.example.salesincentivesystem.entity.User;
 import org.example.salesincentivesystem.repository.UserRepository;
 import org.springframework.http.ResponseEntity;
@@ -23,7 +24,7 @@ public class UserController {
 
     // GET - List all users (For Admin)
     @GetMapping
-    public List<User> getAllUsers(@RequestParam(required = false) Long requestorId) {
+    public List<UserListItem> getAllUsers(@RequestParam(required = false) Long requestorId) {
         System.out.println("DEBUG: Fetching users. RequestorID: " + requestorId);
 
         // If requestorId is provided, filter by that admin's organization
@@ -36,12 +37,13 @@ public class UserController {
                         // 1. GLOBAL ADMIN -> See ALL
                         if (admin.isAdminTypeGlobal()) {
                             System.out.println("DEBUG: GLOBAL ADMIN detected. Returning ALL users.");
-                            return userRepository.findAll();
+                            return userRepository.findAllListItems();
                         }
 
                         // 2. ORG ADMIN -> See ONLY Org Data
                         if (admin.getOrganizationName() != null) {
-                            List<User> users = userRepository.findByOrganizationName(admin.getOrganizationName());
+                            List<UserListItem> users = userRepository
+                                    .findListItemsByOrganizationName(admin.getOrganizationName());
                             System.out.println(
                                     "DEBUG: Found " + users.size() + " users for org: " + admin.getOrganizationName());
                             return users;
@@ -49,7 +51,7 @@ public class UserController {
 
                         // 3. Fallback: New Admin with no org yet -> Empty list
                         System.out.println("DEBUG: Org Admin has no organization set. Returning empty list.");
-                        return java.util.Collections.<User>emptyList();
+                        return java.util.Collections.<UserListItem>emptyList();
                     })
                     .orElseGet(() -> {
                         System.out.println("DEBUG: Admin with ID " + requestorId + " not found.");
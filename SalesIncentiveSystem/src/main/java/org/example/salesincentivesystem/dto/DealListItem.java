@@ -0,0 +1,254 @@
+package org.example.salesincentivesystem.dto;
+
+import jakarta.persistence.Tuple;
+
+/**
+ * Read model for deal list endpoints. Same JSON shape as the Deal entity, but
+ * the assignee is a slim {@link UserRef} instead of the full User graph (no
+ * profile photo or notification config).
+ */
+public class DealListItem {
+
+    // Deal attributes selected for list views, in tuple alias order
+    public static final String[] ATTRIBUTES = {
+            "id", "date", "amount", "incentive", "rate", "status", "dealName", "organizationName",
+            "dealType", "expectedCloseDate", "priority", "dealNotes", "policyId", "createdBy", "updatedAt",
+            "clientName", "industry", "region", "currency", "actualCloseDate", "approvedBy", "approvedAt",
+            "legacyDeal", "createdAt", "rejectionReason", "riskLevel", "adminComment", "payoutStatus",
+            "payoutDate"
+    };
+
+    private Long id;
+    private java.time.LocalDate date;
+    private double amount;
+    private double incentive;
+    private double rate;
+    private String status;
+    private String dealName;
+    private String organizationName;
+    private String dealType;
+    private java.time.LocalDate expectedCloseDate;
+    private String priority;
+    private String dealNotes;
+    private Long policyId;
+    private Long createdBy;
+    private java.time.LocalDateTime updatedAt;
+    private String clientName;
+    private String industry;
+    private String region;
+    private String currency;
+    private java.time.LocalDate actualCloseDate;
+    private Long approvedBy;
+    private java.time.LocalDateTime approvedAt;
+    private boolean legacyDeal;
+    private java.time.LocalDateTime createdAt;
+    private String rejectionReason;
+    private String riskLevel;
+    private String adminComment;
+    private String payoutStatus;
+    private java.time.LocalDate payoutDate;
+    private UserRef user;
+
+    /**
+     * Builds an item from a tuple aliased with {@link #ATTRIBUTES} plus
+     * userId/userName/userEmail/userRole/userOrganizationName.
+     */
+    public static DealListItem fromTuple(Tuple t) {
+        DealListItem item = new DealListItem();
+        item.id = t.get("id", Long.class);
+        item.date = t.get("date", java.time.LocalDate.class);
+        Double amount = t.get("amount", Double.class);
+        item.amount = amount != null ? amount : 0.0;
+        Double incentive = t.get("incentive", Double.class);
+        item.incentive = incentive != null ? incentive : 0.0;
+        Double rate = t.get("rate", Double.class);
+        item.rate = rate != null ? rate : 0.0;
+        item.status = t.get("status", String.class);
+        item.dealName = t.get("dealName", String.class);
+        item.organizationName = t.get("organizationName", String.class);
+        item.dealType = t.get("dealType", String.class);
+        item.expectedCloseDate = t.get("expectedCloseDate", java.time.LocalDate.class);
+        item.priority = t.get("priority", String.class);
+        item.dealNotes = t.get("dealNotes", String.class);
+        item.policyId = t.get("policyId", Long.class);
+        item.createdBy = t.get("createdBy", Long.class);
+        item.updatedAt = t.get("updatedAt", java.time.LocalDateTime.class);
+        item.clientName = t.get("clientName", String.class);
+        item.industry = t.get("industry", String.class);
+        item.region = t.get("region", String.class);
+        item.currency = t.get("currency", String.class);
+        item.actualCloseDate = t.get("actualCloseDate", java.time.LocalDate.class);
+        item.approvedBy = t.get("approvedBy", Long.class);
+        item.approvedAt = t.get("approvedAt", java.time.LocalDateTime.class);
+        Boolean legacyDeal = t.get("legacyDeal", Boolean.class);
+        item.legacyDeal = legacyDeal != null ? legacyDeal : false;
+        item.createdAt = t.get("createdAt", java.time.LocalDateTime.class);
+        item.rejectionReason = t.get("rejectionReason", String.class);
+        item.riskLevel = t.get("riskLevel", String.class);
+        item.adminComment = t.get("adminComment", String.class);
+        item.payoutStatus = t.get("payoutStatus", String.class);
+        item.payoutDate = t.get("payoutDate", java.time.LocalDate.class);
+        Long userId = t.get("userId", Long.class);
+        if (userId != null) {
+            item.user = new UserRef(userId, t.get("userName", String.class), t.get("userEmail", String.class),
+                    t.get("userRole", String.class), t.get("userOrganizationName", String.class));
+        }
+        return item;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public java.time.LocalDate getDate() {
+        return date;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public double getIncentive() {
+        return incentive;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getDealName() {
+        return dealName;
+    }
+
+    public String getOrganizationName() {
+        return organizationName;
+    }
+
+    public String getDealType() {
+        return dealType;
+    }
+
+    public java.time.LocalDate getExpectedCloseDate() {
+        return expectedCloseDate;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public String getDealNotes() {
+        return dealNotes;
+    }
+
+    public Long getPolicyId() {
+        return policyId;
+    }
+
+    public Long getCreatedBy() {
+        return createdBy;
+    }
+
+    public java.time.LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    public String getIndustry() {
+        return industry;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public java.time.LocalDate getActualCloseDate() {
+        return actualCloseDate;
+    }
+
+    public Long getApprovedBy() {
+        return approvedBy;
+    }
+
+    public java.time.LocalDateTime getApprovedAt() {
+        return approvedAt;
+    }
+
+    public boolean isLegacyDeal() {
+        return legacyDeal;
+    }
+
+    public java.time.LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getRejectionReason() {
+        return rejectionReason;
+    }
+
+    public String getRiskLevel() {
+        return riskLevel;
+    }
+
+    public String getAdminComment() {
+        return adminComment;
+    }
+
+    public String getPayoutStatus() {
+        return payoutStatus;
+    }
+
+    public java.time.LocalDate getPayoutDate() {
+        return payoutDate;
+    }
+
+    public UserRef getUser() {
+        return user;
+    }
+
+    public static class UserRef {
+        private final Long id;
+        private final String name;
+        private final String email;
+        private final String role;
+        private final String organizationName;
+
+        public UserRef(Long id, String name, String email, String role, String organizationName) {
+            this.id = id;
+            this.name = name;
+            this.email = email;
+            this.role = role;
+            this.organizationName = organizationName;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public String getOrganizationName() {
+            return organizationName;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.salesincentivesystem.dto;
+
+import org.example.salesincentivesystem.entity.User;
+
+/**
+ * The caller identified by the requestorId parameter: just what access checks
+ * read (role, org, global flag, status). Getter names match {@link User} so
+ * scoping code reads the same either way. Immutable and safe to share.
+ */
+public class Requestor {
+
+    private final Long id;
+    private final String email;
+    private final String role;
+    private final String organizationName;
+    private final String accountStatus;
+    private final boolean adminTypeGlobal;
+
+    public Requestor(Long id, String email, String role, String organizationName, String accountStatus) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.organizationName = organizationName;
+        this.accountStatus = accountStatus;
+        this.adminTypeGlobal = User.isAdminTypeGlobal(email, role, organizationName);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getOrganizationName() {
+        return organizationName;
+    }
+
+    public String getAccountStatus() {
+        return accountStatus;
+    }
+
+    public boolean isAdminTypeGlobal() {
+        return adminTypeGlobal;
+    }
+}
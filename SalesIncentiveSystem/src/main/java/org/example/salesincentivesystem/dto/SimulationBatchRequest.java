@@ -0,0 +1,137 @@
+package org.example.salesincentivesystem.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch policy simulation request. Scenarios can be listed explicitly, given as
+ * a grid (every combination of thresholds x lowRates x highRates), or both.
+ */
+public class SimulationBatchRequest {
+    private List<Scenario> scenarios;
+    private List<Double> thresholds;
+    private List<Double> lowRates;
+    private List<Double> highRates;
+    private String organizationName; // Only honoured for global admins
+
+    /**
+     * How many scenarios {@link #resolveScenarios()} would produce, computed
+     * without expanding the grid; Long.MAX_VALUE if the product overflows.
+     */
+    public long scenarioCount() {
+        long count = scenarios != null ? scenarios.size() : 0;
+        if (thresholds != null && lowRates != null && highRates != null) {
+            try {
+                count = Math.addExact(count, Math.multiplyExact(Math.multiplyExact(
+                        (long) thresholds.size(), (long) lowRates.size()), (long) highRates.size()));
+            } catch (ArithmeticException e) {
+                return Long.MAX_VALUE;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Explicit scenarios followed by the expanded grid. Check
+     * {@link #scenarioCount()} first: the grid is the product of three lists.
+     */
+    public List<Scenario> resolveScenarios() {
+        List<Scenario> all = new ArrayList<>();
+        if (scenarios != null) {
+            all.addAll(scenarios);
+        }
+        if (thresholds != null && lowRates != null && highRates != null) {
+            for (Double threshold : thresholds) {
+                for (Double lowRate : lowRates) {
+                    for (Double highRate : highRates) {
+                        all.add(new Scenario(threshold, lowRate, highRate));
+                    }
+                }
+            }
+        }
+        return all;
+    }
+
+    public List<Scenario> getScenarios() {
+        return scenarios;
+    }
+
+    public void setScenarios(List<Scenario> scenarios) {
+        this.scenarios = scenarios;
+    }
+
+    public List<Double> getThresholds() {
+        return thresholds;
+    }
+
+    public void setThresholds(List<Double> thresholds) {
+        this.thresholds = thresholds;
+    }
+
+    public List<Double> getLowRates() {
+        return lowRates;
+    }
+
+    public void setLowRates(List<Double> lowRates) {
+        this.lowRates = lowRates;
+    }
+
+    public List<Double> getHighRates() {
+        return highRates;
+    }
+
+    public void setHighRates(List<Double> highRates) {
+        this.highRates = highRates;
+    }
+
+    public String getOrganizationName() {
+        return organizationName;
+    }
+
+    public void setOrganizationName(String organizationName) {
+        this.organizationName = organizationName;
+    }
+
+    public static class Scenario {
+        private Double threshold;
+        private Double lowRate; // Percentage applied to deals <= threshold
+        private Double highRate; // Percentage applied to deals > threshold
+
+        public Scenario() {
+        }
+
+        public Scenario(Double threshold, Double lowRate, Double highRate) {
+            this.threshold = threshold;
+            this.lowRate = lowRate;
+            this.highRate = highRate;
+        }
+
+        public boolean isComplete() {
+            return threshold != null && lowRate != null && highRate != null;
+        }
+
+        public Double getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(Double threshold) {
+            this.threshold = threshold;
+        }
+
+        public Double getLowRate() {
+            return lowRate;
+        }
+
+        public void setLowRate(Double lowRate) {
+            this.lowRate = lowRate;
+        }
+
+        public Double getHighRate() {
+            return highRate;
+        }
+
+        public void setHighRate(Double highRate) {
+            this.highRate = highRate;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.salesincentivesystem.dto;
+
+import java.util.List;
+
+public class SimulationBatchResult {
+    private int approvedDealCount;
+    private double currentPayout;
+    private List<ScenarioResult> results;
+
+    public SimulationBatchResult(int approvedDealCount, double currentPayout, List<ScenarioResult> results) {
+        this.approvedDealCount = approvedDealCount;
+        this.currentPayout = currentPayout;
+        this.results = results;
+    }
+
+    public int getApprovedDealCount() {
+        return approvedDealCount;
+    }
+
+    public double getCurrentPayout() {
+        return currentPayout;
+    }
+
+    public List<ScenarioResult> getResults() {
+        return results;
+    }
+
+    public static class ScenarioResult {
+        private final double threshold;
+        private final double lowRate;
+        private final double highRate;
+        private final double projectedPayout;
+        private final double difference;
+        private final int impactedDealsCount;
+
+        public ScenarioResult(double threshold, double lowRate, double highRate, double projectedPayout,
+                double difference, int impactedDealsCount) {
+            this.threshold = threshold;
+            this.lowRate = lowRate;
+            this.highRate = highRate;
+            this.projectedPayout = projectedPayout;
+            this.difference = difference;
+            this.impactedDealsCount = impactedDealsCount;
+        }
+
+        public double getThreshold() {
+            return threshold;
+        }
+
+        public double getLowRate() {
+            return lowRate;
+        }
+
+        public double getHighRate() {
+            return highRate;
+        }
+
+        public double getProjectedPayout() {
+            return projectedPayout;
+        }
+
+        public double getDifference() {
+            return difference;
+        }
+
+        public int getImpactedDealsCount() {
+            return impactedDealsCount;
+        }
+    }
+}
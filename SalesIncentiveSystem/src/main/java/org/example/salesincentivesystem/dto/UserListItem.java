@@ -0,0 +1,112 @@
+package org.example.salesincentivesystem.dto;
+
+/**
+ * Row for the user list. Same JSON field names as {@code User} minus the
+ * password, photo and settings columns the list never shows.
+ */
+public class UserListItem {
+
+    private final Long id;
+    private final String email;
+    private final String role;
+    private final String name;
+    private final String accountStatus;
+    private final Boolean onboardingCompleted;
+    private final String mobile;
+    private final String department;
+    private final String organizationName;
+    private final String branch;
+    private final String jobTitle;
+    private final String managerName;
+    private final String territory;
+    private final String productCategory;
+    private final String experienceLevel;
+    private final String incentiveType;
+
+    // Argument order is used by the JPQL constructor expressions in UserRepository
+    public UserListItem(Long id, String email, String role, String name, String accountStatus,
+            Boolean onboardingCompleted, String mobile, String department, String organizationName,
+            String branch, String jobTitle, String managerName, String territory, String productCategory,
+            String experienceLevel, String incentiveType) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.name = name;
+        this.accountStatus = accountStatus;
+        this.onboardingCompleted = onboardingCompleted;
+        this.mobile = mobile;
+        this.department = department;
+        this.organizationName = organizationName;
+        this.branch = branch;
+        this.jobTitle = jobTitle;
+        this.managerName = managerName;
+        this.territory = territory;
+        this.productCategory = productCategory;
+        this.experienceLevel = experienceLevel;
+        this.incentiveType = incentiveType;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAccountStatus() {
+        return accountStatus;
+    }
+
+    public Boolean getOnboardingCompleted() {
+        return onboardingCompleted;
+    }
+
+    public String getMobile() {
+        return mobile;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public String getOrganizationName() {
+        return organizationName;
+    }
+
+    public String getBranch() {
+        return branch;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public String getManagerName() {
+        return managerName;
+    }
+
+    public String getTerritory() {
+        return territory;
+    }
+
+    public String getProductCategory() {
+        return productCategory;
+    }
+
+    public String getExperienceLevel() {
+        return experienceLevel;
+    }
+
+    public String getIncentiveType() {
+        return incentiveType;
+    }
+}
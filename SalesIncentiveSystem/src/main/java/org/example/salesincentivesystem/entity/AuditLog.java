@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+        // Org-scoped and global "newest first" listings / keyset pages
+        @Index(name = "idx_audit_org_ts_id", columnList = "organization_name, timestamp, id"),
+        @Index(name = "idx_audit_ts_id", columnList = "timestamp, id")
+})
 public class AuditLog {
 
     @Id
@@ -6,6 +6,10 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 
 @Entity
+@jakarta.persistence.Table(indexes = {
+        // Backs keyset pagination on /admin/deals/page (ORDER BY updated_at DESC, id DESC)
+        @jakarta.persistence.Index(name = "idx_deal_updated_at_id", columnList = "updated_at, id")
+})
 public class Deal {
 
     @Id
@@ -46,6 +50,14 @@ public class Deal {
     private java.time.LocalDateTime approvedAt;
     private boolean legacyDeal = false;
 
+    // Keyset pagination orders by updatedAt, so it must never be null
+    @jakarta.persistence.PrePersist
+    void initUpdatedAt() {
+        if (updatedAt == null) {
+            updatedAt = createdAt != null ? createdAt : java.time.LocalDateTime.now();
+        }
+    }
+
     public Long getId() {
         return id;
     }
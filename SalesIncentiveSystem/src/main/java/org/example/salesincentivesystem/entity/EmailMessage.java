@@ -0,0 +1,126 @@
+package org.example.salesincentivesystem.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One queued email. EmailDispatcher sends due messages in batches per template
+ * and retries failures with backoff until they are SENT or parked as DEAD.
+ */
+@Entity
+@Table(name = "email_messages", indexes = @Index(name = "idx_email_status_available", columnList = "status, available_at, id"))
+public class EmailMessage {
+
+    public static final String PENDING = "PENDING";
+    public static final String SENDING = "SENDING";
+    public static final String SENT = "SENT";
+    public static final String DEAD = "DEAD";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String template; // e.g. WELCOME, INVITATION
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(columnDefinition = "TEXT")
+    private String variables; // JSON object of substitution values
+
+    @Column(nullable = false, length = 16)
+    private String status = PENDING; // PENDING, SENDING, SENT, DEAD
+
+    private int attempts;
+
+    @Column(length = 2000)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    @Column(name = "available_at")
+    private LocalDateTime availableAt; // Not picked up before this (retry backoff)
+
+    private LocalDateTime claimedAt;
+    private LocalDateTime sentAt;
+
+    public EmailMessage() {
+    }
+
+    public EmailMessage(String template, String recipient, String variables) {
+        this.template = template;
+        this.recipient = recipient;
+        this.variables = variables;
+        this.createdAt = LocalDateTime.now();
+        this.availableAt = this.createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public String getVariables() {
+        return variables;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getAvailableAt() {
+        return availableAt;
+    }
+
+    public void setAvailableAt(LocalDateTime availableAt) {
+        this.availableAt = availableAt;
+    }
+
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+
+    public void setClaimedAt(LocalDateTime claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+}
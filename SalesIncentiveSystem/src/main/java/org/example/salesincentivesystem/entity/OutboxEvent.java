@@ -0,0 +1,156 @@
+package org.example.salesincentivesystem.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Side-effect recorded in the same transaction as the change that caused it and
+ * carried out later by OutboxDispatcher, so it is never lost if the request
+ * thread fails after commit.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = @Index(name = "idx_outbox_status_available", columnList = "status, available_at, id"))
+public class OutboxEvent {
+
+    public static final String PENDING = "PENDING";
+    public static final String PROCESSING = "PROCESSING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String eventType; // e.g. DEAL_ASSIGNED
+
+    private String aggregateType; // e.g. DEAL
+    private Long aggregateId;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload; // JSON
+
+    @Column(nullable = false, length = 16)
+    private String status = PENDING; // PENDING, PROCESSING, DONE, FAILED
+
+    private int attempts;
+
+    @Column(length = 2000)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    @Column(name = "available_at")
+    private LocalDateTime availableAt; // Not picked up before this (retry backoff)
+
+    private LocalDateTime claimedAt;
+    private LocalDateTime processedAt;
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(String eventType, String aggregateType, Long aggregateId, String payload) {
+        this.eventType = eventType;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+        this.availableAt = this.createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public void setAggregateType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public void setAggregateId(Long aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getAvailableAt() {
+        return availableAt;
+    }
+
+    public void setAvailableAt(LocalDateTime availableAt) {
+        this.availableAt = availableAt;
+    }
+
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+
+    public void setClaimedAt(LocalDateTime claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(LocalDateTime processedAt) {
+        this.processedAt = processedAt;
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.salesincentivesystem.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One "mark as paid" batch. The idempotency key, unique within the org that
+ * ran it, makes retries of the same run return the original result instead of
+ * paying again; the request hash catches a key reused for different deals.
+ */
+@Entity
+@Table(name = "payout_runs", uniqueConstraints = @UniqueConstraint(name = "uk_payout_run_scope_key", columnNames = {
+        "key_scope", "idempotency_key" }))
+public class PayoutRun {
+
+    // Key scope of global admin runs, which are not tied to one org
+    public static final String GLOBAL_SCOPE = "*";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "idempotency_key", nullable = false, length = 128)
+    private String idempotencyKey;
+
+    @Column(name = "key_scope", nullable = false)
+    private String keyScope; // organizationName, or GLOBAL_SCOPE
+
+    @Column(length = 64)
+    private String requestHash; // SHA-256 of the sorted deal ids; null for runs recorded before it existed
+
+    private String organizationName; // Null for a global admin run
+    private Long requestedBy;
+
+    private int requestedCount; // Distinct deal ids in the request
+    private int paidCount; // Deals moved to PAID by this run
+    private int skippedCount; // Already paid, not approved, other org or unknown
+
+    private LocalDate payoutDate;
+    private LocalDateTime createdAt;
+
+    public PayoutRun() {
+    }
+
+    public PayoutRun(String idempotencyKey, String organizationName, String requestHash, Long requestedBy,
+            LocalDate payoutDate) {
+        this.idempotencyKey = idempotencyKey;
+        this.keyScope = scopeOf(organizationName);
+        this.requestHash = requestHash;
+        this.organizationName = organizationName;
+        this.requestedBy = requestedBy;
+        this.payoutDate = payoutDate;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public static String scopeOf(String organizationName) {
+        return organizationName != null ? organizationName : GLOBAL_SCOPE;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    public String getKeyScope() {
+        return keyScope;
+    }
+
+    public void setKeyScope(String keyScope) {
+        this.keyScope = keyScope;
+    }
+
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public String getOrganizationName() {
+        return organizationName;
+    }
+
+    public void setOrganizationName(String organizationName) {
+        this.organizationName = organizationName;
+    }
+
+    public Long getRequestedBy() {
+        return requestedBy;
+    }
+
+    public void setRequestedBy(Long requestedBy) {
+        this.requestedBy = requestedBy;
+    }
+
+    public int getRequestedCount() {
+        return requestedCount;
+    }
+
+    public void setRequestedCount(int requestedCount) {
+        this.requestedCount = requestedCount;
+    }
+
+    public int getPaidCount() {
+        return paidCount;
+    }
+
+    public void setPaidCount(int paidCount) {
+        this.paidCount = paidCount;
+    }
+
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    public void setSkippedCount(int skippedCount) {
+        this.skippedCount = skippedCount;
+    }
+
+    public LocalDate getPayoutDate() {
+        return payoutDate;
+    }
+
+    public void setPayoutDate(LocalDate payoutDate) {
+        this.payoutDate = payoutDate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
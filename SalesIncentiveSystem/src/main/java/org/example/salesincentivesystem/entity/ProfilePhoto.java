@@ -0,0 +1,50 @@
+package org.example.salesincentivesystem.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Profile photo bytes keyed by their SHA-256 hash. Rows are written once and
+ * never change, so identical uploads share a row and the hash doubles as ETag.
+ */
+@Entity
+@Table(name = "profile_photos")
+public class ProfilePhoto {
+
+    @Id
+    @Column(length = 64)
+    private String hash; // Lowercase hex SHA-256 of data
+
+    @Column(nullable = false)
+    private String contentType;
+
+    private long sizeBytes;
+
+    @Column(nullable = false)
+    private byte[] data;
+
+    private LocalDateTime createdAt;
+
+    public ProfilePhoto() {
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
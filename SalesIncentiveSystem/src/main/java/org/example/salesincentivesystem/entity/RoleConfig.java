@@ -1,8 +1,12 @@
 package org.example.salesincentivesystem.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "role_configs")
 public class RoleConfig {
 
     @Id
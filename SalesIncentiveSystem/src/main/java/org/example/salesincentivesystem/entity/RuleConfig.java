@@ -1,8 +1,12 @@
 package org.example.salesincentivesystem.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rule_configs")
 public class RuleConfig {
 
     @Id
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 
 @Entity
 @Table(name = "app_users")
+@EntityListeners(org.example.salesincentivesystem.service.UserChangeListener.class)
 public class User {
 
     @Id
@@ -31,8 +32,8 @@ public class User {
     // --- Profile Flow Fields ---
     private String mobile;
 
-    @Column(columnDefinition = "TEXT")
-    private String profilePhotoUrl;
+    @Column(length = 64)
+    private String profilePhotoHash; // Key into profile_photos, see ProfilePhotoService
 
     private String department;
     private String organizationName;
@@ -151,12 +152,19 @@ public class User {
         this.mobile = mobile;
     }
 
-    public String getProfilePhotoUrl() {
-        return profilePhotoUrl;
+    public String getProfilePhotoHash() {
+        return profilePhotoHash;
     }
 
-    public void setProfilePhotoUrl(String profilePhotoUrl) {
-        this.profilePhotoUrl = profilePhotoUrl;
+    public void setProfilePhotoHash(String profilePhotoHash) {
+        this.profilePhotoHash = profilePhotoHash;
+    }
+
+    // Served by PhotoController; kept in the JSON under its old name. Absolute,
+    // since the frontend runs on another origin (photos.public-base-url).
+    @com.fasterxml.jackson.annotation.JsonProperty(access = com.fasterxml.jackson.annotation.JsonProperty.Access.READ_ONLY)
+    public String getProfilePhotoUrl() {
+        return org.example.salesincentivesystem.service.ProfilePhotoService.urlFor(profilePhotoHash);
     }
 
     public String getDepartment() {
@@ -290,12 +298,17 @@ public class User {
     // --- Data Isolation Helper ---
     @com.fasterxml.jackson.annotation.JsonIgnore
     public boolean isAdminTypeGlobal() {
+        return isAdminTypeGlobal(email, role, organizationName);
+    }
+
+    // Shared with the cached Requestor principal, which has no User to ask
+    public static boolean isAdminTypeGlobal(String email, String role, String organizationName) {
         // 1. Hardcoded Super Admin Principal
-        if ("admin@test.com".equalsIgnoreCase(this.email)) {
+        if ("admin@test.com".equalsIgnoreCase(email)) {
             return true;
         }
         // 2. Explicit Global Org (Future-proofing)
-        if ("ADMIN".equals(this.role) && "Global".equalsIgnoreCase(this.organizationName)) {
+        if ("ADMIN".equals(role) && "Global".equalsIgnoreCase(organizationName)) {
             return true;
         }
         return false;
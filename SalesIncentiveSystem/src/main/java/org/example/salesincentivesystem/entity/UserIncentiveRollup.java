@@ -0,0 +1,125 @@
+package org.example.salesincentivesystem.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Per-user, per-month deal totals maintained by IncentiveRollupService so the
+ * performance summary can read a few rows instead of scanning the deal table.
+ */
+@Entity
+@Table(name = "user_incentive_rollup", uniqueConstraints = @UniqueConstraint(name = "uk_rollup_user_month", columnNames = {
+        "user_id", "rollup_month" }))
+public class UserIncentiveRollup {
+
+    // Bucket for deals without a date (counted in totals, excluded from trends)
+    public static final String UNDATED = "UNDATED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "rollup_month", nullable = false, length = 16)
+    private String month; // yyyy-MM or UNDATED
+
+    private long dealCount;
+    private long approvedCount;
+    private long rejectedCount;
+    private double incentiveSum; // Approved deals only
+    private double amountSum; // All deals
+    private double approvedAmountSum;
+
+    private LocalDateTime updatedAt;
+
+    public UserIncentiveRollup() {
+    }
+
+    public UserIncentiveRollup(Long userId, String month) {
+        this.userId = userId;
+        this.month = month;
+    }
+
+    public boolean isUndated() {
+        return UNDATED.equals(month);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public void setMonth(String month) {
+        this.month = month;
+    }
+
+    public long getDealCount() {
+        return dealCount;
+    }
+
+    public void setDealCount(long dealCount) {
+        this.dealCount = dealCount;
+    }
+
+    public long getApprovedCount() {
+        return approvedCount;
+    }
+
+    public void setApprovedCount(long approvedCount) {
+        this.approvedCount = approvedCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public void setRejectedCount(long rejectedCount) {
+        this.rejectedCount = rejectedCount;
+    }
+
+    public double getIncentiveSum() {
+        return incentiveSum;
+    }
+
+    public void setIncentiveSum(double incentiveSum) {
+        this.incentiveSum = incentiveSum;
+    }
+
+    public double getAmountSum() {
+        return amountSum;
+    }
+
+    public void setAmountSum(double amountSum) {
+        this.amountSum = amountSum;
+    }
+
+    public double getApprovedAmountSum() {
+        return approvedAmountSum;
+    }
+
+    public void setApprovedAmountSum(double approvedAmountSum) {
+        this.approvedAmountSum = approvedAmountSum;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
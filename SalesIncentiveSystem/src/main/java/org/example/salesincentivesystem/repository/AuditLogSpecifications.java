@@ -0,0 +1,59 @@
+package org.example.salesincentivesystem.repository;
+
+import org.example.salesincentivesystem.entity.AuditLog;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters for audit log search. Org scoping relies on organizationName being
+ * filled in when the entry is written, so no join against users is needed.
+ */
+public final class AuditLogSpecifications {
+
+    private AuditLogSpecifications() {
+    }
+
+    public static Specification<AuditLog> inOrganization(String organizationName) {
+        return (root, query, cb) -> organizationName == null ? null
+                : cb.equal(root.get("organizationName"), organizationName);
+    }
+
+    // Case-insensitive substring match, served by the trigram index on lower(action)
+    public static Specification<AuditLog> actionContains(String action) {
+        return (root, query, cb) -> action == null || action.isBlank() ? null
+                : cb.like(cb.lower(root.get("action")), "%" + action.toLowerCase() + "%");
+    }
+
+    public static Specification<AuditLog> emailContains(String email) {
+        return (root, query, cb) -> email == null || email.isBlank() ? null
+                : cb.like(cb.lower(root.get("email")), "%" + email.toLowerCase() + "%");
+    }
+
+    public static Specification<AuditLog> between(LocalDateTime start, LocalDateTime end) {
+        return (root, query, cb) -> {
+            if (start == null && end == null) {
+                return null;
+            } else if (end == null) {
+                return cb.greaterThanOrEqualTo(root.get("timestamp"), start);
+            } else if (start == null) {
+                return cb.lessThanOrEqualTo(root.get("timestamp"), end);
+            }
+            return cb.between(root.get("timestamp"), start, end);
+        };
+    }
+
+    /**
+     * Keyset predicate for "timestamp DESC, id DESC" ordering.
+     */
+    public static Specification<AuditLog> before(LocalDateTime timestamp, Long id) {
+        return (root, query, cb) -> {
+            if (timestamp == null || id == null) {
+                return null;
+            }
+            return cb.or(
+                    cb.lessThan(root.get("timestamp"), timestamp),
+                    cb.and(cb.equal(root.get("timestamp"), timestamp), cb.lessThan(root.get("id"), id)));
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.salesincentivesystem.repository;
+
+import org.example.salesincentivesystem.dto.DealListItem;
+import org.example.salesincentivesystem.entity.Deal;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Deal list queries that select {@link DealListItem} columns directly instead
+ * of hydrating Deal and User entities.
+ */
+public interface DealListRepository {
+
+    /**
+     * @param limit maximum rows, or 0 for no limit
+     */
+    List<DealListItem> findListItems(Specification<Deal> spec, Sort sort, int limit);
+}
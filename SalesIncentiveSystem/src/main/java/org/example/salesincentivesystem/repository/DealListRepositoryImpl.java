@@ -0,0 +1,73 @@
+package org.example.salesincentivesystem.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.example.salesincentivesystem.dto.DealListItem;
+import org.example.salesincentivesystem.entity.Deal;
+import org.example.salesincentivesystem.entity.User;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DealListRepositoryImpl implements DealListRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<DealListItem> findListItems(Specification<Deal> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Deal> root = query.from(Deal.class);
+        // Joined before the spec runs so DealSpecifications.inOrganization reuses it
+        Join<Deal, User> user = root.join("user", JoinType.LEFT);
+
+        List<Selection<?>> columns = new ArrayList<>();
+        for (String attribute : DealListItem.ATTRIBUTES) {
+            columns.add(root.get(attribute).alias(attribute));
+        }
+        columns.add(user.get("id").alias("userId"));
+        columns.add(user.get("name").alias("userName"));
+        columns.add(user.get("email").alias("userEmail"));
+        columns.add(user.get("role").alias("userRole"));
+        columns.add(user.get("organizationName").alias("userOrganizationName"));
+        query.multiselect(columns);
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            orders.add(order.isAscending() ? cb.asc(root.get(order.getProperty()))
+                    : cb.desc(root.get(order.getProperty())));
+        }
+        query.orderBy(orders);
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (limit > 0) {
+            typed.setMaxResults(limit);
+        }
+
+        List<DealListItem> items = new ArrayList<>();
+        for (Tuple tuple : typed.getResultList()) {
+            items.add(DealListItem.fromTuple(tuple));
+        }
+        return items;
+    }
+}
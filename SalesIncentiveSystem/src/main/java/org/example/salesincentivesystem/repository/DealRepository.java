@@ -2,11 +2,85 @@ package org.example.salesincentivesystem.repository;
 
 import org.example.salesincentivesystem.entity.Deal;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface DealRepository extends JpaRepository<Deal, Long> {
+public interface DealRepository extends JpaRepository<Deal, Long>, JpaSpecificationExecutor<Deal>, DealListRepository {
     long countByUserId(Long userId);
 
     java.util.List<Deal> findByUser_Id(Long userId);
 
     java.util.List<Deal> findByUser_OrganizationName(String organizationName);
+
+    // Raw [amount, incentive] pairs of approved deals; a null org means every org
+    @Query("SELECT d.amount, d.incentive FROM Deal d LEFT JOIN d.user u "
+            + "WHERE UPPER(d.status) = 'APPROVED' "
+            + "AND (:orgName IS NULL OR u.organizationName = :orgName)")
+    java.util.List<Object[]> findApprovedAmountAndIncentive(@Param("orgName") String orgName);
+
+    // Set-based payout: only approved, not yet paid deals (of the org, if given) are touched
+    @org.springframework.data.jpa.repository.Modifying
+    @Query("UPDATE Deal d SET d.payoutStatus = 'PAID', d.payoutDate = :payoutDate "
+            + "WHERE d.id IN :ids AND UPPER(d.status) = 'APPROVED' "
+            + "AND (d.payoutStatus IS NULL OR UPPER(d.payoutStatus) <> 'PAID') "
+            + "AND (:orgName IS NULL OR d.user.id IN (SELECT u.id FROM User u WHERE u.organizationName = :orgName))")
+    int markPaid(@Param("ids") java.util.Collection<Long> ids,
+            @Param("orgName") String orgName,
+            @Param("payoutDate") java.time.LocalDate payoutDate);
+
+    // Approved deals grouped by payout status (null counts as PENDING), upper-cased
+    @Query("SELECT UPPER(COALESCE(d.payoutStatus, 'PENDING')) AS payoutStatus, "
+            + "COUNT(d) AS dealCount, SUM(d.incentive) AS incentiveSum "
+            + "FROM Deal d LEFT JOIN d.user u "
+            + "WHERE UPPER(d.status) = 'APPROVED' "
+            + "AND (:orgName IS NULL OR u.organizationName = :orgName) "
+            + "GROUP BY UPPER(COALESCE(d.payoutStatus, 'PENDING'))")
+    java.util.List<PayoutStatusTotals> summarizePayoutsByStatus(@Param("orgName") String orgName);
+
+    interface PayoutStatusTotals {
+        String getPayoutStatus();
+
+        Long getDealCount();
+
+        Double getIncentiveSum();
+    }
+
+    String ROLLUP_TOTALS = "SELECT COUNT(d) AS dealCount, "
+            + "SUM(CASE WHEN UPPER(d.status) = 'APPROVED' THEN 1 ELSE 0 END) AS approvedCount, "
+            + "SUM(CASE WHEN UPPER(d.status) = 'REJECTED' THEN 1 ELSE 0 END) AS rejectedCount, "
+            + "SUM(CASE WHEN UPPER(d.status) = 'APPROVED' THEN d.incentive ELSE 0 END) AS incentiveSum, "
+            + "SUM(d.amount) AS amountSum, "
+            + "SUM(CASE WHEN UPPER(d.status) = 'APPROVED' THEN d.amount ELSE 0 END) AS approvedAmountSum "
+            + "FROM Deal d WHERE d.user.id = :userId ";
+
+    // Totals over all of one user's deals
+    @Query(ROLLUP_TOTALS)
+    RollupTotals aggregateForUser(@Param("userId") Long userId);
+
+    long countByStatus(String status);
+
+    // Totals for one user's deals dated in [from, to)
+    @Query(ROLLUP_TOTALS + "AND d.date >= :from AND d.date < :to")
+    RollupTotals aggregateForUserBetween(@Param("userId") Long userId,
+            @Param("from") java.time.LocalDate from,
+            @Param("to") java.time.LocalDate to);
+
+    @Query(ROLLUP_TOTALS + "AND d.date IS NULL")
+    RollupTotals aggregateUndatedForUser(@Param("userId") Long userId);
+
+    // SUM over zero rows is NULL, so callers must treat nulls as 0
+    interface RollupTotals {
+        Long getDealCount();
+
+        Long getApprovedCount();
+
+        Long getRejectedCount();
+
+        Double getIncentiveSum();
+
+        Double getAmountSum();
+
+        Double getApprovedAmountSum();
+    }
 }
@@ -0,0 +1,79 @@
+package org.example.salesincentivesystem.repository;
+
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import org.example.salesincentivesystem.entity.Deal;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reusable filters for deal queries so list endpoints can push their
+ * status/user/priority/org filtering into SQL instead of streaming the table.
+ */
+public final class DealSpecifications {
+
+    private DealSpecifications() {
+    }
+
+    // Matches the old findByUser_OrganizationName semantics (org of the assignee)
+    public static Specification<Deal> inOrganization(String organizationName) {
+        return (root, query, cb) -> organizationName == null ? null
+                : cb.equal(userJoin(root).get("organizationName"), organizationName);
+    }
+
+    /**
+     * The query's existing join to the assignee, so a projection that already
+     * joined app_users (DealListRepositoryImpl) is not joined a second time.
+     */
+    static From<Deal, ?> userJoin(Root<Deal> root) {
+        for (Join<Deal, ?> join : root.getJoins()) {
+            if (join.getAttribute().getName().equals("user")) {
+                return join;
+            }
+        }
+        return root.join("user");
+    }
+
+    public static Specification<Deal> idIn(java.util.Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Deal> assignedTo(Long userId) {
+        return (root, query, cb) -> userId == null ? null
+                : cb.equal(root.get("user").get("id"), userId);
+    }
+
+    // Case-insensitive, same as the previous in-memory equalsIgnoreCase filter
+    public static Specification<Deal> hasStatus(String status) {
+        return (root, query, cb) -> status == null ? null
+                : cb.equal(cb.upper(root.get("status")), status.toUpperCase());
+    }
+
+    public static Specification<Deal> hasPriority(String priority) {
+        return (root, query, cb) -> priority == null ? null
+                : cb.equal(cb.upper(root.get("priority")), priority.toUpperCase());
+    }
+
+    // Case-insensitive; a deal without a payout status counts as PENDING
+    public static Specification<Deal> hasPayoutStatus(String payoutStatus) {
+        return (root, query, cb) -> payoutStatus == null ? null
+                : cb.equal(cb.upper(cb.coalesce(root.get("payoutStatus"), "PENDING")), payoutStatus.toUpperCase());
+    }
+
+    /**
+     * Keyset predicate for "updatedAt DESC, id DESC" ordering: rows strictly
+     * after the last row of the previous page.
+     */
+    public static Specification<Deal> updatedBefore(LocalDateTime updatedAt, Long id) {
+        return (root, query, cb) -> {
+            if (updatedAt == null || id == null) {
+                return null;
+            }
+            return cb.or(
+                    cb.lessThan(root.get("updatedAt"), updatedAt),
+                    cb.and(cb.equal(root.get("updatedAt"), updatedAt), cb.lessThan(root.get("id"), id)));
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.salesincentivesystem.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.example.salesincentivesystem.entity.EmailMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailMessageRepository extends JpaRepository<EmailMessage, Long> {
+
+    // Oldest due messages; rows locked by another dispatcher are skipped (lock timeout -2 = SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM EmailMessage m WHERE m.status = 'PENDING' AND m.availableAt <= :now ORDER BY m.id")
+    List<EmailMessage> findDueForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Returns messages whose dispatcher died mid-send to the queue
+    @Modifying
+    @Query("UPDATE EmailMessage m SET m.status = 'PENDING' WHERE m.status = 'SENDING' AND m.claimedAt < :before")
+    int releaseStaleClaims(@Param("before") LocalDateTime before);
+
+    long countByStatus(String status);
+}
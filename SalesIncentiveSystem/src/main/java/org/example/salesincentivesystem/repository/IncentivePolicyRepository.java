@@ -1,12 +1,18 @@
 package org.example.salesincentivesystem.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.example.salesincentivesystem.entity.IncentivePolicy;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface IncentivePolicyRepository extends JpaRepository<IncentivePolicy, Long> {
+    // Backs the public incentives page
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "incentive_policies.queries") })
     List<IncentivePolicy> findAllByOrderByDisplayOrderAsc();
 }
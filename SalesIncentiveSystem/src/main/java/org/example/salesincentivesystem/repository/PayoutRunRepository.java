@@ -0,0 +1,10 @@
+package org.example.salesincentivesystem.repository;
+
+import org.example.salesincentivesystem.entity.PayoutRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface PayoutRunRepository extends JpaRepository<PayoutRun, Long> {
+    Optional<PayoutRun> findByKeyScopeAndIdempotencyKey(String keyScope, String idempotencyKey);
+}
@@ -1,25 +1,43 @@
 package org.example.salesincentivesystem.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.example.salesincentivesystem.entity.Policy;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
+// Finders run through the query cache; results are dropped whenever policies change
 @Repository
 public interface PolicyRepository extends JpaRepository<Policy, Long> {
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "policies.queries") })
     List<Policy> findByIsActiveTrue();
 
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "policies.queries") })
     List<Policy> findByType(String type);
 
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "policies.queries") })
     List<Policy> findByTypeAndIsActiveTrue(String type);
 
     // Organization-based finders
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "policies.queries") })
     List<Policy> findByOrganizationName(String organizationName);
 
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "policies.queries") })
     List<Policy> findByOrganizationNameAndIsActiveTrue(String organizationName);
 
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "policies.queries") })
     List<Policy> findByOrganizationNameAndType(String organizationName, String type);
 
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "policies.queries") })
     List<Policy> findByOrganizationNameAndTypeAndIsActiveTrue(String organizationName, String type);
 }
@@ -0,0 +1,7 @@
+package org.example.salesincentivesystem.repository;
+
+import org.example.salesincentivesystem.entity.ProfilePhoto;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ProfilePhotoRepository extends JpaRepository<ProfilePhoto, String> {
+}
@@ -1,9 +1,21 @@
 package org.example.salesincentivesystem.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.example.salesincentivesystem.entity.RoleConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import java.util.List;
 import java.util.Optional;
 
 public interface RoleConfigRepository extends JpaRepository<RoleConfig, Long> {
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "role_configs.queries") })
     Optional<RoleConfig> findByRoleName(String roleName);
+
+    // Listed on every request by its controller
+    @Override
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "role_configs.queries") })
+    List<RoleConfig> findAll();
 }
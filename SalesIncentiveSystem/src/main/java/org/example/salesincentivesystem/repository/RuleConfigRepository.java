@@ -1,11 +1,18 @@
 package org.example.salesincentivesystem.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.example.salesincentivesystem.entity.RuleConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.List;
 
 public interface RuleConfigRepository extends JpaRepository<RuleConfig, Long> {
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "rule_configs.queries") })
     List<RuleConfig> findByActiveTrue();
 
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "rule_configs.queries") })
     List<RuleConfig> findByOrganizationName(String organizationName);
 }
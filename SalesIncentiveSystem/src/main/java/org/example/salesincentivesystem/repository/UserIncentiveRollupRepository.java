@@ -0,0 +1,59 @@
+package org.example.salesincentivesystem.repository;
+
+import jakarta.persistence.LockModeType;
+import org.example.salesincentivesystem.entity.UserIncentiveRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface UserIncentiveRollupRepository extends JpaRepository<UserIncentiveRollup, Long> {
+    List<UserIncentiveRollup> findByUserId(Long userId);
+
+    Optional<UserIncentiveRollup> findByUserIdAndMonth(Long userId, String month);
+
+    // Creates an empty bucket unless it exists; a concurrent insert of the same
+    // bucket is waited for instead of failing on uk_rollup_user_month
+    @Modifying
+    @Query(value = "INSERT INTO user_incentive_rollup (user_id, rollup_month, deal_count, approved_count, "
+            + "rejected_count, incentive_sum, amount_sum, approved_amount_sum, updated_at) "
+            + "VALUES (:userId, :month, 0, 0, 0, 0, 0, 0, CURRENT_TIMESTAMP) "
+            + "ON CONFLICT (user_id, rollup_month) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("month") String month);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM UserIncentiveRollup r WHERE r.userId = :userId AND r.month = :month")
+    Optional<UserIncentiveRollup> findForUpdate(@Param("userId") Long userId, @Param("month") String month);
+
+    String LEADERBOARD_ROW = "SELECT r.userId AS userId, u.name AS name, u.organizationName AS organizationName, "
+            + "r.month AS month, r.incentiveSum AS incentiveSum, r.approvedAmountSum AS approvedAmountSum, "
+            + "r.approvedCount AS approvedCount FROM UserIncentiveRollup r, User u WHERE u.id = r.userId ";
+
+    // Dated buckets with approved deals, scoped to the user's current org (null = all orgs)
+    @Query(LEADERBOARD_ROW + "AND (:orgName IS NULL OR u.organizationName = :orgName) "
+            + "AND r.approvedCount > 0 AND r.month <> 'UNDATED'")
+    List<LeaderboardRow> findLeaderboardRows(@Param("orgName") String orgName);
+
+    @Query(LEADERBOARD_ROW + "AND r.userId = :userId AND r.month = :month")
+    Optional<LeaderboardRow> findLeaderboardRow(@Param("userId") Long userId, @Param("month") String month);
+
+    interface LeaderboardRow {
+        Long getUserId();
+
+        String getName();
+
+        String getOrganizationName();
+
+        String getMonth();
+
+        Double getIncentiveSum();
+
+        Double getApprovedAmountSum();
+
+        Long getApprovedCount();
+    }
+}
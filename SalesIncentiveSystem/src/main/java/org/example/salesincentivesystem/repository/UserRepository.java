@@ -10,4 +10,47 @@ public interface UserRepository extends JpaRepository<User, Long> {
     java.util.List<User> findByRole(String role);
 
     java.util.List<User> findByOrganizationName(String organizationName);
+
+    long countByOrganizationName(String organizationName);
+
+    // [User, SalesProfile, UserPreference, SalesPerformance] for one user; missing parts are null
+    @org.springframework.data.jpa.repository.Query("SELECT u, sp, up, perf FROM User u "
+            + "LEFT JOIN SalesProfile sp ON sp.user = u "
+            + "LEFT JOIN UserPreference up ON up.user = u "
+            + "LEFT JOIN SalesPerformance perf ON perf.user = u "
+            + "WHERE u.id = :userId")
+    java.util.List<Object[]> findProfileAggregate(
+            @org.springframework.data.repository.query.Param("userId") Long userId);
+
+    // [id, organizationName] pairs for the given users
+    @org.springframework.data.jpa.repository.Query("SELECT u.id, u.organizationName FROM User u WHERE u.id IN :ids")
+    java.util.List<Object[]> findOrganizationNamesByIds(
+            @org.springframework.data.repository.query.Param("ids") java.util.Collection<Long> ids);
+
+    // Broadcast recipients: a null org means every org, a null role means every role
+    @org.springframework.data.jpa.repository.Query("SELECT u.id FROM User u "
+            + "WHERE (:orgName IS NULL OR u.organizationName = :orgName) "
+            + "AND (:role IS NULL OR UPPER(u.role) = :role) ORDER BY u.id")
+    java.util.List<Long> findIdsByOrganizationAndRole(
+            @org.springframework.data.repository.query.Param("orgName") String organizationName,
+            @org.springframework.data.repository.query.Param("role") String role);
+
+    String LIST_ITEM_SELECT = "SELECT new org.example.salesincentivesystem.dto.UserListItem("
+            + "u.id, u.email, u.role, u.name, u.accountStatus, u.onboardingCompleted, u.mobile, u.department, "
+            + "u.organizationName, u.branch, u.jobTitle, u.managerName, u.territory, u.productCategory, "
+            + "u.experienceLevel, u.incentiveType) FROM User u";
+
+    // List-view rows without password/photo/settings columns
+    @org.springframework.data.jpa.repository.Query(LIST_ITEM_SELECT)
+    java.util.List<org.example.salesincentivesystem.dto.UserListItem> findAllListItems();
+
+    @org.springframework.data.jpa.repository.Query(LIST_ITEM_SELECT + " WHERE u.organizationName = :orgName")
+    java.util.List<org.example.salesincentivesystem.dto.UserListItem> findListItemsByOrganizationName(
+            @org.springframework.data.repository.query.Param("orgName") String organizationName);
+
+    // Slim principal for access checks (see RequestorService)
+    @org.springframework.data.jpa.repository.Query("SELECT new org.example.salesincentivesystem.dto.Requestor("
+            + "u.id, u.email, u.role, u.organizationName, u.accountStatus) FROM User u WHERE u.id = :id")
+    Optional<org.example.salesincentivesystem.dto.Requestor> findRequestorById(
+            @org.springframework.data.repository.query.Param("id") Long id);
 }
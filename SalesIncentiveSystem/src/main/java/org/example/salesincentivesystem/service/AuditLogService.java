@@ -2,7 +2,11 @@ package org.example.salesincentivesystem.service;
 
 import org.example.salesincentivesystem.entity.AuditLog;
 import org.example.salesincentivesystem.entity.User;
+import org.example.salesincentivesystem.dto.CursorPage;
 import org.example.salesincentivesystem.repository.AuditLogRepository;
+import org.example.salesincentivesystem.repository.AuditLogSpecifications;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -12,12 +16,19 @@ import java.util.List;
 public class AuditLogService {
 
     private final AuditLogRepository auditLogRepository;
-    private final org.example.salesincentivesystem.repository.UserRepository userRepository;
+    private final AuditLogWriter auditLogWriter;
 
-    public AuditLogService(AuditLogRepository auditLogRepository,
-            org.example.salesincentivesystem.repository.UserRepository userRepository) {
+    public AuditLogService(AuditLogRepository auditLogRepository, AuditLogWriter auditLogWriter) {
         this.auditLogRepository = auditLogRepository;
-        this.userRepository = userRepository;
+        this.auditLogWriter = auditLogWriter;
+    }
+
+    /**
+     * Queues an entry for the background writer. Entries with a userId but no
+     * organizationName get the user's org filled in when written.
+     */
+    public void record(AuditLog log) {
+        auditLogWriter.submit(log);
     }
 
     public void logAction(User actor, String action, String entityType, Long entityId, String details) {
@@ -29,38 +40,66 @@ public class AuditLogService {
                 entityId,
                 details,
                 actor != null ? actor.getOrganizationName() : null);
-        auditLogRepository.save(log);
+        record(log);
     }
 
     // Overload for system actions or when User object isn't fully available but
     // ID/Email is known
     public void logAction(Long userId, String email, String action, String entityType, Long entityId, String details) {
-        AuditLog log = new AuditLog(userId, email, action, entityType, entityId, details);
-        // Attempt to find organization name if userId is provided
-        if (userId != null) {
-            userRepository.findById(userId).ifPresent(user -> log.setOrganizationName(user.getOrganizationName()));
-        }
-        auditLogRepository.save(log);
+        // Organization name is resolved from userId by the writer
+        record(new AuditLog(userId, email, action, entityType, entityId, details));
     }
 
     // New overload with explicit Org Name
     public void logAction(Long userId, String email, String action, String entityType, Long entityId, String details,
             String organizationName) {
-        AuditLog log = new AuditLog(userId, email, action, entityType, entityId, details, organizationName);
-        auditLogRepository.save(log);
+        record(new AuditLog(userId, email, action, entityType, entityId, details, organizationName));
     }
 
+    // Newest first; id breaks ties between entries written in the same instant
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "timestamp")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
     public List<AuditLog> getAllLogs(String orgName) {
         if (orgName != null) {
-            return auditLogRepository.findAllByOrganizationNameWithFallback(orgName);
+            return auditLogRepository.findByOrganizationName(orgName, NEWEST_FIRST);
         }
-        org.springframework.data.domain.Sort sort = org.springframework.data.domain.Sort
-                .by(org.springframework.data.domain.Sort.Direction.DESC, "timestamp");
-        return auditLogRepository.findAll(sort);
+        return auditLogRepository.findAll(NEWEST_FIRST);
     }
 
     public List<AuditLog> searchLogs(String orgName, String action, String email, LocalDateTime start,
             LocalDateTime end) {
-        return auditLogRepository.searchLogs(orgName, action, email, start, end);
+        return auditLogRepository.findAll(searchFilter(orgName, action, email, start, end), NEWEST_FIRST);
+    }
+
+    /**
+     * Keyset-paginated search, newest first. {@code after} is the decoded
+     * nextCursor of the previous page, or null for the first page.
+     */
+    public CursorPage<AuditLog> searchLogsPage(String orgName, String action, String email, LocalDateTime start,
+            LocalDateTime end, CursorPage.Cursor after, int limit) {
+        Specification<AuditLog> spec = searchFilter(orgName, action, email, start, end);
+        if (after != null) {
+            spec = spec.and(AuditLogSpecifications.before(after.getTimestamp(), after.getId()));
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<AuditLog> rows = auditLogRepository.findBy(spec, q -> q.sortBy(NEWEST_FIRST).limit(limit + 1).all());
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            AuditLog last = rows.get(limit - 1);
+            nextCursor = CursorPage.encodeCursor(last.getTimestamp(), last.getId());
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    private Specification<AuditLog> searchFilter(String orgName, String action, String email, LocalDateTime start,
+            LocalDateTime end) {
+        return AuditLogSpecifications.inOrganization(orgName)
+                .and(AuditLogSpecifications.actionContains(action))
+                .and(AuditLogSpecifications.emailContains(email))
+                .and(AuditLogSpecifications.between(start, end));
     }
 }
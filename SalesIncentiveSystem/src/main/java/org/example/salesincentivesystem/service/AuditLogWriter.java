@@ -0,0 +1,207 @@
+package org.example.salesincentivesystem.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.salesincentivesystem.entity.AuditLog;
+import org.example.salesincentivesystem.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers audit entries in a bounded queue and writes them from a background
+ * thread in JDBC batches, flushing when a batch fills or the flush interval
+ * passes. When the queue is full the caller waits briefly, then either writes
+ * the entry itself (CALLER_RUNS, the default) or drops it (DROP).
+ */
+@Component
+public class AuditLogWriter {
+
+    public enum OverflowPolicy {
+        CALLER_RUNS, DROP
+    }
+
+    private static final String INSERT_SQL = "INSERT INTO audit_logs "
+            + "(user_id, email, action, ip_address, entity_type, entity_id, details, organization_name, timestamp) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final BlockingQueue<AuditLog> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+    private final OverflowPolicy overflowPolicy;
+
+    private final Counter written;
+    private final Counter delayed;
+    private final Counter dropped;
+    private final Counter callerRuns;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate,
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${audit.writer.queue-capacity:10000}") int queueCapacity,
+            @Value("${audit.writer.batch-size:200}") int batchSize,
+            @Value("${audit.writer.flush-interval-ms:1000}") long flushIntervalMillis,
+            @Value("${audit.writer.offer-timeout-ms:50}") long offerTimeoutMillis,
+            @Value("${audit.writer.overflow-policy:CALLER_RUNS}") OverflowPolicy overflowPolicy) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.overflowPolicy = overflowPolicy;
+
+        Gauge.builder("audit.writer.queue.depth", queue, BlockingQueue::size)
+                .description("Audit entries waiting to be written")
+                .register(meterRegistry);
+        this.written = meterRegistry.counter("audit.writer.written");
+        this.delayed = meterRegistry.counter("audit.writer.delayed");
+        this.dropped = meterRegistry.counter("audit.writer.dropped");
+        this.callerRuns = meterRegistry.counter("audit.writer.caller_runs");
+        this.failed = meterRegistry.counter("audit.writer.failed");
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        // Anything still queued is written before the datasource goes away
+        List<AuditLog> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            write(rest);
+        }
+    }
+
+    public void submit(AuditLog log) {
+        if (queue.offer(log)) {
+            return;
+        }
+        delayed.increment();
+        try {
+            if (queue.offer(log, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            dropped.increment();
+            return;
+        }
+        callerRuns.increment();
+        write(List.of(log));
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void drainLoop() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditLog first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.currentTimeMillis() + flushIntervalMillis;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    AuditLog next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Shutdown: flush what we have, stop() drains the rest
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+    }
+
+    private void write(List<AuditLog> batch) {
+        try {
+            fillOrganizationNames(batch);
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, log) -> {
+                ps.setObject(1, log.getUserId(), Types.BIGINT);
+                ps.setString(2, log.getEmail());
+                ps.setString(3, log.getAction());
+                ps.setString(4, log.getIpAddress());
+                ps.setString(5, log.getEntityType());
+                ps.setObject(6, log.getEntityId(), Types.BIGINT);
+                ps.setString(7, log.getDetails());
+                ps.setString(8, log.getOrganizationName());
+                ps.setTimestamp(9, log.getTimestamp() != null ? Timestamp.valueOf(log.getTimestamp()) : null);
+            });
+            written.increment(batch.size());
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            System.err.println("Failed to write " + batch.size() + " audit log entries: " + e.getMessage());
+        }
+    }
+
+    // Copies the actor's org onto entries logged without one, one query per batch
+    private void fillOrganizationNames(List<AuditLog> batch) {
+        Set<Long> userIds = new HashSet<>();
+        for (AuditLog log : batch) {
+            if (log.getOrganizationName() == null && log.getUserId() != null) {
+                userIds.add(log.getUserId());
+            }
+        }
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, String> orgByUser = new HashMap<>();
+        for (Object[] row : userRepository.findOrganizationNamesByIds(userIds)) {
+            orgByUser.put((Long) row[0], (String) row[1]);
+        }
+        for (AuditLog log : batch) {
+            if (log.getOrganizationName() == null && log.getUserId() != null) {
+                log.setOrganizationName(orgByUser.get(log.getUserId()));
+            }
+        }
+    }
+}
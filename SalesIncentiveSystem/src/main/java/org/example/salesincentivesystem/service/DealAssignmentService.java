@@ -0,0 +1,42 @@
+package org.example.salesincentivesystem.service;
+
+import org.example.salesincentivesystem.entity.Deal;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Persists admin-created deals. Onboarding tracking, the assignee notification
+ * and the audit entry are recorded as one outbox event in the same transaction
+ * and carried out by {@link OutboxDispatcher}.
+ */
+@Service
+public class DealAssignmentService {
+
+    private final IncentiveRollupService incentiveRollupService;
+    private final OutboxService outboxService;
+
+    public DealAssignmentService(IncentiveRollupService incentiveRollupService, OutboxService outboxService) {
+        this.incentiveRollupService = incentiveRollupService;
+        this.outboxService = outboxService;
+    }
+
+    @Transactional
+    public Deal createAssignedDeal(Deal deal) {
+        Deal saved = incentiveRollupService.saveDeal(deal);
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("dealId", saved.getId());
+        payload.put("dealName", saved.getDealName());
+        payload.put("organizationName", saved.getOrganizationName());
+        payload.put("amount", saved.getAmount());
+        payload.put("salesExecId", saved.getUser().getId());
+        payload.put("salesExecName", saved.getUser().getName());
+        payload.put("createdBy", saved.getCreatedBy());
+        outboxService.enqueue(OutboxService.DEAL_ASSIGNED, "DEAL", saved.getId(), payload);
+
+        return saved;
+    }
+}
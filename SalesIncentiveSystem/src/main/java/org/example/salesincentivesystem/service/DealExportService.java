@@ -0,0 +1,301 @@
+package org.example.salesincentivesystem.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams deals straight from a forward-only JDBC cursor to an output stream
+ * as CSV or NDJSON. Rows are fetched {@code export.fetch-size} at a time inside
+ * a read-only transaction (PostgreSQL only uses a cursor with autocommit off)
+ * and written as they arrive, so memory stays flat however many deals match.
+ */
+@Service
+public class DealExportService {
+
+    public enum Format {
+        CSV("text/csv;charset=UTF-8", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            if (value == null || value.isBlank()) {
+                return CSV;
+            }
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value) || format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value + " (csv or ndjson)");
+        }
+    }
+
+    /**
+     * Optional filters, all case-insensitive where they are text. A null field
+     * is not filtered on.
+     */
+    public static class Filter {
+        public String assigneeOrganization; // Org of the assigned user, like DealSpecifications.inOrganization
+        public Long userId;
+        public String status;
+        public String priority;
+        public String payoutStatus; // A deal without a payout status counts as PENDING
+    }
+
+    // Output column name -> SQL expression, in export order
+    private static final String[][] COLUMNS = {
+            { "id", "d.id" },
+            { "dealName", "d.deal_name" },
+            { "organizationName", "d.organization_name" },
+            { "clientName", "d.client_name" },
+            { "dealType", "d.deal_type" },
+            { "status", "d.status" },
+            { "priority", "d.priority" },
+            { "amount", "d.amount" },
+            { "incentive", "d.incentive" },
+            { "rate", "d.rate" },
+            { "currency", "d.currency" },
+            { "date", "d.date" },
+            { "expectedCloseDate", "d.expected_close_date" },
+            { "actualCloseDate", "d.actual_close_date" },
+            { "region", "d.region" },
+            { "industry", "d.industry" },
+            { "riskLevel", "d.risk_level" },
+            { "approvedBy", "d.approved_by" },
+            { "approvedAt", "d.approved_at" },
+            { "payoutStatus", "COALESCE(d.payout_status, 'PENDING')" },
+            { "payoutDate", "d.payout_date" },
+            { "createdAt", "d.created_at" },
+            { "updatedAt", "d.updated_at" },
+            { "userId", "u.id" },
+            { "userName", "u.name" },
+            { "userEmail", "u.email" },
+            { "userOrganizationName", "u.organization_name" }
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    public DealExportService(JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Writes every matching deal (ordered by id) to {@code out} and returns the
+     * number of rows written. The stream is flushed but not closed.
+     */
+    public long export(Filter filter, Format format, OutputStream out) {
+        List<Object> params = new ArrayList<>();
+        String sql = buildQuery(filter, params);
+
+        RowWriter writer = format == Format.NDJSON ? new NdjsonWriter(out) : new CsvWriter(out);
+        long[] rows = { 0 };
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, rs -> {
+            writer.row(rs);
+            rows[0]++;
+        }));
+        writer.finish();
+        return rows[0];
+    }
+
+    private String buildQuery(Filter filter, List<Object> params) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < COLUMNS.length; i++) {
+            sql.append(i > 0 ? ", " : "").append(COLUMNS[i][1]);
+        }
+        sql.append(" FROM deal d LEFT JOIN app_users u ON u.id = d.user_id WHERE 1 = 1");
+
+        if (filter.assigneeOrganization != null) {
+            sql.append(" AND u.organization_name = ?");
+            params.add(filter.assigneeOrganization);
+        }
+        if (filter.userId != null) {
+            sql.append(" AND d.user_id = ?");
+            params.add(filter.userId);
+        }
+        if (filter.status != null) {
+            sql.append(" AND UPPER(d.status) = ?");
+            params.add(filter.status.toUpperCase());
+        }
+        if (filter.priority != null) {
+            sql.append(" AND UPPER(d.priority) = ?");
+            params.add(filter.priority.toUpperCase());
+        }
+        if (filter.payoutStatus != null) {
+            sql.append(" AND UPPER(COALESCE(d.payout_status, 'PENDING')) = ?");
+            params.add(filter.payoutStatus.toUpperCase());
+        }
+        return sql.append(" ORDER BY d.id").toString();
+    }
+
+    // JDBC value as written to the export: dates and timestamps in ISO-8601
+    private static Object value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate().toString();
+        }
+        return value;
+    }
+
+    private interface RowWriter {
+        void row(ResultSet rs) throws SQLException;
+
+        void finish();
+    }
+
+    static final class CsvWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try {
+                for (int i = 0; i < COLUMNS.length; i++) {
+                    writer.write(i > 0 ? "," : "");
+                    writer.write(COLUMNS[i][0]);
+                }
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException {
+            try {
+                for (int i = 0; i < COLUMNS.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    Object value = value(rs, i + 1);
+                    if (value instanceof String text) {
+                        writer.write(escape(text));
+                    } else if (value != null) {
+                        writer.write(value.toString());
+                    }
+                }
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void finish() {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // RFC 4180 quoting; text starting with = + - @ is prefixed so spreadsheets don't run it as a formula
+        static String escape(String text) {
+            if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+                text = "'" + text;
+            }
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private final class NdjsonWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        NdjsonWriter(OutputStream out) {
+            try {
+                this.generator = objectMapper.getFactory().createGenerator(out);
+                this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                this.generator.setRootValueSeparator(null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException {
+            try {
+                generator.writeStartObject();
+                for (int i = 0; i < COLUMNS.length; i++) {
+                    generator.writeFieldName(COLUMNS[i][0]);
+                    Object value = value(rs, i + 1);
+                    if (value == null) {
+                        generator.writeNull();
+                    } else if (value instanceof Number || value instanceof Boolean) {
+                        generator.writeObject(value);
+                    } else {
+                        generator.writeString(value.toString());
+                    }
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void finish() {
+            try {
+                generator.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.salesincentivesystem.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.example.salesincentivesystem.entity.EmailMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls the email queue and sends due messages on a small bounded pool.
+ * Messages are grouped by template and sent in chunks of up to
+ * {@link EmailSender#maxRecipientsPerSend()} recipients per request; a message
+ * that already failed once is retried on its own so one bad address cannot
+ * keep failing a whole batch.
+ */
+@Component
+public class EmailDispatcher {
+
+    private final EmailService emailService;
+    private final EmailSender emailSender;
+    private final ExecutorService executor;
+    private final int batchSize;
+
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter dead;
+    private final Timer sendTimer;
+
+    public EmailDispatcher(EmailService emailService,
+            EmailSender emailSender,
+            MeterRegistry meterRegistry,
+            @Value("${email.batch-size:100}") int batchSize,
+            @Value("${email.executor.threads:4}") int threads,
+            @Value("${email.executor.queue-capacity:100}") int queueCapacity) {
+        this.emailService = emailService;
+        this.emailSender = emailSender;
+        this.batchSize = batchSize;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "email-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        // executor.* meters (active, queued, completed) tagged name=email
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "email");
+
+        this.sent = meterRegistry.counter("email.sent");
+        this.failed = meterRegistry.counter("email.failed");
+        this.dead = meterRegistry.counter("email.dead");
+        this.sendTimer = Timer.builder("email.send")
+                .description("Time per provider request (one chunk of recipients)")
+                .register(meterRegistry);
+        Gauge.builder("email.queue", emailService, service -> service.countByStatus(EmailMessage.PENDING))
+                .tag("status", "pending")
+                .register(meterRegistry);
+        Gauge.builder("email.queue", emailService, service -> service.countByStatus(EmailMessage.DEAD))
+                .tag("status", "dead")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    @Scheduled(fixedDelayString = "${email.dispatch-interval-ms:2000}")
+    public void dispatch() {
+        List<EmailMessage> batch;
+        do {
+            batch = emailService.claimBatch(batchSize);
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<CompletableFuture<Void>> sends = new ArrayList<>();
+            for (List<EmailMessage> chunk : chunk(batch)) {
+                sends.add(CompletableFuture.runAsync(() -> send(chunk), executor));
+            }
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).join();
+        } while (batch.size() == batchSize); // Keep draining while there is a backlog
+    }
+
+    private List<List<EmailMessage>> chunk(List<EmailMessage> batch) {
+        int maxRecipients = emailSender.maxRecipientsPerSend();
+        Map<String, List<EmailMessage>> firstAttempts = new LinkedHashMap<>();
+        List<List<EmailMessage>> chunks = new ArrayList<>();
+        for (EmailMessage message : batch) {
+            if (message.getAttempts() > 0) {
+                chunks.add(List.of(message));
+                continue;
+            }
+            List<EmailMessage> open = firstAttempts.computeIfAbsent(message.getTemplate(), t -> new ArrayList<>());
+            open.add(message);
+            if (open.size() >= maxRecipients) {
+                chunks.add(open);
+                firstAttempts.remove(message.getTemplate());
+            }
+        }
+        chunks.addAll(firstAttempts.values());
+        return chunks;
+    }
+
+    private void send(List<EmailMessage> chunk) {
+        List<Long> ids = new ArrayList<>();
+        for (EmailMessage message : chunk) {
+            ids.add(message.getId());
+        }
+        String template = chunk.get(0).getTemplate();
+        try {
+            List<EmailSender.Recipient> recipients = new ArrayList<>();
+            for (EmailMessage message : chunk) {
+                recipients.add(new EmailSender.Recipient(message.getRecipient(), emailService.substitutionsFor(message)));
+            }
+            sendTimer.recordCallable(() -> {
+                emailSender.send(emailService.subjectFor(template), emailService.htmlFor(template), recipients);
+                return null;
+            });
+        } catch (Exception e) {
+            System.err.println("Failed to send " + template + " email to " + ids.size() + " recipient(s): "
+                    + e.getMessage());
+            failed.increment(ids.size());
+            dead.increment(emailService.markFailed(ids, e.getClass().getSimpleName() + ": " + e.getMessage()));
+            return;
+        }
+        // Outside the try: a failure here must not schedule a resend of mail that already went out
+        emailService.markSent(ids);
+        sent.increment(ids.size());
+    }
+}
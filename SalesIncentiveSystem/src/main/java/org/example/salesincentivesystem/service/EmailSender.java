@@ -0,0 +1,46 @@
+package org.example.salesincentivesystem.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers one rendered template to a batch of recipients. Subject and body
+ * contain substitution tags (e.g. {@code -name-}) that are filled in per
+ * recipient. Chosen with email.sender: "sendgrid" (default) or "stub".
+ */
+public interface EmailSender {
+
+    /**
+     * Sends to every recipient or throws; a batch is never partly delivered.
+     */
+    void send(String subject, String html, List<Recipient> recipients) throws Exception;
+
+    // Most recipients one send() call accepts
+    int maxRecipientsPerSend();
+
+    final class Recipient {
+        private final String email;
+        private final Map<String, String> substitutions;
+
+        public Recipient(String email, Map<String, String> substitutions) {
+            this.email = email;
+            this.substitutions = substitutions;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public Map<String, String> getSubstitutions() {
+            return substitutions;
+        }
+
+        public String apply(String text) {
+            String result = text;
+            for (Map.Entry<String, String> entry : substitutions.entrySet()) {
+                result = result.replace(entry.getKey(), entry.getValue() != null ? entry.getValue() : "");
+            }
+            return result;
+        }
+    }
+}
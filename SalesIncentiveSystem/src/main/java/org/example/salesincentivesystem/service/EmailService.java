@@ -1,170 +1,249 @@
 package org.example.salesincentivesystem.service;
 
-import com.sendgrid.Method;
-import com.sendgrid.Request;
-import com.sendgrid.Response;
-import com.sendgrid.SendGrid;
-import com.sendgrid.helpers.mail.Mail;
-import com.sendgrid.helpers.mail.objects.Content;
-import com.sendgrid.helpers.mail.objects.Email;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.salesincentivesystem.entity.EmailMessage;
+import org.example.salesincentivesystem.repository.EmailMessageRepository;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Queues outgoing email. Callers only insert an {@link EmailMessage}; the
+ * {@link EmailDispatcher} sends due messages through the configured
+ * {@link EmailSender}, batching recipients of the same template, and reports
+ * back through markSent/markFailed.
+ *
+ * Templates use SendGrid substitution tags ({@code -name-}) rather than being
+ * formatted per recipient, so one rendered body serves a whole batch.
+ */
 @Service
 public class EmailService {
 
-    @Value("${SENDGRID_API_KEY:}")
-    private String sendGridApiKey;
+    public static final String WELCOME = "WELCOME";
+    public static final String INVITATION = "INVITATION";
+
+    private static final String WELCOME_SUBJECT = "Welcome to Sales Reward Engine - Enterprise Edition";
+    private static final String INVITATION_SUBJECT = "You've been invited to join -companyName- on Sales Reward Engine";
+
+    private static final String WELCOME_HTML = """
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <meta charset="UTF-8">
+                <meta name="viewport" content="width=device-width, initial-scale=1.0">
+            </head>
+            <body style="margin: 0; padding: 0; background-color: #f4f4f5; font-family: Arial, sans-serif;">
+                <div style="max-width: 600px; margin: 20px auto; background-color: #ffffff; border-radius: 12px; overflow: hidden; box-shadow: 0 4px 6px rgba(0,0,0,0.1);">
+                    <!-- Header -->
+                    <div style="background: linear-gradient(135deg, #4f46e5 0px, #7c3aed 100px); padding: 40px 20px; text-align: center; color: white;">
+                        <h1 style="margin: 0; font-size: 28px; font-weight: bold;">Sales Reward Engine</h1>
+                        <p style="margin: 8px 0 0 0; font-size: 16px; color: #e0e7ff;">Enterprise Sales Performance Platform</p>
+                    </div>
+
+                    <!-- Content -->
+                    <div style="padding: 40px 30px;">
+                        <h2 style="color: #1f2937; margin: 0 0 20px 0; font-size: 22px;">Welcome aboard, -name-! 🚀</h2>
+
+                        <p style="color: #4b5563; font-size: 16px; line-height: 1.6;">We are thrilled to have you join our enterprise platform. Your workspace has been successfully created and is ready for action.</p>
+
+                        <div style="background-color: #eff6ff; border-left: 4px solid #3b82f6; padding: 16px; margin: 24px 0; border-radius: 4px;">
+                            <p style="margin: 0; color: #1e40af; font-size: 14px;">
+                                <strong>Pro Tip:</strong> Start by inviting your sales team and configuring your first incentive policy to see immediate results.
+                            </p>
+                        </div>
 
-    @Value("${FRONTEND_URL:https://sales-reward-engine.vercel.app}")
-    private String frontendUrl;
+                        <p style="color: #4b5563; font-size: 16px; line-height: 1.6;">You can now access your dashboard to view your incentives, track real-time performance, and manage your deals.</p>
 
-    private static final String FROM_EMAIL = "teamsalesrewardengine@gmail.com";
-    private static final String FROM_NAME = "Sales Reward Engine";
+                        <!-- Button -->
+                        <div style="margin: 32px 0; text-align: center;">
+                            <a href="%s/login" target="_blank" style="display: inline-block; background-color: #4f46e5; color: white; padding: 14px 32px; text-decoration: none; border-radius: 8px; font-weight: 600; font-size: 16px;">
+                                Access Dashboard
+                            </a>
+                        </div>
 
-    @Async
-    public void sendWelcomeEmail(String to, String name) {
-        try {
-            Email from = new Email(FROM_EMAIL, FROM_NAME);
-            Email toEmail = new Email(to);
-            String subject = "Welcome to Sales Reward Engine - Enterprise Edition";
-
-            String htmlContent = """
-                    <!DOCTYPE html>
-                    <html>
-                    <head>
-                        <meta charset="UTF-8">
-                        <meta name="viewport" content="width=device-width, initial-scale=1.0">
-                    </head>
-                    <body style="margin: 0; padding: 0; background-color: #f4f4f5; font-family: Arial, sans-serif;">
-                        <div style="max-width: 600px; margin: 20px auto; background-color: #ffffff; border-radius: 12px; overflow: hidden; box-shadow: 0 4px 6px rgba(0,0,0,0.1);">
-                            <!-- Header -->
-                            <div style="background: linear-gradient(135deg, #4f46e5 0px, #7c3aed 100px); padding: 40px 20px; text-align: center; color: white;">
-                                <h1 style="margin: 0; font-size: 28px; font-weight: bold;">Sales Reward Engine</h1>
-                                <p style="margin: 8px 0 0 0; font-size: 16px; color: #e0e7ff;">Enterprise Sales Performance Platform</p>
+                        <hr style="border: none; border-top: 1px solid #e5e7eb; margin: 32px 0;">
+
+                        <p style="color: #6b7280; font-size: 14px;">If you have any questions, our support team is available 24/7.</p>
+                    </div>
+
+                    <!-- Footer -->
+                    <div style="background-color: #f9fafb; padding: 24px; text-align: center; border-top: 1px solid #e5e7eb;">
+                        <p style="font-size: 12px; color: #9ca3af; margin: 0;">© 2026 Sales Reward Engine. All rights reserved.</p>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """;
+
+    private static final String INVITATION_HTML = """
+                <html>
+                <body style="font-family: 'Inter', Arial, sans-serif; line-height: 1.6; color: #333; background-color: #f4f4f5; padding: 20px;">
+                    <div style="max-width: 600px; margin: 0 auto; background-color: #ffffff; border-radius: 12px; overflow: hidden; box-shadow: 0 4px 6px -1px rgba(0, 0, 0, 0.1);">
+                        <div style="background: linear-gradient(135deg, #4f46e5 0%, #7c3aed 100%); padding: 32px 20px; text-align: center;">
+                            <h1 style="color: #ffffff; margin: 0; font-size: 24px; font-weight: 700;">Sales Reward Engine</h1>
+                        </div>
+                        <div style="padding: 40px 30px;">
+                            <h2 style="color: #1f2937; margin-top: 0; font-size: 20px;">Hello there!</h2>
+                            <p style="color: #4b5563; font-size: 16px;">
+                                <strong>-inviterName-</strong> from <strong>-companyName-</strong> has invited you to join their sales team on Sales Reward Engine.
+                            </p>
+                            <p style="color: #4b5563; font-size: 16px;">Accept the invitation to start tracking your deals, viewing your real-time performance, and earning rewards.</p>
+                            <div style="margin: 32px 0; text-align: center;">
+                                <a href="-inviteLink-" style="display: inline-block; background-color: #4f46e5; color: white; padding: 14px 28px; text-decoration: none; border-radius: 8px; font-weight: 600; font-size: 16px;">
+                                    Join the Team
+                                </a>
                             </div>
+                            <p style="color: #6b7280; font-size: 14px;">This invitation link will expire in 48 hours. If you didn't expect this, you can safely ignore this email.</p>
+                        </div>
+                        <div style="background-color: #f9fafb; padding: 20px; text-align: center; border-top: 1px solid #e5e7eb;">
+                            <p style="font-size: 12px; color: #9ca3af; margin: 0;">&copy; 2026 Sales Reward Engine. All rights reserved.</p>
+                        </div>
+                    </div>
+                </body>
+                </html>
+            """;
+
+    private final EmailMessageRepository emailMessageRepository;
+    private final ObjectMapper objectMapper;
+    private final String frontendUrl;
+    private final int maxAttempts;
+    private final long claimTimeoutSeconds;
+
+    public EmailService(EmailMessageRepository emailMessageRepository, ObjectMapper objectMapper,
+            @Value("${FRONTEND_URL:https://sales-reward-engine.vercel.app}") String frontendUrl,
+            @Value("${email.max-attempts:8}") int maxAttempts,
+            @Value("${email.claim-timeout-seconds:300}") long claimTimeoutSeconds) {
+        this.emailMessageRepository = emailMessageRepository;
+        this.objectMapper = objectMapper;
+        this.frontendUrl = frontendUrl;
+        this.maxAttempts = maxAttempts;
+        this.claimTimeoutSeconds = claimTimeoutSeconds;
+    }
 
-                            <!-- Content -->
-                            <div style="padding: 40px 30px;">
-                                <h2 style="color: #1f2937; margin: 0 0 20px 0; font-size: 22px;">Welcome aboard, %s! 🚀</h2>
-
-                                <p style="color: #4b5563; font-size: 16px; line-height: 1.6;">We are thrilled to have you join our enterprise platform. Your workspace has been successfully created and is ready for action.</p>
-
-                                <div style="background-color: #eff6ff; border-left: 4px solid #3b82f6; padding: 16px; margin: 24px 0; border-radius: 4px;">
-                                    <p style="margin: 0; color: #1e40af; font-size: 14px;">
-                                        <strong>Pro Tip:</strong> Start by inviting your sales team and configuring your first incentive policy to see immediate results.
-                                    </p>
-                                </div>
-
-                                <p style="color: #4b5563; font-size: 16px; line-height: 1.6;">You can now access your dashboard to view your incentives, track real-time performance, and manage your deals.</p>
+    // Joins the caller's transaction when there is one, so the email only goes out if it commits
+    @Transactional
+    public void sendWelcomeEmail(String to, String name) {
+        Map<String, String> variables = new LinkedHashMap<>();
+        variables.put("name", name);
+        enqueue(WELCOME, to, variables);
+    }
 
-                                <!-- Button -->
-                                <div style="margin: 32px 0; text-align: center;">
-                                    <a href="%s/login" target="_blank" style="display: inline-block; background-color: #4f46e5; color: white; padding: 14px 32px; text-decoration: none; border-radius: 8px; font-weight: 600; font-size: 16px;">
-                                        Access Dashboard
-                                    </a>
-                                </div>
+    @Transactional
+    public void sendInvitationEmail(String to, String inviteLink, String inviterName, String companyName) {
+        Map<String, String> variables = new LinkedHashMap<>();
+        variables.put("inviteLink", inviteLink);
+        variables.put("inviterName", inviterName);
+        variables.put("companyName", companyName);
+        enqueue(INVITATION, to, variables);
+    }
 
-                                <hr style="border: none; border-top: 1px solid #e5e7eb; margin: 32px 0;">
+    private void enqueue(String template, String to, Map<String, String> variables) {
+        if (to == null || to.isBlank()) {
+            throw new RuntimeException("Email recipient is required");
+        }
+        try {
+            emailMessageRepository.save(new EmailMessage(template, to, objectMapper.writeValueAsString(variables)));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize email variables for " + template, e);
+        }
+    }
 
-                                <p style="color: #6b7280; font-size: 14px;">If you have any questions, our support team is available 24/7.</p>
-                            </div>
+    public String subjectFor(String template) {
+        switch (template) {
+            case WELCOME:
+                return WELCOME_SUBJECT;
+            case INVITATION:
+                return INVITATION_SUBJECT;
+            default:
+                throw new IllegalStateException("Unknown email template " + template);
+        }
+    }
 
-                            <!-- Footer -->
-                            <div style="background-color: #f9fafb; padding: 24px; text-align: center; border-top: 1px solid #e5e7eb;">
-                                <p style="font-size: 12px; color: #9ca3af; margin: 0;">© 2026 Sales Reward Engine. All rights reserved.</p>
-                            </div>
-                        </div>
-                    </body>
-                    </html>
-                    """
-                    .formatted(name, frontendUrl);
-
-            Content content = new Content("text/html", htmlContent);
-            Mail mail = new Mail(from, subject, toEmail, content);
-
-            sendEmail(mail);
-            System.out.println("Welcome email sent via SendGrid to: " + to);
-
-        } catch (Exception e) {
-            System.err.println("Failed to send welcome email: " + e.getMessage());
-            System.out.println("==================================================");
-            System.out.println("To: " + to);
-            System.out.println("Subject: Welcome to Sales Reward Engine");
-            System.out.println("Content: Welcome aboard, " + name + "! Your account is ready.");
-            System.out.println("==================================================");
-            // Don't block registration if email fails
+    public String htmlFor(String template) {
+        switch (template) {
+            case WELCOME:
+                return WELCOME_HTML.formatted(frontendUrl);
+            case INVITATION:
+                return INVITATION_HTML;
+            default:
+                throw new IllegalStateException("Unknown email template " + template);
         }
     }
 
-    public void sendInvitationEmail(String to, String inviteLink, String inviterName, String companyName)
-            throws Exception {
+    // Stored variables as substitution tags: {"name": "Ann"} -> {"-name-": "Ann"}
+    public Map<String, String> substitutionsFor(EmailMessage message) {
         try {
-            Email from = new Email(FROM_EMAIL, FROM_NAME);
-            Email toEmail = new Email(to);
-            String subject = "You've been invited to join " + companyName + " on Sales Reward Engine";
-
-            String htmlContent = """
-                        <html>
-                        <body style="font-family: 'Inter', Arial, sans-serif; line-height: 1.6; color: #333; background-color: #f4f4f5; padding: 20px;">
-                            <div style="max-width: 600px; margin: 0 auto; background-color: #ffffff; border-radius: 12px; overflow: hidden; box-shadow: 0 4px 6px -1px rgba(0, 0, 0, 0.1);">
-                                <div style="background: linear-gradient(135deg, #4f46e5 0%%, #7c3aed 100%%); padding: 32px 20px; text-align: center;">
-                                    <h1 style="color: #ffffff; margin: 0; font-size: 24px; font-weight: 700;">Sales Reward Engine</h1>
-                                </div>
-                                <div style="padding: 40px 30px;">
-                                    <h2 style="color: #1f2937; margin-top: 0; font-size: 20px;">Hello there!</h2>
-                                    <p style="color: #4b5563; font-size: 16px;">
-                                        <strong>%s</strong> from <strong>%s</strong> has invited you to join their sales team on Sales Reward Engine.
-                                    </p>
-                                    <p style="color: #4b5563; font-size: 16px;">Accept the invitation to start tracking your deals, viewing your real-time performance, and earning rewards.</p>
-                                    <div style="margin: 32px 0; text-align: center;">
-                                        <a href="%s" style="display: inline-block; background-color: #4f46e5; color: white; padding: 14px 28px; text-decoration: none; border-radius: 8px; font-weight: 600; font-size: 16px;">
-                                            Join the Team
-                                        </a>
-                                    </div>
-                                    <p style="color: #6b7280; font-size: 14px;">This invitation link will expire in 48 hours. If you didn't expect this, you can safely ignore this email.</p>
-                                </div>
-                                <div style="background-color: #f9fafb; padding: 20px; text-align: center; border-top: 1px solid #e5e7eb;">
-                                    <p style="font-size: 12px; color: #9ca3af; margin: 0;">&copy; 2026 Sales Reward Engine. All rights reserved.</p>
-                                </div>
-                            </div>
-                        </body>
-                        </html>
-                    """
-                    .formatted(inviterName, companyName, inviteLink);
-
-            Content content = new Content("text/html", htmlContent);
-            Mail mail = new Mail(from, subject, toEmail, content);
-
-            sendEmail(mail);
-            System.out.println("Invitation email sent via SendGrid to: " + to);
-
-        } catch (Exception e) {
-            System.err.println("Failed to send invitation email: " + e.getMessage());
-            System.out.println("==================================================");
-            System.out.println("To: " + to);
-            System.out.println("Subject: You've been invited to join " + companyName);
-            System.out.println("Invited By: " + inviterName);
-            System.out.println("Link: " + inviteLink);
-            System.out.println("==================================================");
-            throw e;
+            Map<String, String> variables = objectMapper.readValue(message.getVariables(),
+                    new TypeReference<Map<String, String>>() {
+                    });
+            Map<String, String> substitutions = new LinkedHashMap<>();
+            variables.forEach((key, value) -> substitutions.put("-" + key + "-", value));
+            return substitutions;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Unreadable variables for email " + message.getId(), e);
+        }
+    }
+
+    /**
+     * Marks up to {@code size} due messages as SENDING and returns them. Messages
+     * claimed by a dispatcher that never finished are released first.
+     */
+    @Transactional
+    public List<EmailMessage> claimBatch(int size) {
+        LocalDateTime now = LocalDateTime.now();
+        emailMessageRepository.releaseStaleClaims(now.minusSeconds(claimTimeoutSeconds));
+
+        List<EmailMessage> batch = emailMessageRepository.findDueForUpdate(now, PageRequest.of(0, size));
+        for (EmailMessage message : batch) {
+            message.setStatus(EmailMessage.SENDING);
+            message.setClaimedAt(now);
         }
+        return batch;
     }
 
-    private void sendEmail(Mail mail) throws Exception {
-        if (sendGridApiKey == null || sendGridApiKey.isEmpty()) {
-            throw new IllegalStateException("SENDGRID_API_KEY environment variable is not set");
+    @Transactional
+    public void markSent(List<Long> messageIds) {
+        LocalDateTime now = LocalDateTime.now();
+        for (EmailMessage message : emailMessageRepository.findAllById(messageIds)) {
+            message.setStatus(EmailMessage.SENT);
+            message.setSentAt(now);
         }
-        SendGrid sg = new SendGrid(sendGridApiKey);
-        Request request = new Request();
-        request.setMethod(Method.POST);
-        request.setEndpoint("mail/send");
-        request.setBody(mail.build());
-        Response response = sg.api(request);
-        System.out.println("SendGrid response status: " + response.getStatusCode());
-        if (response.getStatusCode() >= 400) {
-            throw new RuntimeException("SendGrid error: " + response.getStatusCode() + " - " + response.getBody());
+    }
+
+    /**
+     * Schedules a retry with exponential backoff (capped at 5 minutes), or parks
+     * the message as DEAD once maxAttempts is reached. Returns how many went DEAD.
+     */
+    @Transactional
+    public int markFailed(List<Long> messageIds, String error) {
+        String trimmed = error != null && error.length() > 2000 ? error.substring(0, 2000) : error;
+        int dead = 0;
+        for (EmailMessage message : emailMessageRepository.findAllById(messageIds)) {
+            int attempts = message.getAttempts() + 1;
+            message.setAttempts(attempts);
+            message.setLastError(trimmed);
+            if (attempts >= maxAttempts) {
+                message.setStatus(EmailMessage.DEAD);
+                dead++;
+                System.err.println("Email " + message.getId() + " (" + message.getTemplate() + ") to "
+                        + message.getRecipient() + " failed permanently: " + error);
+            } else {
+                message.setStatus(EmailMessage.PENDING);
+                message.setAvailableAt(LocalDateTime.now().plusSeconds(Math.min(1L << attempts, 300L)));
+            }
         }
+        return dead;
+    }
+
+    public long countByStatus(String status) {
+        return emailMessageRepository.countByStatus(status);
     }
 }
@@ -0,0 +1,200 @@
+package org.example.salesincentivesystem.service;
+
+import org.example.salesincentivesystem.entity.Deal;
+import org.example.salesincentivesystem.entity.UserIncentiveRollup;
+import org.example.salesincentivesystem.repository.DealRepository;
+import org.example.salesincentivesystem.repository.DealRepository.RollupTotals;
+import org.example.salesincentivesystem.repository.UserIncentiveRollupRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the user_incentive_rollup table. Every code path that changes a
+ * deal's status, amount, incentive or assignee should save through
+ * {@link #saveDeal} so the deal and its rollup rows commit together.
+ */
+@Service
+public class IncentiveRollupService {
+
+    private final DealRepository dealRepository;
+    private final UserIncentiveRollupRepository rollupRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public IncentiveRollupService(DealRepository dealRepository, UserIncentiveRollupRepository rollupRepository,
+            ApplicationEventPublisher eventPublisher) {
+        this.dealRepository = dealRepository;
+        this.rollupRepository = rollupRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public Deal saveDeal(Deal deal) {
+        return saveDeal(deal, null);
+    }
+
+    /**
+     * Saves the deal and refreshes the rollup bucket it falls into.
+     *
+     * @param previousUserId the assignee before this change, if it was
+     *                       reassigned, so their bucket is refreshed too
+     */
+    @Transactional
+    public Deal saveDeal(Deal deal, Long previousUserId) {
+        Deal saved = dealRepository.saveAndFlush(deal);
+        Long userId = saved.getUser() != null ? saved.getUser().getId() : null;
+        List<Long> userIds = new java.util.ArrayList<>();
+        if (userId != null) {
+            userIds.add(userId);
+        }
+        if (previousUserId != null && !previousUserId.equals(userId)) {
+            userIds.add(previousUserId);
+        }
+        // Lower id first, so reassignments in opposite directions can't deadlock on the bucket locks
+        userIds.sort(null);
+        for (Long id : userIds) {
+            refresh(id, saved.getDate());
+        }
+        return saved;
+    }
+
+    /**
+     * Recomputes one (user, month) bucket from the deal table. Only that user's
+     * deals for that month are aggregated, so this stays cheap and also heals
+     * any drift from writes that bypassed {@link #saveDeal}. The bucket row is
+     * locked before aggregating, so a concurrent refresh of the same bucket waits
+     * and then aggregates with this transaction's deals committed.
+     */
+    @Transactional
+    public void refresh(Long userId, LocalDate date) {
+        String month = monthKey(date);
+        UserIncentiveRollup row = lockBucket(userId, month);
+
+        RollupTotals totals;
+        if (date == null) {
+            totals = dealRepository.aggregateUndatedForUser(userId);
+        } else {
+            YearMonth ym = YearMonth.from(date);
+            totals = dealRepository.aggregateForUserBetween(userId, ym.atDay(1), ym.plusMonths(1).atDay(1));
+        }
+
+        long dealCount = orZero(totals.getDealCount());
+        if (dealCount == 0) {
+            boolean existed = row.getDealCount() > 0;
+            rollupRepository.delete(row);
+            if (existed) {
+                eventPublisher.publishEvent(new RollupChanged(userId, month));
+            }
+            return;
+        }
+
+        row.setDealCount(dealCount);
+        row.setApprovedCount(orZero(totals.getApprovedCount()));
+        row.setRejectedCount(orZero(totals.getRejectedCount()));
+        row.setIncentiveSum(orZero(totals.getIncentiveSum()));
+        row.setAmountSum(orZero(totals.getAmountSum()));
+        row.setApprovedAmountSum(orZero(totals.getApprovedAmountSum()));
+        row.setUpdatedAt(LocalDateTime.now());
+        rollupRepository.save(row);
+        eventPublisher.publishEvent(new RollupChanged(userId, month));
+    }
+
+    private UserIncentiveRollup lockBucket(Long userId, String month) {
+        while (true) {
+            rollupRepository.insertIfAbsent(userId, month);
+            java.util.Optional<UserIncentiveRollup> row = rollupRepository.findForUpdate(userId, month);
+            if (row.isPresent()) {
+                return row.get();
+            }
+            // Deleted by the refresh that held the lock before us: create it again
+        }
+    }
+
+    /**
+     * Seeds the rollup from existing deals the first time the table is
+     * introduced. Later boots skip this because the table is non-empty.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (rollupRepository.count() > 0 || dealRepository.count() == 0) {
+            return;
+        }
+        System.out.println("Backfilling user_incentive_rollup from existing deals...");
+
+        Map<Long, Map<String, List<Deal>>> byUserAndMonth = dealRepository.findAll().stream()
+                .filter(d -> d.getUser() != null && d.getUser().getId() != null)
+                .collect(Collectors.groupingBy(d -> d.getUser().getId(),
+                        Collectors.groupingBy(d -> monthKey(d.getDate()))));
+
+        byUserAndMonth.forEach((userId, months) -> months.forEach((month, deals) -> {
+            UserIncentiveRollup row = new UserIncentiveRollup(userId, month);
+            for (Deal d : deals) {
+                boolean approved = "APPROVED".equalsIgnoreCase(d.getStatus());
+                row.setDealCount(row.getDealCount() + 1);
+                row.setAmountSum(row.getAmountSum() + d.getAmount());
+                if (approved) {
+                    row.setApprovedCount(row.getApprovedCount() + 1);
+                    row.setIncentiveSum(row.getIncentiveSum() + d.getIncentive());
+                    row.setApprovedAmountSum(row.getApprovedAmountSum() + d.getAmount());
+                } else if ("REJECTED".equalsIgnoreCase(d.getStatus())) {
+                    row.setRejectedCount(row.getRejectedCount() + 1);
+                }
+            }
+            row.setUpdatedAt(LocalDateTime.now());
+            rollupRepository.save(row);
+        }));
+
+        eventPublisher.publishEvent(new RollupRebuilt());
+        System.out.println("Rollup backfill completed for " + byUserAndMonth.size() + " users.");
+    }
+
+    /**
+     * Published inside the refreshing transaction; listeners that keep derived
+     * state (e.g. the leaderboard index) should react after commit.
+     */
+    public static class RollupChanged {
+        private final Long userId;
+        private final String month;
+
+        public RollupChanged(Long userId, String month) {
+            this.userId = userId;
+            this.month = month;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getMonth() {
+            return month;
+        }
+    }
+
+    /**
+     * Published after a bulk backfill; derived state should be discarded.
+     */
+    public static class RollupRebuilt {
+    }
+
+    public static String monthKey(LocalDate date) {
+        return date == null ? UserIncentiveRollup.UNDATED : YearMonth.from(date).toString();
+    }
+
+    private static long orZero(Long value) {
+        return value == null ? 0L : value;
+    }
+
+    private static double orZero(Double value) {
+        return value == null ? 0.0 : value;
+    }
+}
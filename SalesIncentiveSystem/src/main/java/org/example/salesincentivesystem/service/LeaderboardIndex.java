@@ -0,0 +1,188 @@
+package org.example.salesincentivesystem.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ranked standings for one leaderboard (one org, one period), stored in a
+ * size-augmented treap ordered by incentive descending, then user id. Updates,
+ * rank-of-user and positional lookups are O(log n); top-N and range queries
+ * are O(log n + k).
+ *
+ * Not thread-safe: the owning board set in LeaderboardService guards access.
+ */
+class LeaderboardIndex {
+
+    static final class Standing {
+        final Long userId;
+        final String name;
+        final double incentive;
+        final double amount;
+        final long deals;
+
+        Standing(Long userId, String name, double incentive, double amount, long deals) {
+            this.userId = userId;
+            this.name = name;
+            this.incentive = incentive;
+            this.amount = amount;
+            this.deals = deals;
+        }
+    }
+
+    private static final class Node {
+        final Standing standing;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(Standing standing) {
+            this.standing = standing;
+        }
+    }
+
+    private final Map<Long, Standing> byUser = new HashMap<>();
+    private Node root;
+    private long totalDeals;
+
+    /**
+     * Inserts or replaces the user's standing. A standing with no deals removes
+     * the user from the board.
+     */
+    void put(Standing standing) {
+        remove(standing.userId);
+        if (standing.deals <= 0) {
+            return;
+        }
+        byUser.put(standing.userId, standing);
+        Node[] parts = split(root, standing);
+        root = merge(merge(parts[0], new Node(standing)), parts[1]);
+        totalDeals += standing.deals;
+    }
+
+    void remove(Long userId) {
+        Standing old = byUser.remove(userId);
+        if (old == null) {
+            return;
+        }
+        Node[] parts = split(root, old);
+        root = merge(parts[0], removeFirst(parts[1]));
+        totalDeals -= old.deals;
+    }
+
+    /**
+     * @return 1-based rank of the user, or 0 if they are not on the board
+     */
+    int rankOf(Long userId) {
+        Standing standing = byUser.get(userId);
+        if (standing == null) {
+            return 0;
+        }
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int c = compare(node.standing, standing);
+            if (c < 0) {
+                before += size(node.left) + 1;
+                node = node.right;
+            } else if (c > 0) {
+                node = node.left;
+            } else {
+                before += size(node.left);
+                break;
+            }
+        }
+        return before + 1;
+    }
+
+    List<Standing> top(int n) {
+        return range(0, n);
+    }
+
+    /**
+     * Standings at 0-based positions [from, to).
+     */
+    List<Standing> range(int from, int to) {
+        List<Standing> out = new ArrayList<>();
+        collect(root, 0, Math.max(0, from), Math.min(to, size()), out);
+        return out;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    long totalDeals() {
+        return totalDeals;
+    }
+
+    private static int compare(Standing a, Standing b) {
+        int c = Double.compare(b.incentive, a.incentive);
+        return c != 0 ? c : Long.compare(a.userId, b.userId);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    // Splits into (< key) and (>= key)
+    private static Node[] split(Node node, Standing key) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(node.standing, key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            return new Node[] { update(node), parts[1] };
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        return new Node[] { parts[0], update(node) };
+    }
+
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            return update(a);
+        }
+        b.left = merge(a, b.left);
+        return update(b);
+    }
+
+    private static Node removeFirst(Node node) {
+        if (node == null) {
+            return null;
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeFirst(node.left);
+        return update(node);
+    }
+
+    private static void collect(Node node, int offset, int from, int to, List<Standing> out) {
+        if (node == null || offset >= to || offset + node.size <= from) {
+            return;
+        }
+        collect(node.left, offset, from, to, out);
+        int index = offset + size(node.left);
+        if (index >= from && index < to) {
+            out.add(node.standing);
+        }
+        collect(node.right, index + 1, from, to, out);
+    }
+}
@@ -1,155 +1,300 @@
 package org.example.salesincentivesystem.service;
 
 import org.example.salesincentivesystem.dto.LeaderboardEntry;
-import org.example.salesincentivesystem.entity.Deal;
-import org.example.salesincentivesystem.repository.DealRepository;
+import org.example.salesincentivesystem.entity.UserIncentiveRollup;
+import org.example.salesincentivesystem.repository.UserIncentiveRollupRepository;
+import org.example.salesincentivesystem.repository.UserIncentiveRollupRepository.LeaderboardRow;
+import org.example.salesincentivesystem.service.LeaderboardIndex.Standing;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.*;
-import java.util.stream.Collectors;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves leaderboards from in-memory {@link LeaderboardIndex} boards, one per
+ * org and period (month, year, all-time). Boards for an org are built from the
+ * incentive rollup on first use and then kept current by rollup change events,
+ * so both /api/leaderboard and the performance summary rank from the same
+ * index without re-reading deals.
+ */
 @Service
 public class LeaderboardService {
 
-    private final DealRepository dealRepository;
+    private static final String ALL_ORGS = "*";
+    private static final String ALL_TIME = "ALL";
+
+    private final UserIncentiveRollupRepository rollupRepository;
+    private final ConcurrentMap<String, OrgBoards> boardsByOrg = new ConcurrentHashMap<>();
+    // Serializes change events so a row read earlier is never applied after one read later
+    private final ReentrantLock changeLock = new ReentrantLock();
 
-    public LeaderboardService(DealRepository dealRepository) {
-        this.dealRepository = dealRepository;
+    public LeaderboardService(UserIncentiveRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
     }
 
     public List<LeaderboardEntry> getLeaderboard(String period, String orgName) {
-        // Fetch relevant approved deals
-        List<Deal> allDeals;
-        if (orgName != null) {
-            allDeals = dealRepository.findByUser_OrganizationName(orgName);
-        } else {
-            allDeals = dealRepository.findAll();
-        }
-
-        allDeals = allDeals.stream()
-                .filter(d -> "APPROVED".equalsIgnoreCase(d.getStatus()))
-                .filter(d -> d.getUser() != null)
-                .collect(Collectors.toList());
-
-        // Filter deals for current period
-        List<Deal> currentPeriodDeals = filterDealsByPeriod(allDeals, period, false);
-
-        // Filter deals for previous period (for trend calculation)
-        List<Deal> previousPeriodDeals = filterDealsByPeriod(allDeals, period, true);
-
-        // Group current period deals by user
-        Map<Long, LeaderboardEntry> userStats = new HashMap<>();
-
-        for (Deal deal : currentPeriodDeals) {
-            Long userId = deal.getUser().getId();
-
-            if (!userStats.containsKey(userId)) {
-                LeaderboardEntry entry = new LeaderboardEntry();
-                entry.setUserId(userId);
-                entry.setName(deal.getUser().getName());
-                entry.setTotalIncentive(0.0);
-                entry.setDeals(0);
-                entry.setTotalAmount(0.0);
-                userStats.put(userId, entry);
+        return getTop(period, orgName, Integer.MAX_VALUE);
+    }
+
+    public List<LeaderboardEntry> getTop(String period, String orgName, int limit) {
+        OrgBoards boards = boardsFor(orgName);
+        String[] keys = periodKeys(period);
+        boards.lock.lock();
+        try {
+            LeaderboardIndex current = boards.board(keys[0]);
+            return toEntries(current.top(limit), 1, current, boards.board(keys[1]));
+        } finally {
+            boards.lock.unlock();
+        }
+    }
+
+    /**
+     * The user plus up to {@code radius} places above and below them.
+     */
+    public List<LeaderboardEntry> getNeighbours(String period, String orgName, Long userId, int radius) {
+        OrgBoards boards = boardsFor(orgName);
+        String[] keys = periodKeys(period);
+        boards.lock.lock();
+        try {
+            LeaderboardIndex current = boards.board(keys[0]);
+            int rank = current.rankOf(userId);
+            if (rank == 0) {
+                return new ArrayList<>();
             }
+            int from = Math.max(0, rank - 1 - radius);
+            return toEntries(current.range(from, rank + radius), from + 1, current, boards.board(keys[1]));
+        } finally {
+            boards.lock.unlock();
+        }
+    }
 
-            LeaderboardEntry entry = userStats.get(userId);
-            entry.setTotalIncentive(entry.getTotalIncentive() + deal.getIncentive());
-            entry.setTotalAmount(entry.getTotalAmount() + deal.getAmount());
-            entry.setDeals(entry.getDeals() + 1);
+    /**
+     * @return 1-based rank of the user for the period, or 0 if they have no
+     *         approved deals in it
+     */
+    public int getRank(Long userId, String period, String orgName) {
+        OrgBoards boards = boardsFor(orgName);
+        boards.lock.lock();
+        try {
+            return boards.board(periodKeys(period)[0]).rankOf(userId);
+        } finally {
+            boards.lock.unlock();
         }
+    }
 
-        // Calculate derived metrics
-        int totalDealsInPeriod = currentPeriodDeals.size();
-        for (LeaderboardEntry entry : userStats.values()) {
-            // Average deal size
-            entry.setAvgDealSize(entry.getDeals() > 0 ? entry.getTotalAmount() / entry.getDeals() : 0.0);
+    public int getRankedCount(String period, String orgName) {
+        OrgBoards boards = boardsFor(orgName);
+        boards.lock.lock();
+        try {
+            return boards.board(periodKeys(period)[0]).size();
+        } finally {
+            boards.lock.unlock();
+        }
+    }
 
-            // Win rate (percentage of total deals in period)
-            entry.setWinRate(totalDealsInPeriod > 0 ? (entry.getDeals() * 100.0) / totalDealsInPeriod : 0.0);
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRollupChanged(IncentiveRollupService.RollupChanged event) {
+        if (UserIncentiveRollup.UNDATED.equals(event.getMonth()) || boardsByOrg.isEmpty()) {
+            return;
         }
+        changeLock.lock();
+        try {
+            LeaderboardRow row = rollupRepository.findLeaderboardRow(event.getUserId(), event.getMonth())
+                    .orElse(null);
+            for (OrgBoards boards : boardsByOrg.values()) {
+                boards.apply(event.getUserId(), event.getMonth(), row);
+            }
+        } finally {
+            changeLock.unlock();
+        }
+    }
 
-        // Calculate previous period rankings for trend
-        Map<Long, Integer> previousRanks = calculateRankings(previousPeriodDeals);
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRollupRebuilt(IncentiveRollupService.RollupRebuilt event) {
+        boardsByOrg.clear();
+    }
 
-        // Sort by total incentive descending and assign ranks
-        List<LeaderboardEntry> sortedEntries = userStats.values().stream()
-                .sorted((a, b) -> Double.compare(b.getTotalIncentive(), a.getTotalIncentive()))
-                .collect(Collectors.toList());
+    private OrgBoards boardsFor(String orgName) {
+        OrgBoards boards = boardsByOrg.computeIfAbsent(orgName == null ? ALL_ORGS : orgName,
+                key -> new OrgBoards(orgName));
+        boards.ensureLoaded();
+        return boards;
+    }
 
-        for (int i = 0; i < sortedEntries.size(); i++) {
-            LeaderboardEntry entry = sortedEntries.get(i);
-            int currentRank = i + 1;
+    private List<LeaderboardEntry> toEntries(List<Standing> standings, int firstRank, LeaderboardIndex current,
+            LeaderboardIndex previous) {
+        long totalDealsInPeriod = current.totalDeals();
+        List<LeaderboardEntry> entries = new ArrayList<>(standings.size());
+        int currentRank = firstRank;
+        for (Standing s : standings) {
+            LeaderboardEntry entry = new LeaderboardEntry(s.userId, s.name, s.incentive, (int) s.deals, s.amount);
+            // Win rate (percentage of total deals in period)
+            entry.setWinRate(totalDealsInPeriod > 0 ? (s.deals * 100.0) / totalDealsInPeriod : 0.0);
             entry.setRank(currentRank);
 
-            // Calculate trend (positive = moved up in rankings)
-            Integer previousRank = previousRanks.get(entry.getUserId());
-            if (previousRank != null) {
-                entry.setTrend(previousRank - currentRank);
-            } else {
-                entry.setTrend(0); // New to leaderboard
-            }
+            // Calculate trend (positive = moved up in rankings, 0 = new to leaderboard)
+            int previousRank = previous != null ? previous.rankOf(s.userId) : 0;
+            entry.setTrend(previousRank > 0 ? previousRank - currentRank : 0);
+
+            entries.add(entry);
+            currentRank++;
         }
+        return entries;
+    }
 
-        return sortedEntries;
+    /**
+     * Board keys for the requested period and the period before it (for
+     * trends). All-time has no previous period.
+     */
+    private static String[] periodKeys(String period) {
+        YearMonth thisMonth = YearMonth.from(LocalDate.now());
+        switch (period.toUpperCase()) {
+            case "THIS_MONTH":
+                return new String[] { monthBoard(thisMonth.toString()), monthBoard(thisMonth.minusMonths(1).toString()) };
+            case "LAST_MONTH":
+                return new String[] { monthBoard(thisMonth.minusMonths(1).toString()),
+                        monthBoard(thisMonth.minusMonths(2).toString()) };
+            case "THIS_YEAR":
+                return new String[] { yearBoard(thisMonth.getYear()), yearBoard(thisMonth.getYear() - 1) };
+            case "ALL_TIME":
+            default:
+                return new String[] { ALL_TIME, null };
+        }
     }
 
-    private List<Deal> filterDealsByPeriod(List<Deal> deals, String period, boolean previous) {
-        LocalDate now = LocalDate.now();
+    private static String monthBoard(String month) {
+        return "M:" + month;
+    }
 
-        return deals.stream().filter(deal -> {
-            if (deal.getDate() == null)
-                return false;
+    private static String yearBoard(int year) {
+        return "Y:" + year;
+    }
 
-            LocalDate dealDate = deal.getDate();
+    // Boards a bucket for the given yyyy-MM month contributes to
+    private static List<String> boardsForMonth(String month) {
+        return List.of(monthBoard(month), "Y:" + month.substring(0, 4), ALL_TIME);
+    }
 
-            switch (period.toUpperCase()) {
-                case "THIS_MONTH":
-                    if (previous) {
-                        YearMonth lastMonth = YearMonth.from(now).minusMonths(1);
-                        return YearMonth.from(dealDate).equals(lastMonth);
-                    } else {
-                        return YearMonth.from(dealDate).equals(YearMonth.from(now));
-                    }
+    private static final class Bucket {
+        final double incentive;
+        final double amount;
+        final long deals;
+
+        Bucket(double incentive, double amount, long deals) {
+            this.incentive = incentive;
+            this.amount = amount;
+            this.deals = deals;
+        }
+    }
 
-                case "LAST_MONTH":
-                    YearMonth targetMonth = YearMonth.from(now).minusMonths(previous ? 2 : 1);
-                    return YearMonth.from(dealDate).equals(targetMonth);
+    /**
+     * All boards for one org (or all orgs). Keeps each user's monthly buckets so
+     * year and all-time standings are re-summed rather than patched with
+     * deltas, which makes applying a change idempotent.
+     */
+    private final class OrgBoards {
+        private final String orgName;
+        private final Map<Long, Map<String, Bucket>> bucketsByUser = new HashMap<>();
+        private final Map<Long, String> names = new HashMap<>();
+        private final Map<String, LeaderboardIndex> boards = new HashMap<>();
+        // Not synchronized: loading does JDBC, which must not pin a virtual thread's carrier
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean loaded;
+
+        OrgBoards(String orgName) {
+            this.orgName = orgName;
+        }
 
-                case "THIS_YEAR":
-                    int targetYear = now.getYear() - (previous ? 1 : 0);
-                    return dealDate.getYear() == targetYear;
+        void ensureLoaded() {
+            lock.lock();
+            try {
+                load();
+            } finally {
+                lock.unlock();
+            }
+        }
 
-                case "ALL_TIME":
-                default:
-                    return !previous; // For all-time, no previous period comparison
+        private void load() {
+            if (loaded) {
+                return;
             }
-        }).collect(Collectors.toList());
-    }
+            for (LeaderboardRow row : rollupRepository.findLeaderboardRows(orgName)) {
+                bucketsByUser.computeIfAbsent(row.getUserId(), id -> new HashMap<>())
+                        .put(row.getMonth(), toBucket(row));
+                names.put(row.getUserId(), row.getName());
+            }
+            for (Map.Entry<Long, Map<String, Bucket>> entry : bucketsByUser.entrySet()) {
+                Set<String> keys = new HashSet<>();
+                entry.getValue().keySet().forEach(month -> keys.addAll(boardsForMonth(month)));
+                restate(entry.getKey(), keys);
+            }
+            loaded = true;
+        }
 
-    private Map<Long, Integer> calculateRankings(List<Deal> deals) {
-        // Group by user and sum incentives
-        Map<Long, Double> userIncentives = new HashMap<>();
+        void apply(Long userId, String month, LeaderboardRow row) {
+            lock.lock();
+            try {
+                applyLocked(userId, month, row);
+            } finally {
+                lock.unlock();
+            }
+        }
 
-        for (Deal deal : deals) {
-            if (deal.getUser() == null)
-                continue;
-            Long userId = deal.getUser().getId();
-            userIncentives.merge(userId, deal.getIncentive(), Double::sum);
+        private void applyLocked(Long userId, String month, LeaderboardRow row) {
+            if (!loaded) {
+                return; // Loading reads committed state, which already includes this change
+            }
+            boolean belongs = row != null && (orgName == null || orgName.equals(row.getOrganizationName()));
+            if (!belongs && !bucketsByUser.containsKey(userId)) {
+                return;
+            }
+            Map<String, Bucket> buckets = bucketsByUser.computeIfAbsent(userId, id -> new HashMap<>());
+            if (belongs && row.getApprovedCount() != null && row.getApprovedCount() > 0) {
+                buckets.put(month, toBucket(row));
+                names.put(userId, row.getName());
+            } else {
+                buckets.remove(month);
+            }
+            restate(userId, boardsForMonth(month));
+            if (buckets.isEmpty()) {
+                bucketsByUser.remove(userId);
+                names.remove(userId);
+            }
         }
 
-        // Sort by incentive and create rank map
-        List<Map.Entry<Long, Double>> sorted = userIncentives.entrySet().stream()
-                .sorted((a, b) -> Double.compare(b.getValue(), a.getValue()))
-                .collect(Collectors.toList());
+        LeaderboardIndex board(String key) {
+            return key == null ? null : boards.computeIfAbsent(key, k -> new LeaderboardIndex());
+        }
 
-        Map<Long, Integer> ranks = new HashMap<>();
-        for (int i = 0; i < sorted.size(); i++) {
-            ranks.put(sorted.get(i).getKey(), i + 1);
+        // Re-sums the user's buckets into each of the given boards
+        private void restate(Long userId, Collection<String> keys) {
+            Map<String, Bucket> buckets = bucketsByUser.getOrDefault(userId, Map.of());
+            for (String key : keys) {
+                double incentive = 0;
+                double amount = 0;
+                long deals = 0;
+                for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+                    if (boardsForMonth(entry.getKey()).contains(key)) {
+                        incentive += entry.getValue().incentive;
+                        amount += entry.getValue().amount;
+                        deals += entry.getValue().deals;
+                    }
+                }
+                board(key).put(new Standing(userId, names.get(userId), incentive, amount, deals));
+            }
         }
 
-        return ranks;
+        private Bucket toBucket(LeaderboardRow row) {
+            return new Bucket(
+                    row.getIncentiveSum() != null ? row.getIncentiveSum() : 0.0,
+                    row.getApprovedAmountSum() != null ? row.getApprovedAmountSum() : 0.0,
+                    row.getApprovedCount() != null ? row.getApprovedCount() : 0L);
+        }
     }
 }
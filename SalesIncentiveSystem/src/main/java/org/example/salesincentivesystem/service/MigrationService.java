@@ -24,7 +24,7 @@ public class MigrationService {
     public void migrateLegacyDeals() {
         List<Deal> deals = dealRepository.findAll();
         List<Deal> legacyDeals = deals.stream()
-                .filter(d -> d.getDealName() == null || !d.isLegacyDeal())
+                .filter(d -> d.getDealName() == null || !d.isLegacyDeal() || d.getUpdatedAt() == null)
                 .collect(Collectors.toList());
 
         if (legacyDeals.isEmpty()) {
@@ -56,6 +56,10 @@ public class MigrationService {
             if (deal.getCurrency() == null || deal.getCurrency().isEmpty()) {
                 deal.setCurrency("₹");
             }
+            if (deal.getUpdatedAt() == null) {
+                deal.setUpdatedAt(deal.getCreatedAt() != null ? deal.getCreatedAt()
+                        : deal.getDate() != null ? deal.getDate().atStartOfDay() : java.time.LocalDateTime.now());
+            }
 
             dealRepository.save(deal);
         }
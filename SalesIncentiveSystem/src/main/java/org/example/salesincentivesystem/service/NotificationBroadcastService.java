@@ -0,0 +1,165 @@
+package org.example.salesincentivesystem.service;
+
+import org.example.salesincentivesystem.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans a broadcast out to every recipient in the background. Recipient ids come
+ * from one query and notifications are written as JDBC batches, one transaction
+ * per chunk, so progress can be polled through the returned job.
+ */
+@Service
+public class NotificationBroadcastService {
+
+    static final int CHUNK_SIZE = 500;
+
+    // Finished jobs stay pollable for this long
+    private static final long JOB_RETENTION_MILLIS = 60 * 60 * 1000L;
+
+    private static final String INSERT_SQL = "INSERT INTO notifications "
+            + "(user_id, type, title, message, timestamp, is_read) VALUES (?, ?, ?, ?, ?, false)";
+
+    private final UserRepository userRepository;
+    private final AuditLogService auditLogService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+
+    private final Map<String, BroadcastJob> jobs = new ConcurrentHashMap<>();
+
+    public NotificationBroadcastService(UserRepository userRepository,
+            AuditLogService auditLogService,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.userRepository = userRepository;
+        this.auditLogService = auditLogService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Queues a broadcast to everyone in {@code organizationName} (null = all orgs)
+     * with {@code role} (null or "ALL" = all roles) and returns its job.
+     */
+    public BroadcastJob start(Long requestorId, String organizationName, String role,
+            String type, String title, String message) {
+        pruneFinishedJobs();
+
+        String normalizedRole = role == null || "ALL".equalsIgnoreCase(role) ? null : role.toUpperCase();
+        BroadcastJob job = new BroadcastJob(UUID.randomUUID().toString(), requestorId, organizationName);
+        jobs.put(job.getJobId(), job);
+
+        taskExecutor.execute(() -> run(job, organizationName, normalizedRole, role, type, title, message));
+        return job;
+    }
+
+    public BroadcastJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    private void run(BroadcastJob job, String organizationName, String role, String requestedRole,
+            String type, String title, String message) {
+        job.status = "RUNNING";
+        try {
+            List<Long> recipientIds = userRepository.findIdsByOrganizationAndRole(organizationName, role);
+            job.total = recipientIds.size();
+
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (int from = 0; from < recipientIds.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = recipientIds.subList(from, Math.min(from + CHUNK_SIZE, recipientIds.size()));
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, chunk,
+                        chunk.size(), (ps, userId) -> {
+                            ps.setLong(1, userId);
+                            ps.setString(2, type);
+                            ps.setString(3, title);
+                            ps.setString(4, message);
+                            ps.setTimestamp(5, now);
+                        }));
+                job.sent.addAndGet(chunk.size());
+            }
+
+            // Audit Log for Bulk
+            auditLogService.logAction(
+                    job.requestorId,
+                    "ADMIN",
+                    "BROADCAST",
+                    "NOTIFICATION",
+                    0L,
+                    "Sent to Role: " + requestedRole + " | Org: " + organizationName + " | Count: " + job.sent.get());
+            job.status = "COMPLETED";
+        } catch (Exception e) {
+            System.err.println("Broadcast " + job.getJobId() + " failed: " + e.getMessage());
+            job.error = e.getMessage();
+            job.status = "FAILED";
+        } finally {
+            job.finishedAt = System.currentTimeMillis();
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        long cutoff = System.currentTimeMillis() - JOB_RETENTION_MILLIS;
+        jobs.values().removeIf(j -> j.finishedAt != 0 && j.finishedAt < cutoff);
+    }
+
+    public static class BroadcastJob {
+        private final String jobId;
+        private final Long requestorId;
+        private final String organizationName; // Null for a global broadcast
+        private final AtomicInteger sent = new AtomicInteger();
+        private volatile String status = "QUEUED"; // QUEUED, RUNNING, COMPLETED, FAILED
+        private volatile int total = -1; // Unknown until recipients are resolved
+        private volatile String error;
+        private volatile long finishedAt;
+
+        BroadcastJob(String jobId, Long requestorId, String organizationName) {
+            this.jobId = jobId;
+            this.requestorId = requestorId;
+            this.organizationName = organizationName;
+        }
+
+        public String getJobId() {
+            return jobId;
+        }
+
+        @com.fasterxml.jackson.annotation.JsonIgnore
+        public Long getRequestorId() {
+            return requestorId;
+        }
+
+        @com.fasterxml.jackson.annotation.JsonIgnore
+        public String getOrganizationName() {
+            return organizationName;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getSent() {
+            return sent.get();
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
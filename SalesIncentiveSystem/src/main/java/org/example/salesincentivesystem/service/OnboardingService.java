@@ -19,14 +19,17 @@ public class OnboardingService {
     private final DealRepository dealRepository;
     private final PolicyRepository policyRepository;
     private final AuditLogRepository auditLogRepository;
+    private final ProfilePhotoService profilePhotoService;
     private final ObjectMapper objectMapper = new ObjectMapper(); // Reuse mapper
 
     public OnboardingService(UserRepository userRepository, DealRepository dealRepository,
-            PolicyRepository policyRepository, AuditLogRepository auditLogRepository) {
+            PolicyRepository policyRepository, AuditLogRepository auditLogRepository,
+            ProfilePhotoService profilePhotoService) {
         this.userRepository = userRepository;
         this.dealRepository = dealRepository;
         this.policyRepository = policyRepository;
         this.auditLogRepository = auditLogRepository;
+        this.profilePhotoService = profilePhotoService;
     }
 
     public Map<String, Object> getOnboardingStatus(User user) {
@@ -57,7 +60,7 @@ public class OnboardingService {
         if (request.getMobile() != null)
             user.setMobile(request.getMobile());
         if (request.getProfilePhoto() != null)
-            user.setProfilePhotoUrl(request.getProfilePhoto());
+            user.setProfilePhotoHash(profilePhotoService.resolve(request.getProfilePhoto(), user.getProfilePhotoHash()));
 
         if (request.getRole() != null)
             user.setJobTitle(request.getRole());
@@ -0,0 +1,105 @@
+package org.example.salesincentivesystem.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.example.salesincentivesystem.entity.AuditLog;
+import org.example.salesincentivesystem.entity.Notification;
+import org.example.salesincentivesystem.entity.OutboxEvent;
+import org.example.salesincentivesystem.repository.AuditLogRepository;
+import org.example.salesincentivesystem.repository.NotificationRepository;
+import org.example.salesincentivesystem.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Polls the outbox and carries out each event in its own transaction together
+ * with marking it DONE; a failure rolls the side-effects back and schedules a
+ * retry instead of being swallowed. Audit entries are inserted in that
+ * transaction too, not queued on the in-memory AuditLogWriter, so they cannot
+ * be dropped once the event is DONE.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private final OutboxService outboxService;
+    private final UserRepository userRepository;
+    private final NotificationRepository notificationRepository;
+    private final AuditLogRepository auditLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public OutboxDispatcher(OutboxService outboxService,
+            UserRepository userRepository,
+            NotificationRepository notificationRepository,
+            AuditLogRepository auditLogRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${outbox.batch-size:100}") int batchSize) {
+        this.outboxService = outboxService;
+        this.userRepository = userRepository;
+        this.notificationRepository = notificationRepository;
+        this.auditLogRepository = auditLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.dispatch-interval-ms:1000}")
+    public void dispatch() {
+        List<OutboxEvent> batch;
+        do {
+            batch = outboxService.claimBatch(batchSize);
+            for (OutboxEvent event : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        handle(event);
+                        outboxService.markDone(event.getId());
+                    });
+                } catch (Exception e) {
+                    outboxService.markFailed(event.getId(), e.getClass().getSimpleName() + ": " + e.getMessage());
+                }
+            }
+        } while (batch.size() == batchSize); // Keep draining while there is a backlog
+    }
+
+    private void handle(OutboxEvent event) {
+        switch (event.getEventType()) {
+            case OutboxService.DEAL_ASSIGNED:
+                onDealAssigned(outboxService.readPayload(event, JsonNode.class));
+                break;
+            default:
+                throw new IllegalStateException("No handler for outbox event type " + event.getEventType());
+        }
+    }
+
+    private void onDealAssigned(JsonNode payload) {
+        // AUTO-TRACK ONBOARDING: Mark firstDealCreated for the admin who created the deal
+        if (payload.hasNonNull("createdBy")) {
+            userRepository.findById(payload.get("createdBy").asLong()).ifPresent(admin -> {
+                if (Boolean.FALSE.equals(admin.getFirstDealCreated())) {
+                    admin.setFirstDealCreated(true);
+                    userRepository.save(admin);
+                }
+            });
+        }
+
+        // Notify
+        Notification notification = new Notification();
+        notification.setUser(userRepository.getReferenceById(payload.get("salesExecId").asLong()));
+        notification.setTitle("New Deal Assigned: " + payload.path("dealName").asText(null));
+        notification.setMessage("You have been assigned a new deal for " + payload.path("organizationName").asText(null)
+                + " worth ₹" + payload.get("amount").asDouble());
+        notification.setType("INFO");
+        notification.setTimestamp(LocalDateTime.now());
+        notificationRepository.save(notification);
+
+        // Audit
+        auditLogRepository.save(new AuditLog(
+                null, "ADMIN", "CREATE_DEAL_ASSIGNED", "DEAL", payload.get("dealId").asLong(),
+                String.format("Created and assigned deal '%s' to %s", payload.path("dealName").asText(null),
+                        payload.path("salesExecName").asText(null))));
+    }
+}
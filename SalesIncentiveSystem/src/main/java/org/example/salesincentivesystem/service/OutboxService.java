@@ -0,0 +1,105 @@
+package org.example.salesincentivesystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.salesincentivesystem.entity.OutboxEvent;
+import org.example.salesincentivesystem.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes and tracks outbox events. {@link #enqueue} must run inside the
+ * transaction of the change it describes; {@link OutboxDispatcher} claims due
+ * events in batches and reports back through markDone/markFailed.
+ */
+@Service
+public class OutboxService {
+
+    public static final String DEAL_ASSIGNED = "DEAL_ASSIGNED";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final int maxAttempts;
+    private final long claimTimeoutSeconds;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+            @Value("${outbox.max-attempts:10}") int maxAttempts,
+            @Value("${outbox.claim-timeout-seconds:300}") long claimTimeoutSeconds) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.maxAttempts = maxAttempts;
+        this.claimTimeoutSeconds = claimTimeoutSeconds;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent enqueue(String eventType, String aggregateType, Long aggregateId, Map<String, Object> payload) {
+        try {
+            String json = objectMapper.writeValueAsString(payload);
+            return outboxEventRepository.save(new OutboxEvent(eventType, aggregateType, aggregateId, json));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize outbox payload for " + eventType, e);
+        }
+    }
+
+    /**
+     * Marks up to {@code size} due events as PROCESSING and returns them. Events
+     * claimed by a dispatcher that never finished are released first.
+     */
+    @Transactional
+    public List<OutboxEvent> claimBatch(int size) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.releaseStaleClaims(now.minusSeconds(claimTimeoutSeconds));
+
+        List<OutboxEvent> batch = outboxEventRepository.findDueForUpdate(now, PageRequest.of(0, size));
+        for (OutboxEvent event : batch) {
+            event.setStatus(OutboxEvent.PROCESSING);
+            event.setClaimedAt(now);
+        }
+        return batch;
+    }
+
+    // Joins the dispatcher's transaction so the side-effect and DONE commit together
+    @Transactional
+    public void markDone(Long eventId) {
+        outboxEventRepository.findById(eventId).ifPresent(event -> {
+            event.setStatus(OutboxEvent.DONE);
+            event.setProcessedAt(LocalDateTime.now());
+        });
+    }
+
+    /**
+     * Schedules a retry with exponential backoff (capped at 5 minutes), or parks
+     * the event as FAILED once maxAttempts is reached.
+     */
+    @Transactional
+    public void markFailed(Long eventId, String error) {
+        outboxEventRepository.findById(eventId).ifPresent(event -> {
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            event.setLastError(error != null && error.length() > 2000 ? error.substring(0, 2000) : error);
+            if (attempts >= maxAttempts) {
+                event.setStatus(OutboxEvent.FAILED);
+                System.err.println("Outbox event " + eventId + " (" + event.getEventType() + ") failed permanently: "
+                        + error);
+            } else {
+                event.setStatus(OutboxEvent.PENDING);
+                event.setAvailableAt(LocalDateTime.now().plusSeconds(Math.min(1L << attempts, 300L)));
+            }
+        });
+    }
+
+    public <T> T readPayload(OutboxEvent event, Class<T> type) {
+        try {
+            return objectMapper.readValue(event.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Unreadable outbox payload for event " + event.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.salesincentivesystem.service;
+
+import org.example.salesincentivesystem.entity.PayoutRun;
+import org.example.salesincentivesystem.repository.DealRepository;
+import org.example.salesincentivesystem.repository.PayoutRunRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Marks approved deals as paid with set-based UPDATEs and records the run.
+ * Re-submitting the same idempotency key (within the same org) with the same
+ * deals returns the recorded run; with different deals it is a
+ * {@link IdempotencyKeyConflictException}.
+ */
+@Service
+public class PayoutRunService {
+
+    // Keeps each IN list well under the driver's bind parameter limit
+    static final int UPDATE_CHUNK_SIZE = 10_000;
+
+    private final DealRepository dealRepository;
+    private final PayoutRunRepository payoutRunRepository;
+    private final PayoutSummaryService payoutSummaryService;
+    private final TransactionTemplate transactionTemplate;
+
+    public PayoutRunService(DealRepository dealRepository,
+            PayoutRunRepository payoutRunRepository,
+            PayoutSummaryService payoutSummaryService,
+            PlatformTransactionManager transactionManager) {
+        this.dealRepository = dealRepository;
+        this.payoutRunRepository = payoutRunRepository;
+        this.payoutSummaryService = payoutSummaryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @param organizationName only deals of this org are paid; null for global admins
+     */
+    public PayoutRun execute(String idempotencyKey, Collection<Long> dealIds, String organizationName,
+            Long requestedBy) {
+        String scope = PayoutRun.scopeOf(organizationName);
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(dealIds));
+        String requestHash = requestHash(ids);
+
+        PayoutRun existing = payoutRunRepository.findByKeyScopeAndIdempotencyKey(scope, idempotencyKey).orElse(null);
+        if (existing != null) {
+            return replay(existing, requestHash);
+        }
+
+        try {
+            PayoutRun run = transactionTemplate.execute(status -> {
+                PayoutRun newRun = new PayoutRun(idempotencyKey, organizationName, requestHash, requestedBy,
+                        LocalDate.now());
+                int paid = 0;
+                for (int from = 0; from < ids.size(); from += UPDATE_CHUNK_SIZE) {
+                    List<Long> chunk = ids.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, ids.size()));
+                    paid += dealRepository.markPaid(chunk, organizationName, newRun.getPayoutDate());
+                }
+                newRun.setRequestedCount(ids.size());
+                newRun.setPaidCount(paid);
+                newRun.setSkippedCount(ids.size() - paid);
+                return payoutRunRepository.save(newRun);
+            });
+            payoutSummaryService.evictAll();
+            return run;
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request with the same key won; its updates are the ones that count
+            PayoutRun winner = payoutRunRepository.findByKeyScopeAndIdempotencyKey(scope, idempotencyKey)
+                    .orElseThrow(() -> e);
+            return replay(winner, requestHash);
+        }
+    }
+
+    private static PayoutRun replay(PayoutRun existing, String requestHash) {
+        if (existing.getRequestHash() != null && !existing.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyKeyConflictException(
+                    "Idempotency key " + existing.getIdempotencyKey() + " was already used for different deals");
+        }
+        return existing;
+    }
+
+    // Order-insensitive: the same deals in any order are the same request
+    static String requestHash(Collection<Long> dealIds) {
+        StringBuilder sb = new StringBuilder();
+        dealIds.stream().sorted().forEach(id -> sb.append(id).append(','));
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class IdempotencyKeyConflictException extends RuntimeException {
+        public IdempotencyKeyConflictException(String message) {
+            super(message);
+        }
+    }
+}
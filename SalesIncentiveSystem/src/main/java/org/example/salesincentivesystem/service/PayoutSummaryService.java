@@ -0,0 +1,74 @@
+package org.example.salesincentivesystem.service;
+
+import org.example.salesincentivesystem.repository.DealRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Payout dashboard totals, computed with one GROUP BY query per org and cached
+ * until payouts are marked paid or a deal save changes the rollups.
+ */
+@Service
+public class PayoutSummaryService {
+
+    // Cache key used for the all-orgs (global admin) summary
+    private static final String ALL_ORGS = "*";
+
+    private final DealRepository dealRepository;
+    private final ConcurrentMap<String, Map<String, Object>> summaries = new ConcurrentHashMap<>();
+
+    public PayoutSummaryService(DealRepository dealRepository) {
+        this.dealRepository = dealRepository;
+    }
+
+    /**
+     * Totals for approved deals in {@code orgName}, or every org when null.
+     */
+    public Map<String, Object> getSummary(String orgName) {
+        return summaries.computeIfAbsent(orgName != null ? orgName : ALL_ORGS, key -> computeSummary(orgName));
+    }
+
+    public Map<String, Object> computeSummary(String orgName) {
+        double totalPending = 0;
+        double totalPaid = 0;
+        long pendingCount = 0;
+        long paidCount = 0;
+        for (DealRepository.PayoutStatusTotals row : dealRepository.summarizePayoutsByStatus(orgName)) {
+            double sum = row.getIncentiveSum() != null ? row.getIncentiveSum() : 0.0;
+            long count = row.getDealCount() != null ? row.getDealCount() : 0L;
+            if ("PENDING".equals(row.getPayoutStatus())) {
+                totalPending = sum;
+                pendingCount = count;
+            } else if ("PAID".equals(row.getPayoutStatus())) {
+                totalPaid = sum;
+                paidCount = count;
+            }
+        }
+
+        return Map.of(
+                "totalPending", totalPending,
+                "totalPaid", totalPaid,
+                "pendingCount", pendingCount,
+                "paidCount", paidCount);
+    }
+
+    // Marking paid changes one org's totals and the all-orgs totals, so drop everything
+    public void evictAll() {
+        summaries.clear();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRollupChanged(IncentiveRollupService.RollupChanged event) {
+        evictAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRollupRebuilt(IncentiveRollupService.RollupRebuilt event) {
+        evictAll();
+    }
+}
@@ -2,118 +2,75 @@ package org.example.salesincentivesystem.service;
 
 import org.example.salesincentivesystem.dto.PerformanceSummary;
 import org.example.salesincentivesystem.dto.PerformanceSummary.MonthlyTrend;
-import org.example.salesincentivesystem.entity.Deal;
 import org.example.salesincentivesystem.entity.User;
-import org.example.salesincentivesystem.repository.DealRepository;
+import org.example.salesincentivesystem.entity.UserIncentiveRollup;
+import org.example.salesincentivesystem.repository.UserIncentiveRollupRepository;
 import org.example.salesincentivesystem.repository.UserRepository;
 import org.springframework.stereotype.Service;
 
-import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 public class PerformanceService {
 
-    private final DealRepository dealRepository;
+    private final UserIncentiveRollupRepository rollupRepository;
     private final UserRepository userRepository;
     private final org.example.salesincentivesystem.repository.SalesProfileRepository salesProfileRepository;
+    private final LeaderboardService leaderboardService;
 
-    public PerformanceService(DealRepository dealRepository, UserRepository userRepository,
-            org.example.salesincentivesystem.repository.SalesProfileRepository salesProfileRepository) {
-        this.dealRepository = dealRepository;
+    public PerformanceService(UserIncentiveRollupRepository rollupRepository, UserRepository userRepository,
+            org.example.salesincentivesystem.repository.SalesProfileRepository salesProfileRepository,
+            LeaderboardService leaderboardService) {
+        this.rollupRepository = rollupRepository;
         this.userRepository = userRepository;
         this.salesProfileRepository = salesProfileRepository;
+        this.leaderboardService = leaderboardService;
     }
 
     public PerformanceSummary getPerformanceSummary(Long userId) {
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
-        // Filter deals: ALL deals for the user (for Totals)
-        List<Deal> allUserDeals = dealRepository.findAll().stream()
-                .filter(d -> d.getUser() != null && d.getUser().getId() != null && d.getUser().getId().equals(userId))
-                .collect(Collectors.toList());
+        // One rollup row per month the user has deals in (maintained by
+        // IncentiveRollupService)
+        List<UserIncentiveRollup> rollups = rollupRepository.findByUserId(userId);
 
-        // Filter deals: Only valid dates (for Graphs)
-        List<Deal> datedDeals = allUserDeals.stream()
-                .filter(d -> d.getDate() != null)
-                .collect(Collectors.toList());
+        long totalDeals = rollups.stream().mapToLong(UserIncentiveRollup::getDealCount).sum();
 
         PerformanceSummary summary = new PerformanceSummary();
         summary.setUserId(userId);
         summary.setUserName(user.getName());
-        summary.setTotalDeals(allUserDeals.size());
+        summary.setTotalDeals((int) totalDeals);
 
-        // --- Calculate Organization Rank ---
+        // --- Organization Rank (all-time, from the shared leaderboard index) ---
         String userOrg = user.getOrganizationName();
-        // 1. Get relevant deals (within Org or Global if no Org)
-        List<Deal> rankingDeals;
-        if (userOrg != null) {
-            rankingDeals = dealRepository.findByUser_OrganizationName(userOrg);
-        } else {
-            rankingDeals = dealRepository.findAll();
-        }
-
-        // 2. Group by User ID and sum incentives
-        Map<Long, Double> userIncentives = rankingDeals.stream()
-                .filter(d -> d.getUser() != null && "APPROVED".equalsIgnoreCase(d.getStatus()))
-                .collect(Collectors.groupingBy(
-                        d -> d.getUser().getId(),
-                        Collectors.summingDouble(Deal::getIncentive)));
-        // 3. Sort User IDs by incentive descending
-        List<Long> rankedUserIds = userIncentives.entrySet().stream()
-                .sorted((e1, e2) -> Double.compare(e2.getValue(), e1.getValue())) // Descending
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
-        // 4. Find current user's rank (1-based index)
-        int rank = rankedUserIds.indexOf(userId) + 1;
-        summary.setRank(rank > 0 ? rank : rankedUserIds.size() + 1); // Rank within Org
+        int rank = leaderboardService.getRank(userId, "ALL_TIME", userOrg);
+        summary.setRank(rank > 0 ? rank : leaderboardService.getRankedCount("ALL_TIME", userOrg) + 1);
 
         // Calculate Totals based on ALL deals
-        long approved = allUserDeals.stream().filter(d -> "APPROVED".equalsIgnoreCase(d.getStatus())).count();
-        long rejected = allUserDeals.stream().filter(d -> "REJECTED".equalsIgnoreCase(d.getStatus())).count();
+        long approved = rollups.stream().mapToLong(UserIncentiveRollup::getApprovedCount).sum();
+        long rejected = rollups.stream().mapToLong(UserIncentiveRollup::getRejectedCount).sum();
         summary.setApprovedDeals((int) approved);
         summary.setRejectedDeals((int) rejected);
         summary.setApprovalRate(approved + rejected == 0 ? 0 : (double) approved / (approved + rejected) * 100);
 
-        double totalIncentive = allUserDeals.stream()
-                .filter(d -> "APPROVED".equalsIgnoreCase(d.getStatus()))
-                .mapToDouble(Deal::getIncentive).sum();
+        double totalIncentive = rollups.stream().mapToDouble(UserIncentiveRollup::getIncentiveSum).sum();
         summary.setTotalIncentiveEarned(totalIncentive);
-        double avgDeal = allUserDeals.isEmpty() ? 0
-                : allUserDeals.stream().mapToDouble(Deal::getAmount).average().orElse(0);
-        summary.setAverageDealValue(avgDeal);
-
-        // Monthly trend - Group by Deal Date (YYYY-MM) using ONLY dated deals
-        Map<YearMonth, List<Deal>> byMonth = datedDeals.stream()
-                .collect(Collectors.groupingBy(d -> YearMonth.from(d.getDate())));
+        double totalAmount = rollups.stream().mapToDouble(UserIncentiveRollup::getAmountSum).sum();
+        summary.setAverageDealValue(totalDeals == 0 ? 0 : totalAmount / totalDeals);
 
+        // Monthly trend - one rollup row per month, skipping undated deals
         List<MonthlyTrend> trends = new ArrayList<>();
-        if (byMonth != null) {
-            for (Map.Entry<YearMonth, List<Deal>> entry : byMonth.entrySet()) {
-                if (entry.getKey() == null || entry.getValue() == null)
-                    continue;
-
-                MonthlyTrend mt = new MonthlyTrend();
-                mt.setMonth(entry.getKey().toString());
-                mt.setDealCount(entry.getValue().size());
-
-                double monthIncentive = entry.getValue().stream()
-                        .filter(d -> d != null && "APPROVED".equalsIgnoreCase(d.getStatus()))
-                        .mapToDouble(Deal::getIncentive)
-                        .sum();
-                mt.setIncentiveSum(monthIncentive);
-
-                // Average Deal Size Trend (Approved Deals)
-                double monthAvgDeal = entry.getValue().stream()
-                        .filter(d -> d != null && "APPROVED".equalsIgnoreCase(d.getStatus()))
-                        .mapToDouble(Deal::getAmount)
-                        .average().orElse(0.0);
-                mt.setAverageDealSize(monthAvgDeal);
-
-                trends.add(mt);
-            }
+        for (UserIncentiveRollup r : rollups) {
+            if (r.isUndated())
+                continue;
+
+            MonthlyTrend mt = new MonthlyTrend();
+            mt.setMonth(r.getMonth());
+            mt.setDealCount((int) r.getDealCount());
+            mt.setIncentiveSum(r.getIncentiveSum());
+            // Average Deal Size Trend (Approved Deals)
+            mt.setAverageDealSize(r.getApprovedCount() > 0 ? r.getApprovedAmountSum() / r.getApprovedCount() : 0.0);
+            trends.add(mt);
         }
 
         // Sort trends by date
@@ -0,0 +1,167 @@
+package org.example.salesincentivesystem.service;
+
+import org.example.salesincentivesystem.dto.SimulationBatchRequest;
+import org.example.salesincentivesystem.dto.SimulationBatchResult;
+import org.example.salesincentivesystem.repository.DealRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Evaluates "what if" incentive policies against approved deals.
+ * Deals are read once into a columnar snapshot and every scenario is scored
+ * against the same arrays, in parallel on the common fork-join pool.
+ */
+@Service
+public class PolicySimulationService {
+
+    public static final int MAX_SCENARIOS = 10_000;
+
+    // Below this many deals a scenario is scored on a single thread
+    private static final int DEAL_CHUNK = 50_000;
+
+    private final DealRepository dealRepository;
+
+    public PolicySimulationService(DealRepository dealRepository) {
+        this.dealRepository = dealRepository;
+    }
+
+    /**
+     * Loads amount/incentive of approved deals. A null org loads every org.
+     */
+    public DealSnapshot snapshot(String organizationName) {
+        List<Object[]> rows = dealRepository.findApprovedAmountAndIncentive(organizationName);
+        double[] amounts = new double[rows.size()];
+        double[] incentives = new double[rows.size()];
+        double currentPayout = 0;
+        for (int i = 0; i < amounts.length; i++) {
+            Object[] row = rows.get(i);
+            amounts[i] = ((Number) row[0]).doubleValue();
+            incentives[i] = ((Number) row[1]).doubleValue();
+            currentPayout += incentives[i];
+        }
+        return new DealSnapshot(amounts, incentives, currentPayout);
+    }
+
+    public SimulationBatchResult simulate(String organizationName, List<SimulationBatchRequest.Scenario> scenarios) {
+        DealSnapshot snapshot = snapshot(organizationName);
+
+        List<ScenarioSlice> tasks = new ArrayList<>(scenarios.size());
+        for (SimulationBatchRequest.Scenario scenario : scenarios) {
+            tasks.add(new ScenarioSlice(snapshot, scenario.getThreshold(),
+                    scenario.getLowRate() / 100.0, scenario.getHighRate() / 100.0, 0, snapshot.size()));
+        }
+        ForkJoinPool.commonPool().invoke(new ScenarioGrid(tasks));
+
+        List<SimulationBatchResult.ScenarioResult> results = new ArrayList<>(scenarios.size());
+        for (int i = 0; i < scenarios.size(); i++) {
+            SimulationBatchRequest.Scenario scenario = scenarios.get(i);
+            double[] totals = tasks.get(i).join();
+            results.add(new SimulationBatchResult.ScenarioResult(
+                    scenario.getThreshold(),
+                    scenario.getLowRate(),
+                    scenario.getHighRate(),
+                    totals[0],
+                    totals[0] - snapshot.getCurrentPayout(),
+                    (int) totals[1]));
+        }
+        return new SimulationBatchResult(snapshot.size(), snapshot.getCurrentPayout(), results);
+    }
+
+    /**
+     * Scores a single scenario: returns {projectedPayout, impactedDeals}.
+     */
+    public double[] evaluate(DealSnapshot snapshot, double threshold, double lowRate, double highRate) {
+        return ForkJoinPool.commonPool().invoke(
+                new ScenarioSlice(snapshot, threshold, lowRate / 100.0, highRate / 100.0, 0, snapshot.size()));
+    }
+
+    /**
+     * Immutable column arrays of approved deals; index i is the same deal in both.
+     */
+    public static final class DealSnapshot {
+        private final double[] amounts;
+        private final double[] incentives;
+        private final double currentPayout;
+
+        DealSnapshot(double[] amounts, double[] incentives, double currentPayout) {
+            this.amounts = amounts;
+            this.incentives = incentives;
+            this.currentPayout = currentPayout;
+        }
+
+        public int size() {
+            return amounts.length;
+        }
+
+        public double getCurrentPayout() {
+            return currentPayout;
+        }
+    }
+
+    // Forks every scenario at once and waits for all of them
+    private static final class ScenarioGrid extends RecursiveTask<Void> {
+        private final List<ScenarioSlice> tasks;
+
+        ScenarioGrid(List<ScenarioSlice> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected Void compute() {
+            ForkJoinTask.invokeAll(tasks);
+            return null;
+        }
+    }
+
+    // Scores deals [from, to) for one scenario, splitting large ranges in half
+    private static final class ScenarioSlice extends RecursiveTask<double[]> {
+        private final DealSnapshot snapshot;
+        private final double threshold;
+        private final double lowFactor;
+        private final double highFactor;
+        private final int from;
+        private final int to;
+
+        ScenarioSlice(DealSnapshot snapshot, double threshold, double lowFactor, double highFactor, int from, int to) {
+            this.snapshot = snapshot;
+            this.threshold = threshold;
+            this.lowFactor = lowFactor;
+            this.highFactor = highFactor;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from > DEAL_CHUNK) {
+                int mid = (from + to) >>> 1;
+                ScenarioSlice left = new ScenarioSlice(snapshot, threshold, lowFactor, highFactor, from, mid);
+                ScenarioSlice right = new ScenarioSlice(snapshot, threshold, lowFactor, highFactor, mid, to);
+                left.fork();
+                double[] r = right.compute();
+                double[] l = left.join();
+                return new double[] { l[0] + r[0], l[1] + r[1] };
+            }
+
+            double[] amounts = snapshot.amounts;
+            double[] incentives = snapshot.incentives;
+            double projected = 0;
+            int impacted = 0;
+            for (int i = from; i < to; i++) {
+                double amount = amounts[i];
+                // Same rule as the single preview: <= threshold uses the low rate
+                double newIncentive = amount * (amount <= threshold ? lowFactor : highFactor);
+                projected += newIncentive;
+                if (Math.abs(newIncentive - incentives[i]) > 0.01) {
+                    impacted++;
+                }
+            }
+            return new double[] { projected, impacted };
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.salesincentivesystem.service;
+
+import org.example.salesincentivesystem.entity.SalesPerformance;
+import org.example.salesincentivesystem.entity.SalesProfile;
+import org.example.salesincentivesystem.entity.User;
+import org.example.salesincentivesystem.entity.UserPreference;
+import org.example.salesincentivesystem.repository.DealRepository;
+import org.example.salesincentivesystem.repository.UserRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Loads a user together with their profile, preferences and performance in one
+ * joined query, and their deal totals in one aggregate query.
+ */
+@Service
+public class ProfileAggregateLoader {
+
+    private final UserRepository userRepository;
+    private final DealRepository dealRepository;
+
+    public ProfileAggregateLoader(UserRepository userRepository, DealRepository dealRepository) {
+        this.userRepository = userRepository;
+        this.dealRepository = dealRepository;
+    }
+
+    /**
+     * Returns null if the user does not exist.
+     */
+    public ProfileAggregate load(Long userId) {
+        List<Object[]> rows = userRepository.findProfileAggregate(userId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = rows.get(0);
+        return new ProfileAggregate((User) row[0], (SalesProfile) row[1], (UserPreference) row[2],
+                (SalesPerformance) row[3]);
+    }
+
+    public DealRepository.RollupTotals loadDealTotals(Long userId) {
+        return dealRepository.aggregateForUser(userId);
+    }
+
+    public static class ProfileAggregate {
+        private final User user;
+        private final SalesProfile salesProfile;
+        private final UserPreference preference;
+        private final SalesPerformance performance;
+
+        public ProfileAggregate(User user, SalesProfile salesProfile, UserPreference preference,
+                SalesPerformance performance) {
+            this.user = user;
+            this.salesProfile = salesProfile;
+            this.preference = preference;
+            this.performance = performance;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public SalesProfile getSalesProfile() {
+            return salesProfile;
+        }
+
+        public UserPreference getPreference() {
+            return preference;
+        }
+
+        public SalesPerformance getPerformance() {
+            return performance;
+        }
+    }
+}
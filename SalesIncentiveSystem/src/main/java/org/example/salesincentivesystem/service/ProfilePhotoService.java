@@ -0,0 +1,205 @@
+package org.example.salesincentivesystem.service;
+
+import org.example.salesincentivesystem.entity.ProfilePhoto;
+import org.example.salesincentivesystem.repository.ProfilePhotoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store for profile photos. Images are decoded from the
+ * base64 data URLs the onboarding form sends, stored once per SHA-256 hash in
+ * profile_photos, and users only keep the hash.
+ */
+@Service
+public class ProfilePhotoService {
+
+    public static final String URL_PREFIX = "/api/photos/";
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    // Backend origin photo URLs are built on; the frontend is served elsewhere
+    private static volatile String publicBaseUrl = "";
+
+    private static final String INSERT_SQL = "INSERT INTO profile_photos "
+            + "(hash, content_type, size_bytes, data, created_at) VALUES (?, ?, ?, ?, ?) "
+            + "ON CONFLICT (hash) DO NOTHING";
+
+    // Legacy photos moved per batch at startup
+    private static final int MIGRATION_BATCH = 50;
+
+    private final ProfilePhotoRepository photoRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final int maxBytes;
+
+    public ProfilePhotoService(ProfilePhotoRepository photoRepository,
+            JdbcTemplate jdbcTemplate,
+            DataSource dataSource,
+            @Value("${photos.max-bytes:5242880}") int maxBytes,
+            @Value("${photos.public-base-url:http://localhost:8080}") String publicBaseUrl) {
+        this.photoRepository = photoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.maxBytes = maxBytes;
+        ProfilePhotoService.publicBaseUrl = publicBaseUrl.endsWith("/")
+                ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1)
+                : publicBaseUrl;
+    }
+
+    /** Absolute URL of a stored photo, as returned to the frontend. */
+    public static String urlFor(String hash) {
+        return hash != null ? publicBaseUrl + URL_PREFIX + hash : null;
+    }
+
+    public static boolean isHash(String value) {
+        return value != null && HASH.matcher(value).matches();
+    }
+
+    public Optional<ProfilePhoto> find(String hash) {
+        return isHash(hash) ? photoRepository.findById(hash) : Optional.empty();
+    }
+
+    /**
+     * Maps the profilePhoto value of a profile update to the hash to keep:
+     * a data URL or bare base64 is stored, a URL from this store keeps its
+     * hash, an empty value clears the photo. Anything else (e.g. an external
+     * link) cannot be stored and leaves {@code currentHash} unchanged.
+     */
+    public String resolve(String value, String currentHash) {
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        int prefix = trimmed.indexOf(URL_PREFIX);
+        if (prefix >= 0 && isHash(trimmed.substring(prefix + URL_PREFIX.length()))) {
+            return trimmed.substring(prefix + URL_PREFIX.length());
+        }
+        if (trimmed.startsWith("http://") || trimmed.startsWith("https://")) {
+            return currentHash;
+        }
+        return store(trimmed);
+    }
+
+    /**
+     * Decodes a data URL (or bare base64), stores the bytes if this hash is
+     * new and returns the hash. The stored type always comes from the bytes,
+     * never from the data URL, and only PNG, JPEG, GIF and WebP are accepted.
+     */
+    public String store(String dataUrl) {
+        String payload = dataUrl;
+        if (dataUrl.startsWith("data:")) {
+            int comma = dataUrl.indexOf(',');
+            if (comma < 0 || !dataUrl.substring(0, comma).endsWith(";base64")) {
+                throw new RuntimeException("Profile photo must be a base64 data URL");
+            }
+            payload = dataUrl.substring(comma + 1);
+        }
+
+        byte[] data;
+        try {
+            data = Base64.getMimeDecoder().decode(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Profile photo is not valid base64");
+        }
+        if (data.length == 0) {
+            throw new RuntimeException("Profile photo is empty");
+        }
+        if (data.length > maxBytes) {
+            throw new RuntimeException("Profile photo exceeds " + maxBytes + " bytes");
+        }
+        String contentType = sniffImageType(data);
+        if (contentType == null) {
+            throw new RuntimeException("Profile photo must be a PNG, JPEG, GIF or WebP image");
+        }
+
+        String hash = sha256(data);
+        // Same bytes, same row: concurrent uploads of one image are harmless
+        jdbcTemplate.update(INSERT_SQL, hash, contentType, (long) data.length, data,
+                Timestamp.valueOf(LocalDateTime.now()));
+        return hash;
+    }
+
+    /**
+     * Moves base64 photos left in the old app_users.profile_photo_url column
+     * into the store, a batch at a time, clearing the column as it goes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyPhotos() {
+        try {
+            if (!hasLegacyColumn()) {
+                return;
+            }
+            List<Map<String, Object>> rows;
+            do {
+                rows = jdbcTemplate.queryForList("SELECT id, profile_photo_url FROM app_users "
+                        + "WHERE profile_photo_url IS NOT NULL ORDER BY id LIMIT " + MIGRATION_BATCH);
+                for (Map<String, Object> row : rows) {
+                    Long userId = ((Number) row.get("id")).longValue();
+                    String hash = null;
+                    try {
+                        hash = resolve((String) row.get("profile_photo_url"), null);
+                    } catch (RuntimeException e) {
+                        System.err.println("Dropping unreadable profile photo of user " + userId + ": "
+                                + e.getMessage());
+                    }
+                    jdbcTemplate.update("UPDATE app_users SET profile_photo_hash = COALESCE(?, profile_photo_hash), "
+                            + "profile_photo_url = NULL WHERE id = ?", hash, userId);
+                }
+            } while (rows.size() == MIGRATION_BATCH);
+        } catch (Exception e) {
+            System.err.println("Profile photo migration failed: " + e.getMessage());
+        }
+    }
+
+    private boolean hasLegacyColumn() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+                ResultSet rs = connection.getMetaData().getColumns(null, connection.getSchema(), "app_users",
+                        "profile_photo_url")) {
+            return rs.next();
+        }
+    }
+
+    /** Image type of the bytes, or null if they are not a PNG, JPEG, GIF or WebP image. */
+    public static String sniffImageType(byte[] data) {
+        if (data.length >= 3 && (data[0] & 0xFF) == 0xFF && (data[1] & 0xFF) == 0xD8 && (data[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (data.length >= 4 && (data[0] & 0xFF) == 0x89 && data[1] == 'P' && data[2] == 'N' && data[3] == 'G') {
+            return "image/png";
+        }
+        if (data.length >= 3 && data[0] == 'G' && data[1] == 'I' && data[2] == 'F') {
+            return "image/gif";
+        }
+        if (data.length >= 12 && data[0] == 'R' && data[1] == 'I' && data[2] == 'F' && data[3] == 'F'
+                && data[8] == 'W' && data[9] == 'E' && data[10] == 'B' && data[11] == 'P') {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
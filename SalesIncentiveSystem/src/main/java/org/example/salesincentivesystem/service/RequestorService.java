@@ -0,0 +1,113 @@
+package org.example.salesincentivesystem.service;
+
+import org.example.salesincentivesystem.dto.Requestor;
+import org.example.salesincentivesystem.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves a requestorId to a {@link Requestor}. Lookups are memoized for the
+ * current HTTP request and shared across requests for a short TTL, so access
+ * checks cost at most one slim query per user per TTL. Entries are dropped as
+ * soon as a change to the user commits.
+ */
+@Service
+public class RequestorService {
+
+    private static final String REQUEST_ATTRIBUTE_PREFIX = RequestorService.class.getName() + ".";
+
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+
+    private final Map<Long, CachedRequestor> cache = new ConcurrentHashMap<>();
+
+    public RequestorService(UserRepository userRepository,
+            @Value("${requestor.cache.ttl-ms:30000}") long ttlMillis) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlMillis;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<Requestor> find(Long requestorId) {
+        if (requestorId == null) {
+            return Optional.empty();
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        String attribute = REQUEST_ATTRIBUTE_PREFIX + requestorId;
+        if (request != null) {
+            Object memo = request.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST);
+            if (memo != null) {
+                return (Optional<Requestor>) memo;
+            }
+        }
+
+        Optional<Requestor> requestor = lookup(requestorId);
+        if (request != null) {
+            request.setAttribute(attribute, requestor, RequestAttributes.SCOPE_REQUEST);
+        }
+        return requestor;
+    }
+
+    public void evict(Long userId) {
+        if (userId != null) {
+            cache.remove(userId);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChanged event) {
+        evict(event.getUserId());
+    }
+
+    private Optional<Requestor> lookup(Long requestorId) {
+        long now = System.currentTimeMillis();
+        CachedRequestor cached = cache.get(requestorId);
+        if (cached != null && now - cached.loadedAt < ttlMillis) {
+            return Optional.of(cached.requestor);
+        }
+        // Unknown ids are not cached so a user is visible as soon as they register
+        Optional<Requestor> loaded = userRepository.findRequestorById(requestorId);
+        if (loaded.isPresent()) {
+            cache.put(requestorId, new CachedRequestor(loaded.get(), now));
+        } else {
+            cache.remove(requestorId);
+        }
+        if (cache.size() > 10_000) {
+            cache.values().removeIf(c -> now - c.loadedAt >= ttlMillis);
+        }
+        return loaded;
+    }
+
+    private static final class CachedRequestor {
+        private final Requestor requestor;
+        private final long loadedAt;
+
+        CachedRequestor(Requestor requestor, long loadedAt) {
+            this.requestor = requestor;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * Published when a user row is updated or deleted.
+     */
+    public static class UserChanged {
+        private final Long userId;
+
+        public UserChanged(Long userId) {
+            this.userId = userId;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+    }
+}
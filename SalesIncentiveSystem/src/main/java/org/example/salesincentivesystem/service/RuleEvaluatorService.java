@@ -9,15 +9,38 @@ import org.example.salesincentivesystem.repository.RuleConfigRepository;
 import org.example.salesincentivesystem.repository.UserRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToDoubleFunction;
 
+/**
+ * Evaluates deals against active rules. Rules and admin recipients are compiled
+ * once per org and reused until a rule changes (see {@link #invalidate()}) or
+ * the snapshot is older than {@link #MAX_AGE_MILLIS}, so evaluating a deal does
+ * not hit the database unless a rule fires.
+ */
 @Service
 public class RuleEvaluatorService {
 
+    // Admins are cached with the rules; this bounds how stale that list can get
+    static final long MAX_AGE_MILLIS = 5 * 60 * 1000L;
+
+    private static final CompiledRule[] NO_RULES = new CompiledRule[0];
+
     private final RuleConfigRepository ruleRepository;
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
 
+    private volatile CompiledRules compiled;
+    private final ReentrantLock compileLock = new ReentrantLock();
+    // Bumped by invalidate(); a compile that started before the bump is not published
+    private final AtomicLong generation = new AtomicLong();
+
     public RuleEvaluatorService(RuleConfigRepository ruleRepository,
             NotificationRepository notificationRepository,
             UserRepository userRepository) {
@@ -27,45 +50,173 @@ public class RuleEvaluatorService {
     }
 
     public void evaluate(Deal deal) {
-        List<RuleConfig> activeRules = ruleRepository.findByActiveTrue();
-        List<User> admins = userRepository.findByRole("ADMIN");
+        CompiledRules rules = currentRules();
+        String orgName = deal.getUser() != null ? deal.getUser().getOrganizationName() : null;
 
-        for (RuleConfig rule : activeRules) {
-            boolean triggered = checkCondition(deal, rule);
-            if (triggered) {
-                // Send alert to all admins
+        List<Notification> alerts = new ArrayList<>();
+        // Org rules first, then rules without an org which apply everywhere
+        collectAlerts(deal, rules.forOrg(orgName), rules.adminsFor(orgName), alerts);
+        if (orgName != null) {
+            collectAlerts(deal, rules.global, rules.adminsFor(orgName), alerts);
+        }
+
+        if (!alerts.isEmpty()) {
+            notificationRepository.saveAll(alerts);
+        }
+    }
+
+    /**
+     * Drops the compiled rules; the next evaluation recompiles them.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        compiled = null;
+    }
+
+    private void collectAlerts(Deal deal, CompiledRule[] rules, List<User> admins, List<Notification> alerts) {
+        for (CompiledRule rule : rules) {
+            if (rule.matches(deal)) {
+                // Send alert to the deal's org admins (and global admins)
+                String ownerName = deal.getUser() != null ? deal.getUser().getName() : "unknown";
+                String message = "Deal #" + deal.getId() + " by " + ownerName + " matched rule: " + rule.condition;
                 for (User admin : admins) {
-                    Notification n = new Notification(
-                            admin,
-                            "warning",
-                            "Rule Triggered: " + rule.getName(),
-                            "Deal #" + deal.getId() + " by " + deal.getUser().getName() + " matched rule: "
-                                    + rule.getMetric() + " " + rule.getOperator() + " " + rule.getThreshold());
-                    notificationRepository.save(n);
+                    alerts.add(new Notification(admin, "warning", rule.title, message));
+                }
+            }
+        }
+    }
+
+    private CompiledRules currentRules() {
+        CompiledRules current = compiled;
+        if (current != null && !current.isExpired()) {
+            return current;
+        }
+        // A lock rather than synchronized: compiling queries the database
+        compileLock.lock();
+        try {
+            current = compiled;
+            if (current == null || current.isExpired()) {
+                long startedAt = generation.get();
+                current = compile();
+                // If a rule changed while compiling, use this snapshot once but let the next call recompile
+                if (generation.get() == startedAt) {
+                    compiled = current;
                 }
             }
+            return current;
+        } finally {
+            compileLock.unlock();
         }
     }
 
-    private boolean checkCondition(Deal deal, RuleConfig rule) {
-        double value = 0.0;
+    private CompiledRules compile() {
+        Map<String, List<CompiledRule>> byOrg = new HashMap<>();
+        List<CompiledRule> global = new ArrayList<>();
+        for (RuleConfig rule : ruleRepository.findByActiveTrue()) {
+            CompiledRule compiledRule = CompiledRule.of(rule);
+            if (compiledRule == null) {
+                continue; // Unsupported metric/operator never matches
+            }
+            if (rule.getOrganizationName() == null) {
+                global.add(compiledRule);
+            } else {
+                byOrg.computeIfAbsent(rule.getOrganizationName(), k -> new ArrayList<>()).add(compiledRule);
+            }
+        }
+
+        Map<String, List<User>> adminsByOrg = new HashMap<>();
+        List<User> globalAdmins = new ArrayList<>();
+        for (User admin : userRepository.findByRole("ADMIN")) {
+            if (admin.isAdminTypeGlobal()) {
+                globalAdmins.add(admin);
+            } else if (admin.getOrganizationName() != null) {
+                adminsByOrg.computeIfAbsent(admin.getOrganizationName(), k -> new ArrayList<>()).add(admin);
+            }
+        }
 
-        switch (rule.getMetric()) {
-            case "DEAL_AMOUNT":
-                value = deal.getAmount();
-                break;
-            // Add more metrics here when available (e.g. discount)
-            default:
-                return false;
+        Map<String, CompiledRule[]> rulesByOrg = new HashMap<>();
+        byOrg.forEach((org, list) -> rulesByOrg.put(org, list.toArray(NO_RULES)));
+        Map<String, List<User>> recipients = new HashMap<>();
+        adminsByOrg.forEach((org, list) -> {
+            List<User> all = new ArrayList<>(list);
+            all.addAll(globalAdmins);
+            recipients.put(org, Collections.unmodifiableList(all));
+        });
+
+        return new CompiledRules(rulesByOrg, global.toArray(NO_RULES), recipients,
+                Collections.unmodifiableList(globalAdmins), System.currentTimeMillis());
+    }
+
+    private static final class CompiledRules {
+        private final Map<String, CompiledRule[]> byOrg;
+        private final CompiledRule[] global;
+        private final Map<String, List<User>> adminsByOrg;
+        private final List<User> globalAdmins;
+        private final long compiledAt;
+
+        CompiledRules(Map<String, CompiledRule[]> byOrg, CompiledRule[] global,
+                Map<String, List<User>> adminsByOrg, List<User> globalAdmins, long compiledAt) {
+            this.byOrg = byOrg;
+            this.global = global;
+            this.adminsByOrg = adminsByOrg;
+            this.globalAdmins = globalAdmins;
+            this.compiledAt = compiledAt;
+        }
+
+        CompiledRule[] forOrg(String orgName) {
+            if (orgName == null) {
+                return global;
+            }
+            return byOrg.getOrDefault(orgName, NO_RULES);
+        }
+
+        List<User> adminsFor(String orgName) {
+            if (orgName == null) {
+                return globalAdmins;
+            }
+            return adminsByOrg.getOrDefault(orgName, globalAdmins);
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() - compiledAt > MAX_AGE_MILLIS;
+        }
+    }
+
+    private static final class CompiledRule {
+        private final ToDoubleFunction<Deal> metric;
+        private final int operator; // > 0 means GT, < 0 means LT
+        private final double threshold;
+        private final String title;
+        private final String condition;
+
+        private CompiledRule(ToDoubleFunction<Deal> metric, int operator, RuleConfig rule) {
+            this.metric = metric;
+            this.operator = operator;
+            this.threshold = rule.getThreshold();
+            this.title = "Rule Triggered: " + rule.getName();
+            this.condition = rule.getMetric() + " " + rule.getOperator() + " " + rule.getThreshold();
+        }
+
+        static CompiledRule of(RuleConfig rule) {
+            ToDoubleFunction<Deal> metric;
+            if ("DEAL_AMOUNT".equals(rule.getMetric())) {
+                metric = Deal::getAmount;
+            } else {
+                // Add more metrics here when available (e.g. discount)
+                return null;
+            }
+
+            if ("GT".equals(rule.getOperator())) {
+                return new CompiledRule(metric, 1, rule);
+            } else if ("LT".equals(rule.getOperator())) {
+                return new CompiledRule(metric, -1, rule);
+            }
+            return null;
         }
 
-        switch (rule.getOperator()) {
-            case "GT":
-                return value > rule.getThreshold();
-            case "LT":
-                return value < rule.getThreshold();
-            default:
-                return false;
+        boolean matches(Deal deal) {
+            double value = metric.applyAsDouble(deal);
+            return operator > 0 ? value > threshold : value < threshold;
         }
     }
 }
@@ -0,0 +1,75 @@
+package org.example.salesincentivesystem.service;
+
+import com.sendgrid.Method;
+import com.sendgrid.Request;
+import com.sendgrid.Response;
+import com.sendgrid.SendGrid;
+import com.sendgrid.helpers.mail.Mail;
+import com.sendgrid.helpers.mail.objects.Content;
+import com.sendgrid.helpers.mail.objects.Email;
+import com.sendgrid.helpers.mail.objects.Personalization;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends through the SendGrid v3 API with one long-lived client. Each recipient
+ * is a personalization with its own substitutions, so a batch is one request.
+ */
+@Component
+@ConditionalOnProperty(name = "email.sender", havingValue = "sendgrid", matchIfMissing = true)
+public class SendGridEmailSender implements EmailSender {
+
+    // SendGrid accepts up to 1000 personalizations per request
+    private static final int SENDGRID_MAX_PERSONALIZATIONS = 1000;
+
+    private static final String FROM_EMAIL = "teamsalesrewardengine@gmail.com";
+    private static final String FROM_NAME = "Sales Reward Engine";
+
+    private final SendGrid client;
+    private final int maxRecipients;
+
+    public SendGridEmailSender(@Value("${SENDGRID_API_KEY:}") String apiKey,
+            @Value("${email.batch-size:100}") int batchSize) {
+        this.client = apiKey == null || apiKey.isEmpty() ? null : new SendGrid(apiKey);
+        this.maxRecipients = Math.max(1, Math.min(batchSize, SENDGRID_MAX_PERSONALIZATIONS));
+    }
+
+    @Override
+    public void send(String subject, String html, List<Recipient> recipients) throws Exception {
+        if (client == null) {
+            throw new IllegalStateException("SENDGRID_API_KEY environment variable is not set");
+        }
+        Mail mail = new Mail();
+        mail.setFrom(new Email(FROM_EMAIL, FROM_NAME));
+        mail.setSubject(subject);
+        mail.addContent(new Content("text/html", html));
+        for (Recipient recipient : recipients) {
+            Personalization personalization = new Personalization();
+            personalization.addTo(new Email(recipient.getEmail()));
+            for (Map.Entry<String, String> entry : recipient.getSubstitutions().entrySet()) {
+                personalization.addSubstitution(entry.getKey(), entry.getValue() != null ? entry.getValue() : "");
+            }
+            mail.addPersonalization(personalization);
+        }
+
+        Request request = new Request();
+        request.setMethod(Method.POST);
+        request.setEndpoint("mail/send");
+        request.setBody(mail.build());
+        Response response = client.api(request);
+        System.out.println("SendGrid response status: " + response.getStatusCode() + " for " + recipients.size()
+                + " recipient(s)");
+        if (response.getStatusCode() >= 400) {
+            throw new RuntimeException("SendGrid error: " + response.getStatusCode() + " - " + response.getBody());
+        }
+    }
+
+    @Override
+    public int maxRecipientsPerSend() {
+        return maxRecipients;
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.salesincentivesystem.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Offline sender for local runs and tests (email.sender=stub): keeps the most
+ * recent emails in memory instead of calling SendGrid.
+ */
+@Component
+@ConditionalOnProperty(name = "email.sender", havingValue = "stub")
+public class StubEmailSender implements EmailSender {
+
+    private static final int KEEP_LAST = 500;
+
+    private final List<SentEmail> sent = new ArrayList<>();
+    private final int maxRecipients;
+
+    public StubEmailSender(@Value("${email.batch-size:100}") int batchSize) {
+        this.maxRecipients = Math.max(1, batchSize);
+    }
+
+    @Override
+    public void send(String subject, String html, List<Recipient> recipients) {
+        synchronized (sent) {
+            for (Recipient recipient : recipients) {
+                sent.add(new SentEmail(recipient.getEmail(), recipient.apply(subject), recipient.apply(html)));
+            }
+            if (sent.size() > KEEP_LAST) {
+                sent.subList(0, sent.size() - KEEP_LAST).clear();
+            }
+        }
+    }
+
+    @Override
+    public int maxRecipientsPerSend() {
+        return maxRecipients;
+    }
+
+    public List<SentEmail> getSent() {
+        synchronized (sent) {
+            return Collections.unmodifiableList(new ArrayList<>(sent));
+        }
+    }
+
+    public static class SentEmail {
+        private final String to;
+        private final String subject;
+        private final String html;
+
+        SentEmail(String to, String subject, String html) {
+            this.to = to;
+            this.subject = subject;
+            this.html = html;
+        }
+
+        public String getTo() {
+            return to;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public String getHtml() {
+            return html;
+        }
+    }
+}
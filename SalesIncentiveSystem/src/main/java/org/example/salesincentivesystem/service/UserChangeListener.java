@@ -0,0 +1,27 @@
+package org.example.salesincentivesystem.service;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.example.salesincentivesystem.entity.User;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link User}: announces every update or delete so cached
+ * requestor principals are dropped once the change commits.
+ */
+@Component
+public class UserChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        eventPublisher.publishEvent(new RequestorService.UserChanged(user.getId()));
+    }
+}
@@ -0,0 +1,176 @@
+-- Migration Script: Baseline Schema (PostgreSQL)
+-- The schema as Hibernate ddl-auto=update left it before migrations took over.
+-- Databases that already have these tables are baselined at version 1 by
+-- Flyway (spring.flyway.baseline-on-migrate) and skip this script; it only runs
+-- on an empty database. Later changes go in new V<n>__*.sql files, never here.
+
+CREATE TABLE IF NOT EXISTS app_users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(255),
+    name VARCHAR(255),
+    account_status VARCHAR(255) NOT NULL,
+    onboarding_completed BOOLEAN,
+    notifications_enabled BOOLEAN,
+    mobile VARCHAR(255),
+    profile_photo_url TEXT,
+    department VARCHAR(255),
+    organization_name VARCHAR(255),
+    branch VARCHAR(255),
+    job_title VARCHAR(255),
+    manager_name VARCHAR(255),
+    territory VARCHAR(255),
+    product_category VARCHAR(255),
+    experience_level VARCHAR(255),
+    security2faenabled BOOLEAN,
+    incentive_type VARCHAR(255),
+    notifications_config TEXT,
+    legal_accepted BOOLEAN,
+    first_target_created BOOLEAN,
+    first_deal_created BOOLEAN,
+    first_rule_configured BOOLEAN,
+    first_user_invited BOOLEAN
+);
+
+CREATE TABLE IF NOT EXISTS deal (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    date DATE,
+    amount DOUBLE PRECISION NOT NULL,
+    incentive DOUBLE PRECISION NOT NULL,
+    rate DOUBLE PRECISION NOT NULL,
+    status VARCHAR(255),
+    user_id BIGINT CONSTRAINT fk_deal_user REFERENCES app_users(id),
+    deal_type VARCHAR(255),
+    client_name VARCHAR(255),
+    industry VARCHAR(255),
+    region VARCHAR(255),
+    currency VARCHAR(255),
+    actual_close_date DATE,
+    approved_by BIGINT,
+    approved_at TIMESTAMP(6),
+    legacy_deal BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6),
+    rejection_reason VARCHAR(255),
+    risk_level VARCHAR(255),
+    admin_comment VARCHAR(255),
+    payout_status VARCHAR(255),
+    payout_date DATE
+);
+
+CREATE TABLE IF NOT EXISTS audit_logs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT,
+    email VARCHAR(255),
+    action VARCHAR(255),
+    ip_address VARCHAR(255),
+    entity_type VARCHAR(255),
+    entity_id BIGINT,
+    details VARCHAR(2000),
+    organization_name VARCHAR(255),
+    timestamp TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS incentive_policies (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title VARCHAR(255),
+    description VARCHAR(255),
+    rate VARCHAR(255),
+    example VARCHAR(255),
+    display_order INTEGER
+);
+
+CREATE TABLE IF NOT EXISTS invitations (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email VARCHAR(255) NOT NULL,
+    token VARCHAR(255) NOT NULL UNIQUE,
+    status VARCHAR(255) NOT NULL,
+    expiry_date TIMESTAMP(6) NOT NULL,
+    invited_by_id BIGINT CONSTRAINT fk_invitations_invited_by REFERENCES app_users(id),
+    assigned_deal_id BIGINT
+);
+
+CREATE TABLE IF NOT EXISTS notifications (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL CONSTRAINT fk_notifications_user REFERENCES app_users(id),
+    type VARCHAR(255),
+    title VARCHAR(255),
+    message VARCHAR(255),
+    timestamp TIMESTAMP(6),
+    is_read BOOLEAN NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS organizations (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    industry VARCHAR(255),
+    company_size VARCHAR(255),
+    currency VARCHAR(255),
+    fiscal_year VARCHAR(255),
+    admin_user_id BIGINT UNIQUE CONSTRAINT fk_organizations_admin_user REFERENCES app_users(id)
+);
+
+CREATE TABLE IF NOT EXISTS policies (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    content TEXT,
+    description TEXT,
+    commission_rate DOUBLE PRECISION,
+    min_deal_amount DOUBLE PRECISION,
+    max_deal_amount DOUBLE PRECISION,
+    bonus_threshold DOUBLE PRECISION,
+    bonus_amount DOUBLE PRECISION,
+    last_updated TIMESTAMP(6),
+    organization_name VARCHAR(255),
+    is_active BOOLEAN NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS role_config (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    role_name VARCHAR(255) UNIQUE,
+    permissions_json TEXT
+);
+
+CREATE TABLE IF NOT EXISTS rule_config (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255),
+    metric VARCHAR(255),
+    operator VARCHAR(255),
+    threshold DOUBLE PRECISION NOT NULL,
+    action VARCHAR(255),
+    active BOOLEAN NOT NULL,
+    organization_name VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS sales_performance (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT UNIQUE CONSTRAINT fk_sales_performance_user REFERENCES app_users(id),
+    current_month_target DOUBLE PRECISION,
+    performance_rating DOUBLE PRECISION,
+    achievements VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS sales_profiles (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT UNIQUE CONSTRAINT fk_sales_profiles_user REFERENCES app_users(id),
+    mobile VARCHAR(255),
+    department VARCHAR(255),
+    employee_code VARCHAR(255),
+    joining_date DATE,
+    manager_id BIGINT
+);
+
+CREATE TABLE IF NOT EXISTS system_config (
+    config_key VARCHAR(255) PRIMARY KEY,
+    config_value VARCHAR(255),
+    description VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS user_preferences (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT UNIQUE CONSTRAINT fk_user_preferences_user REFERENCES app_users(id),
+    theme VARCHAR(255),
+    currency VARCHAR(255),
+    language VARCHAR(255)
+);
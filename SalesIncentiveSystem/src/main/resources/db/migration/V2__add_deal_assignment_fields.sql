@@ -11,14 +11,8 @@ ALTER TABLE deal ADD COLUMN IF NOT EXISTS policy_id BIGINT;
 ALTER TABLE deal ADD COLUMN IF NOT EXISTS created_by BIGINT;
 ALTER TABLE deal ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP;
 
--- Update existing legacy deals with default values
-UPDATE deal 
-SET deal_name = CONCAT('Legacy Deal - ', DATE_FORMAT(date, '%b %Y')),
-    organization_name = 'Legacy Client',
-    priority = 'MEDIUM',
-    created_by = (SELECT id FROM users WHERE role = 'ADMIN' LIMIT 1),
-    updated_at = created_at
-WHERE deal_name IS NULL;
+-- Existing legacy deals are backfilled on startup by MigrationService
+-- (this used to be a hand-run MySQL UPDATE against the old users table)
 
 -- Create index for performance
 CREATE INDEX IF NOT EXISTS idx_deal_status ON deal(status);
@@ -0,0 +1,20 @@
+-- Migration Script: Audit Log Search Indexes (PostgreSQL)
+
+-- Keyset pagination: newest first, optionally within one org
+CREATE INDEX IF NOT EXISTS idx_audit_org_ts_id ON audit_logs(organization_name, timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_ts_id ON audit_logs(timestamp DESC, id DESC);
+
+-- Case-insensitive substring search on action/email (LOWER(x) LIKE '%term%')
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_audit_action_trgm ON audit_logs USING gin (LOWER(action) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_audit_email_trgm ON audit_logs USING gin (LOWER(email) gin_trgm_ops);
+
+-- Org is now stamped at write time; backfill older entries from their actor
+UPDATE audit_logs a
+SET organization_name = u.organization_name
+FROM app_users u
+WHERE a.organization_name IS NULL
+  AND a.user_id = u.id
+  AND u.organization_name IS NOT NULL;
+
+COMMENT ON COLUMN audit_logs.organization_name IS 'Org of the acting user, stamped when the entry is written';
@@ -0,0 +1,39 @@
+-- Migration Script: Indexes for Hot Repository Finders (PostgreSQL)
+-- Each index is named after the finder(s) it serves. invitations.token,
+-- app_users.email and system_config.config_key are already covered by their
+-- UNIQUE constraints.
+
+-- Deals: DealRepository.findByUser_Id / countByUserId and the monthly rollup
+-- aggregates (user_id + date range)
+CREATE INDEX IF NOT EXISTS idx_deal_user_date ON deal(user_id, date);
+
+-- Deals: admin listing / keyset pages (DealSpecifications.updatedBefore)
+CREATE INDEX IF NOT EXISTS idx_deal_updated_at_id ON deal(updated_at, id);
+
+-- Users: findByOrganizationName, org-scoped joins (findByUser_OrganizationName),
+-- broadcast recipients by org + role
+CREATE INDEX IF NOT EXISTS idx_users_org_role ON app_users(organization_name, role);
+CREATE INDEX IF NOT EXISTS idx_users_role ON app_users(role);
+
+-- Notifications: findByUser_IdOrderByTimestampDesc / findByUser_Id / deleteByUserId
+CREATE INDEX IF NOT EXISTS idx_notifications_user_ts ON notifications(user_id, timestamp DESC);
+
+-- Policies: findByOrganizationNameAndTypeAndIsActiveTrue and its prefixes
+CREATE INDEX IF NOT EXISTS idx_policies_org_type_active ON policies(organization_name, type, is_active);
+
+-- Invitations: findByEmail
+CREATE INDEX IF NOT EXISTS idx_invitations_email ON invitations(email);
+
+-- Rules: findByOrganizationName / findByActiveTrue
+CREATE INDEX IF NOT EXISTS idx_rule_config_org ON rule_config(organization_name);
+
+-- Audit logs: OnboardingService existsByUserIdAndAction
+CREATE INDEX IF NOT EXISTS idx_audit_user_action ON audit_logs(user_id, action);
+
+-- One-to-one lookups by user: findByUserId
+CREATE INDEX IF NOT EXISTS idx_sales_profiles_user ON sales_profiles(user_id);
+CREATE INDEX IF NOT EXISTS idx_user_preferences_user ON user_preferences(user_id);
+CREATE INDEX IF NOT EXISTS idx_sales_performance_user ON sales_performance(user_id);
+
+-- Organizations: findByAdminUserId
+CREATE INDEX IF NOT EXISTS idx_organizations_admin_user ON organizations(admin_user_id);
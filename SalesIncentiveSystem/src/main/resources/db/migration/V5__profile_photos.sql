@@ -0,0 +1,14 @@
+-- Migration Script: Content-Addressed Profile Photos (PostgreSQL)
+-- Photos move out of app_users.profile_photo_url (base64 TEXT) into their own
+-- table keyed by SHA-256. Existing photos are copied by ProfilePhotoService on
+-- startup, which clears the old column row by row.
+
+CREATE TABLE IF NOT EXISTS profile_photos (
+    hash VARCHAR(64) PRIMARY KEY,
+    content_type VARCHAR(255) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    data BYTEA NOT NULL,
+    created_at TIMESTAMP
+);
+
+ALTER TABLE app_users ADD COLUMN IF NOT EXISTS profile_photo_hash VARCHAR(64);
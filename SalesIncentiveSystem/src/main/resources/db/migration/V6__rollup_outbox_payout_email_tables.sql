@@ -0,0 +1,66 @@
+-- Migration Script: Tables Previously Created by ddl-auto (PostgreSQL)
+-- Per-user rollups, the transactional outbox, payout runs and the email queue
+-- were added while Hibernate still managed the schema. IF NOT EXISTS keeps this
+-- a no-op on databases where Hibernate already created them.
+
+-- UserIncentiveRollup: one row per user and month (see IncentiveRollupService)
+CREATE TABLE IF NOT EXISTS user_incentive_rollup (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    rollup_month VARCHAR(16) NOT NULL,
+    deal_count BIGINT NOT NULL,
+    approved_count BIGINT NOT NULL,
+    rejected_count BIGINT NOT NULL,
+    incentive_sum DOUBLE PRECISION NOT NULL,
+    amount_sum DOUBLE PRECISION NOT NULL,
+    approved_amount_sum DOUBLE PRECISION NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_rollup_user_month UNIQUE (user_id, rollup_month)
+);
+
+-- OutboxEvent: claimed by OutboxDispatcher in (status, available_at, id) order
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type VARCHAR(64) NOT NULL,
+    aggregate_type VARCHAR(255),
+    aggregate_id BIGINT,
+    payload TEXT,
+    status VARCHAR(16) NOT NULL,
+    attempts INTEGER NOT NULL,
+    last_error VARCHAR(2000),
+    created_at TIMESTAMP(6),
+    available_at TIMESTAMP(6),
+    claimed_at TIMESTAMP(6),
+    processed_at TIMESTAMP(6)
+);
+CREATE INDEX IF NOT EXISTS idx_outbox_status_available ON outbox_events(status, available_at, id);
+
+-- PayoutRun: one row per idempotency key of a bulk payout request
+CREATE TABLE IF NOT EXISTS payout_runs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    idempotency_key VARCHAR(128) NOT NULL,
+    organization_name VARCHAR(255),
+    requested_by BIGINT,
+    requested_count INTEGER NOT NULL,
+    paid_count INTEGER NOT NULL,
+    skipped_count INTEGER NOT NULL,
+    payout_date DATE,
+    created_at TIMESTAMP(6),
+    CONSTRAINT uk_payout_run_key UNIQUE (idempotency_key)
+);
+
+-- EmailMessage: claimed by EmailDispatcher in (status, available_at, id) order
+CREATE TABLE IF NOT EXISTS email_messages (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    template VARCHAR(64) NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    variables TEXT,
+    status VARCHAR(16) NOT NULL,
+    attempts INTEGER NOT NULL,
+    last_error VARCHAR(2000),
+    created_at TIMESTAMP(6),
+    available_at TIMESTAMP(6),
+    claimed_at TIMESTAMP(6),
+    sent_at TIMESTAMP(6)
+);
+CREATE INDEX IF NOT EXISTS idx_email_status_available ON email_messages(status, available_at, id);
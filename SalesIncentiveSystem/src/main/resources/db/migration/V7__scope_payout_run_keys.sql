@@ -0,0 +1,14 @@
+-- Migration Script: Org-Scoped Payout Run Idempotency Keys (PostgreSQL)
+-- Keys were unique across all orgs, so another org reusing a key got that
+-- run back. They are now unique per key_scope (the org, or '*' for global
+-- admin runs), and request_hash lets a reused key with different deals be
+-- rejected. Runs recorded before this have no hash and replay as before.
+
+ALTER TABLE payout_runs ADD COLUMN IF NOT EXISTS key_scope VARCHAR(255);
+ALTER TABLE payout_runs ADD COLUMN IF NOT EXISTS request_hash VARCHAR(64);
+
+UPDATE payout_runs SET key_scope = COALESCE(organization_name, '*') WHERE key_scope IS NULL;
+ALTER TABLE payout_runs ALTER COLUMN key_scope SET NOT NULL;
+
+ALTER TABLE payout_runs DROP CONSTRAINT IF EXISTS uk_payout_run_key;
+ALTER TABLE payout_runs ADD CONSTRAINT uk_payout_run_scope_key UNIQUE (key_scope, idempotency_key);
@@ -0,0 +1,35 @@
+package org.example.salesincentivesystem;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Throwaway PostgreSQL shared by the context tests, started once per JVM and
+ * removed by Testcontainers when it exits. Tests hand it to the app through
+ * spring.datasource.* in a {@code @DynamicPropertySource}, because DatabaseConfig
+ * builds the DataSource from those properties itself; Flyway then migrates the
+ * empty database and Hibernate validates the entities against the result.
+ */
+public final class PostgresTestContainer {
+
+    private static final PostgreSQLContainer<?> POSTGRES =
+            new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+
+    static {
+        POSTGRES.start();
+    }
+
+    private PostgresTestContainer() {
+    }
+
+    public static String jdbcUrl() {
+        return POSTGRES.getJdbcUrl();
+    }
+
+    public static void register(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+}
@@ -1,13 +1,52 @@
 package org.example.salesincentivesystem;
 
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
-@SpringBootTest
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// Starting the context runs every migration on an empty PostgreSQL and then
+// ddl-auto=validate, so a column missing from the scripts fails contextLoads
+@SpringBootTest(properties = { "diagnostics.queries.enabled=true", "diagnostics.queries.mode=FAIL" })
 class SalesIncentiveSystemApplicationTests {
 
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestContainer.register(registry);
+    }
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private DataSource dataSource;
+
     @Test
     void contextLoads() {
     }
 
+    // DatabaseConfig builds its own pool; make sure it is the container's, not DB_URL
+    @Test
+    void usesTheTestDatabase() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            assertEquals(PostgresTestContainer.jdbcUrl(), connection.getMetaData().getURL());
+        }
+    }
+
+    @Test
+    void allMigrationsApplied() {
+        MigrationInfo[] all = flyway.info().all();
+        assertEquals(all.length, flyway.info().applied().length);
+        assertEquals(0, flyway.info().pending().length);
+        assertNotNull(flyway.info().current());
+    }
 }
@@ -0,0 +1,90 @@
+package org.example.salesincentivesystem.config;
+
+import org.example.salesincentivesystem.PostgresTestContainer;
+import org.example.salesincentivesystem.entity.Deal;
+import org.example.salesincentivesystem.entity.SalesPerformance;
+import org.example.salesincentivesystem.entity.User;
+import org.example.salesincentivesystem.repository.DealRepository;
+import org.example.salesincentivesystem.repository.SalesPerformanceRepository;
+import org.example.salesincentivesystem.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * QueryDiagnostics in FAIL mode through the whole filter chain: a violating
+ * request must fail instead of answering 200, a clean one must still get its body.
+ */
+@SpringBootTest(properties = { "diagnostics.queries.enabled=true", "diagnostics.queries.mode=FAIL" })
+@AutoConfigureMockMvc
+class QueryDiagnosticsFailModeTest {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestContainer.register(registry);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private SalesPerformanceRepository salesPerformanceRepository;
+
+    @Test
+    void findAllWithPerDealUserNavigationFailsTheRequest() {
+        User seller = null;
+        // One seller per deal: findAll() reads every deal unfiltered, then loads each deal's user
+        for (int i = 0; i < 35; i++) {
+            seller = userRepository.save(newSeller());
+            Deal deal = new Deal();
+            deal.setUser(seller);
+            deal.setAmount(10_000 + i);
+            deal.setStatus("Pending");
+            deal.setDate(LocalDate.now());
+            dealRepository.save(deal);
+        }
+        Long sellerId = seller.getId();
+
+        IllegalStateException violation = assertThrows(IllegalStateException.class,
+                () -> mockMvc.perform(get("/api/sales/my-deals/{userId}", sellerId)));
+
+        String message = violation.getMessage();
+        assertTrue(message.startsWith("Query diagnostics for GET /api/sales/my-deals/{userId}"), message);
+        assertTrue(message.contains("without WHERE"), message);
+        assertTrue(message.contains("likely N+1"), message);
+    }
+
+    @Test
+    void requestWithinBudgetsKeepsItsBody() throws Exception {
+        User seller = userRepository.save(newSeller());
+        salesPerformanceRepository.save(new SalesPerformance(seller, 50_000.0, 4.0, "Closer"));
+
+        mockMvc.perform(get("/api/targets/user/{userId}", seller.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currentMonthTarget").value(50_000.0))
+                .andExpect(jsonPath("$.achievements").value("Closer"));
+    }
+
+    private static User newSeller() {
+        return new User("seller-" + UUID.randomUUID() + "@example.com", "secret", "SALES", "Seller");
+    }
+}
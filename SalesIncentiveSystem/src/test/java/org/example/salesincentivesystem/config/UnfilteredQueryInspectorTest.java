@@ -0,0 +1,89 @@
+package org.example.salesincentivesystem.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UnfilteredQueryInspectorTest {
+
+    private final UnfilteredQueryInspector inspector = new UnfilteredQueryInspector(
+            List.of("deal", "app_users", " notifications "));
+
+    @Test
+    void selectWithoutWhereOnWatchedTableIsFlagged() {
+        assertFlagged("select d1_0.id,d1_0.amount from deal d1_0");
+        assertFlagged("SELECT D1_0.ID FROM DEAL D1_0 ORDER BY D1_0.ID");
+        assertFlagged("select d1_0.somewhere from deal d1_0");
+    }
+
+    @Test
+    void selectWithWhereIsNotFlagged() {
+        assertNotFlagged("select d1_0.id from deal d1_0 where d1_0.user_id=?");
+        // Textual check: a WHERE in a subquery is enough
+        assertNotFlagged("select d1_0.id from deal d1_0 join (select id from app_users where role='SALES') u on true");
+    }
+
+    @Test
+    void watchedTableInJoinIsFlagged() {
+        assertFlagged("select r1_0.id from role_config r1_0 join app_users u1_0 on u1_0.id=r1_0.id");
+        assertFlagged("select n1_0.id from notifications n1_0 left join app_users u1_0 on u1_0.id=n1_0.user_id");
+        assertNotFlagged("select r1_0.id from role_config r1_0 join app_users u1_0 on u1_0.id=r1_0.id where r1_0.id=?");
+    }
+
+    @Test
+    void quotedTableNamesAreMatched() {
+        assertFlagged("select * from \"deal\" d");
+        assertFlagged("select * from \"app_users\"");
+        assertFlagged("select * from \"notifications\",deal");
+    }
+
+    @Test
+    void otherTablesAndStatementsAreIgnored() {
+        assertNotFlagged("select * from policies");
+        assertNotFlagged("select * from deal_archive");
+        assertNotFlagged("select * from \"deal_archive\"");
+        assertNotFlagged("insert into deal (amount,status) values (?,?)");
+    }
+
+    @Test
+    void updateAndDeleteWithoutWhereAreFlagged() {
+        assertFlagged("update deal set payout_status='PAID'");
+        assertFlagged("delete from notifications");
+        assertNotFlagged("update deal set payout_status='PAID' where id=?");
+    }
+
+    @Test
+    void nothingIsRecordedOutsideARequest() {
+        String sql = "select * from deal";
+        assertSame(sql, inspector.inspect(sql));
+        assertNull(RequestStatistics.current());
+    }
+
+    @Test
+    void emptyTableListIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new UnfilteredQueryInspector(List.of(" ")));
+    }
+
+    private void assertFlagged(String sql) {
+        assertEquals(1, inspect(sql), sql);
+    }
+
+    private void assertNotFlagged(String sql) {
+        assertEquals(0, inspect(sql), sql);
+    }
+
+    private long inspect(String sql) {
+        RequestStatistics.Counts counts = RequestStatistics.begin();
+        try {
+            assertSame(sql, inspector.inspect(sql));
+            return counts.getUnfilteredCount();
+        } finally {
+            RequestStatistics.end();
+        }
+    }
+}
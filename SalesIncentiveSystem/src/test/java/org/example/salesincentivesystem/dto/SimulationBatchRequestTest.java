@@ -0,0 +1,44 @@
+package org.example.salesincentivesystem.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SimulationBatchRequestTest {
+
+    @Test
+    void scenarioCountAddsExplicitScenariosToGrid() {
+        SimulationBatchRequest request = new SimulationBatchRequest();
+        request.setScenarios(List.of(new SimulationBatchRequest.Scenario(50_000.0, 5.0, 10.0)));
+        request.setThresholds(List.of(10_000.0, 50_000.0));
+        request.setLowRates(List.of(3.0, 4.0, 5.0));
+        request.setHighRates(List.of(8.0, 10.0));
+
+        assertEquals(13, request.scenarioCount());
+        assertEquals(13, request.resolveScenarios().size());
+    }
+
+    @Test
+    void scenarioCountIgnoresIncompleteGrid() {
+        SimulationBatchRequest request = new SimulationBatchRequest();
+        request.setThresholds(List.of(10_000.0));
+        request.setLowRates(List.of(5.0));
+
+        assertEquals(0, request.scenarioCount());
+    }
+
+    @Test
+    void scenarioCountDoesNotExpandLargeGrid() {
+        List<Double> thousand = new ArrayList<>(Collections.nCopies(1000, 1.0));
+        SimulationBatchRequest request = new SimulationBatchRequest();
+        request.setThresholds(thousand);
+        request.setLowRates(thousand);
+        request.setHighRates(thousand);
+
+        assertEquals(1_000_000_000L, request.scenarioCount());
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.salesincentivesystem.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import org.example.salesincentivesystem.entity.Deal;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+class DealSpecificationsTest {
+
+    private final CriteriaBuilder cb = mock(CriteriaBuilder.class);
+    private final CriteriaQuery<?> query = mock(CriteriaQuery.class);
+
+    @Test
+    void inOrganizationReusesAnExistingUserJoin() {
+        Root<Deal> root = mock(Root.class);
+        Join<Deal, Object> user = joinOn("user");
+        Path<Object> organization = mock(Path.class);
+        when(user.get("organizationName")).thenReturn(organization);
+        when(root.getJoins()).thenReturn(Set.of(user));
+
+        DealSpecifications.inOrganization("Acme").toPredicate(root, query, cb);
+
+        verify(root, never()).join(anyString());
+        verify(cb).equal(organization, "Acme");
+    }
+
+    @Test
+    void inOrganizationJoinsTheUserWhenNothingIsJoinedYet() {
+        Root<Deal> root = mock(Root.class);
+        Join<Deal, Object> user = mock(Join.class);
+        when(root.getJoins()).thenReturn(Set.of());
+        when(root.<Deal, Object>join("user")).thenReturn(user);
+
+        assertSame(user, DealSpecifications.userJoin(root));
+    }
+
+    private static Join<Deal, Object> joinOn(String attributeName) {
+        Join<Deal, Object> join = mock(Join.class);
+        Attribute<Deal, Object> attribute = mock(Attribute.class);
+        when(attribute.getName()).thenReturn(attributeName);
+        when(join.getAttribute()).thenReturn((Attribute) attribute);
+        return join;
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.salesincentivesystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DealExportServiceTest {
+
+    @Test
+    void plainTextIsWrittenAsIs() {
+        assertEquals("Acme Corp", DealExportService.CsvWriter.escape("Acme Corp"));
+        assertEquals("", DealExportService.CsvWriter.escape(""));
+    }
+
+    @Test
+    void separatorsQuotesAndLineBreaksAreQuoted() {
+        assertEquals("\"Acme, Inc\"", DealExportService.CsvWriter.escape("Acme, Inc"));
+        assertEquals("\"The \"\"Big\"\" One\"", DealExportService.CsvWriter.escape("The \"Big\" One"));
+        assertEquals("\"two\nlines\"", DealExportService.CsvWriter.escape("two\nlines"));
+        assertEquals("\"two\r\nlines\"", DealExportService.CsvWriter.escape("two\r\nlines"));
+    }
+
+    @Test
+    void formulaPrefixesAreNeutralised() {
+        assertEquals("'=SUM(A1:A9)", DealExportService.CsvWriter.escape("=SUM(A1:A9)"));
+        assertEquals("'+1", DealExportService.CsvWriter.escape("+1"));
+        assertEquals("'-1", DealExportService.CsvWriter.escape("-1"));
+        assertEquals("'@SUM(A1)", DealExportService.CsvWriter.escape("@SUM(A1)"));
+        // Prefixed first, then quoted as a whole
+        assertEquals("\"'=1,2\"", DealExportService.CsvWriter.escape("=1,2"));
+    }
+
+    @Test
+    void formatAcceptsNamesAndExtensions() {
+        assertEquals(DealExportService.Format.CSV, DealExportService.Format.from(null));
+        assertEquals(DealExportService.Format.CSV, DealExportService.Format.from("csv"));
+        assertEquals(DealExportService.Format.NDJSON, DealExportService.Format.from("NDJSON"));
+        assertThrows(IllegalArgumentException.class, () -> DealExportService.Format.from("xml"));
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.salesincentivesystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.salesincentivesystem.entity.EmailMessage;
+import org.example.salesincentivesystem.repository.EmailMessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * EmailService and EmailDispatcher against StubEmailSender, with the queue
+ * table replaced by an in-memory map.
+ */
+class EmailDispatcherTest {
+
+    private static final String BOUNCE = "bounce@example.com";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final Map<Long, EmailMessage> table = new TreeMap<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RecordingSender sender;
+    private EmailService emailService;
+    private EmailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        EmailMessageRepository repository = mock(EmailMessageRepository.class);
+        when(repository.save(any(EmailMessage.class))).thenAnswer(invocation -> {
+            EmailMessage message = invocation.getArgument(0);
+            ReflectionTestUtils.setField(message, "id", (long) table.size() + 1);
+            table.put(message.getId(), message);
+            return message;
+        });
+        when(repository.findDueForUpdate(any(LocalDateTime.class), any(Pageable.class))).thenAnswer(invocation -> {
+            LocalDateTime now = invocation.getArgument(0);
+            Pageable page = invocation.getArgument(1);
+            return table.values().stream()
+                    .filter(m -> EmailMessage.PENDING.equals(m.getStatus()) && !m.getAvailableAt().isAfter(now))
+                    .limit(page.getPageSize())
+                    .toList();
+        });
+        when(repository.findAllById(any())).thenAnswer(invocation -> {
+            List<EmailMessage> found = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                found.add(table.get(id));
+            }
+            return found;
+        });
+        when(repository.countByStatus(anyString())).thenAnswer(invocation -> table.values().stream()
+                .filter(m -> m.getStatus().equals(invocation.getArgument(0)))
+                .count());
+
+        sender = new RecordingSender(2);
+        emailService = new EmailService(repository, new ObjectMapper(), "http://localhost:5173", MAX_ATTEMPTS, 300);
+        dispatcher = new EmailDispatcher(emailService, sender, meterRegistry, 100, 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.stop();
+    }
+
+    @Test
+    void firstAttemptsAreBatchedPerTemplate() {
+        for (int i = 1; i <= 5; i++) {
+            emailService.sendWelcomeEmail("user" + i + "@example.com", "User " + i);
+        }
+        emailService.sendInvitationEmail("a@example.com", "http://localhost:5173/invite/a", "Ann", "Acme");
+        emailService.sendInvitationEmail("b@example.com", "http://localhost:5173/invite/b", "Ann", "Acme");
+
+        dispatcher.dispatch();
+
+        // WELCOME in chunks of 2, 2 and 1; INVITATION in one chunk of 2
+        List<Integer> sizes = new ArrayList<>(sender.chunkSizes);
+        Collections.sort(sizes);
+        assertEquals(List.of(1, 2, 2, 2), sizes);
+        assertEquals(7, sender.getSent().size());
+        assertTrue(table.values().stream().allMatch(m -> EmailMessage.SENT.equals(m.getStatus())));
+        assertTrue(sender.getSent().stream()
+                .anyMatch(e -> e.getTo().equals("a@example.com") && e.getSubject().contains("Acme")));
+        assertEquals(7.0, meterRegistry.counter("email.sent").count());
+    }
+
+    @Test
+    void failedChunkIsRetriedPerMessageWithBackoff() {
+        emailService.sendWelcomeEmail("ok@example.com", "Ok");
+        emailService.sendWelcomeEmail(BOUNCE, "Bounce");
+        EmailMessage ok = table.get(1L);
+        EmailMessage bounce = table.get(2L);
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatch();
+
+        // Both shared the failing chunk: retried after 2s
+        for (EmailMessage message : List.of(ok, bounce)) {
+            assertEquals(EmailMessage.PENDING, message.getStatus());
+            assertEquals(1, message.getAttempts());
+            assertTrue(message.getAvailableAt().isAfter(before.plusSeconds(1)));
+            assertTrue(message.getLastError().contains(BOUNCE));
+        }
+
+        // Not due yet
+        dispatcher.dispatch();
+        assertEquals(1, sender.chunkSizes.size());
+
+        makeDue();
+        before = LocalDateTime.now();
+        dispatcher.dispatch();
+
+        // Retries go out one message per request, so the good address gets through
+        assertEquals(List.of(2, 1, 1), sender.chunkSizes);
+        assertEquals(EmailMessage.SENT, ok.getStatus());
+        assertEquals(EmailMessage.PENDING, bounce.getStatus());
+        assertEquals(2, bounce.getAttempts());
+        assertTrue(bounce.getAvailableAt().isAfter(before.plusSeconds(3)));
+        assertTrue(bounce.getAvailableAt().isBefore(before.plusSeconds(5).plusNanos(500_000_000)));
+    }
+
+    @Test
+    void messageIsParkedAsDeadAfterMaxAttempts() {
+        emailService.sendWelcomeEmail(BOUNCE, "Bounce");
+        EmailMessage bounce = table.get(1L);
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            makeDue();
+            dispatcher.dispatch();
+        }
+
+        assertEquals(EmailMessage.DEAD, bounce.getStatus());
+        assertEquals(MAX_ATTEMPTS, bounce.getAttempts());
+        assertEquals(1.0, meterRegistry.counter("email.dead").count());
+        assertEquals((double) MAX_ATTEMPTS, meterRegistry.counter("email.failed").count());
+
+        // DEAD messages are never claimed again
+        makeDue();
+        dispatcher.dispatch();
+        assertEquals(MAX_ATTEMPTS, sender.chunkSizes.size());
+        assertEquals(1.0, meterRegistry.find("email.queue").tag("status", "dead").gauge().value());
+    }
+
+    private void makeDue() {
+        for (EmailMessage message : table.values()) {
+            message.setAvailableAt(LocalDateTime.now().minusSeconds(1));
+        }
+    }
+
+    // Records the size of every request and rejects any request containing BOUNCE
+    private static class RecordingSender extends StubEmailSender {
+
+        final List<Integer> chunkSizes = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingSender(int maxRecipients) {
+            super(maxRecipients);
+        }
+
+        @Override
+        public void send(String subject, String html, List<Recipient> recipients) {
+            chunkSizes.add(recipients.size());
+            for (Recipient recipient : recipients) {
+                if (recipient.getEmail().equals(BOUNCE)) {
+                    throw new RuntimeException("Mailbox unavailable: " + BOUNCE);
+                }
+            }
+            super.send(subject, html, recipients);
+        }
+    }
+}
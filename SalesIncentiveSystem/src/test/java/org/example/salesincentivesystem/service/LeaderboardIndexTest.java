@@ -0,0 +1,163 @@
+package org.example.salesincentivesystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LeaderboardIndex against a sorted-list oracle: incentive descending, then user id.
+ */
+class LeaderboardIndexTest {
+
+    private static final Comparator<LeaderboardIndex.Standing> ORDER =
+            Comparator.<LeaderboardIndex.Standing>comparingDouble(s -> -s.incentive)
+                    .thenComparing(s -> s.userId);
+
+    @Test
+    void tiesAreRankedByUserId() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.put(standing(7L, 500.0, 1));
+        index.put(standing(3L, 500.0, 1));
+        index.put(standing(5L, 900.0, 1));
+        index.put(standing(4L, 500.0, 1));
+
+        assertEquals(1, index.rankOf(5L));
+        assertEquals(2, index.rankOf(3L));
+        assertEquals(3, index.rankOf(4L));
+        assertEquals(4, index.rankOf(7L));
+        assertEquals(0, index.rankOf(99L));
+    }
+
+    @Test
+    void topReturnsTheLeadersInOrder() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.put(standing(1L, 100.0, 1));
+        index.put(standing(2L, 300.0, 1));
+        index.put(standing(3L, 200.0, 1));
+        index.put(standing(4L, 300.0, 1));
+
+        assertEquals(List.of(2L, 4L, 3L), ids(index.top(3)));
+        assertEquals(List.of(2L, 4L, 3L, 1L), ids(index.top(10)));
+        assertTrue(index.top(0).isEmpty());
+    }
+
+    @Test
+    void neighboursAreClampedAtBothEnds() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        for (long id = 1; id <= 5; id++) {
+            index.put(standing(id, 1000.0 - id, 1));
+        }
+
+        // Same window LeaderboardService.getNeighbours asks for, radius 2
+        assertEquals(List.of(1L, 2L, 3L), ids(neighbours(index, 1L, 2)));
+        assertEquals(List.of(3L, 4L, 5L), ids(neighbours(index, 5L, 2)));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids(neighbours(index, 3L, 2)));
+        assertTrue(index.range(5, 8).isEmpty());
+        assertEquals(List.of(1L, 2L), ids(index.range(-3, 2)));
+    }
+
+    @Test
+    void scoreUpdateMovesTheUser() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.put(standing(1L, 300.0, 3));
+        index.put(standing(2L, 200.0, 2));
+        index.put(standing(3L, 100.0, 1));
+
+        index.put(standing(3L, 400.0, 4));
+
+        assertEquals(List.of(3L, 1L, 2L), ids(index.top(3)));
+        assertEquals(1, index.rankOf(3L));
+        assertEquals(3, index.size());
+        assertEquals(9, index.totalDeals());
+    }
+
+    @Test
+    void removedUsersLeaveTheBoardAndCanComeBack() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.put(standing(1L, 300.0, 3));
+        index.put(standing(2L, 200.0, 2));
+        index.put(standing(3L, 100.0, 1));
+
+        index.remove(1L);
+        // No deals left counts as a removal
+        index.put(standing(2L, 0.0, 0));
+
+        assertEquals(0, index.rankOf(1L));
+        assertEquals(0, index.rankOf(2L));
+        assertEquals(List.of(3L), ids(index.top(5)));
+        assertEquals(1, index.totalDeals());
+
+        index.put(standing(1L, 50.0, 2));
+
+        assertEquals(List.of(3L, 1L), ids(index.top(5)));
+        assertEquals(2, index.rankOf(1L));
+        assertEquals(3, index.totalDeals());
+    }
+
+    @Test
+    void randomUpdatesMatchTheSortedListOracle() {
+        Random random = new Random(42);
+        LeaderboardIndex index = new LeaderboardIndex();
+        Map<Long, LeaderboardIndex.Standing> oracle = new HashMap<>();
+
+        for (int step = 0; step < 2_000; step++) {
+            long userId = 1 + random.nextInt(60);
+            if (random.nextInt(5) == 0) {
+                index.remove(userId);
+                oracle.remove(userId);
+            } else {
+                // Coarse incentives so ties are common; zero deals removes the user
+                LeaderboardIndex.Standing s = standing(userId, 100.0 * random.nextInt(8), random.nextInt(4));
+                index.put(s);
+                if (s.deals > 0) {
+                    oracle.put(userId, s);
+                } else {
+                    oracle.remove(userId);
+                }
+            }
+
+            if (step % 50 == 0) {
+                assertMatches(oracle, index, random);
+            }
+        }
+        assertMatches(oracle, index, random);
+    }
+
+    private static void assertMatches(Map<Long, LeaderboardIndex.Standing> oracle, LeaderboardIndex index, Random random) {
+        List<LeaderboardIndex.Standing> sorted = new ArrayList<>(oracle.values());
+        sorted.sort(ORDER);
+
+        assertEquals(sorted.size(), index.size());
+        assertEquals(sorted.stream().mapToLong(s -> s.deals).sum(), index.totalDeals());
+        assertEquals(ids(sorted), ids(index.range(0, sorted.size())));
+        assertEquals(ids(sorted.subList(0, Math.min(10, sorted.size()))), ids(index.top(10)));
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i + 1, index.rankOf(sorted.get(i).userId));
+        }
+
+        int from = random.nextInt(sorted.size() + 1);
+        int to = from + random.nextInt(6);
+        assertEquals(ids(sorted.subList(from, Math.min(to, sorted.size()))), ids(index.range(from, to)));
+    }
+
+    private static List<LeaderboardIndex.Standing> neighbours(LeaderboardIndex index, Long userId, int radius) {
+        int rank = index.rankOf(userId);
+        return index.range(Math.max(0, rank - 1 - radius), rank + radius);
+    }
+
+    private static LeaderboardIndex.Standing standing(Long userId, double incentive, long deals) {
+        return new LeaderboardIndex.Standing(userId, "User " + userId, incentive, incentive * 10, deals);
+    }
+
+    private static List<Long> ids(List<LeaderboardIndex.Standing> standings) {
+        return standings.stream().map(s -> s.userId).toList();
+    }
+}